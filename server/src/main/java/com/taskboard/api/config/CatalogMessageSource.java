@@ -0,0 +1,49 @@
+package com.taskboard.api.config;
+
+import org.springframework.context.support.AbstractMessageSource;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link org.springframework.context.MessageSource} поверх каталога, скомпилированного при сборке.
+ *
+ * В отличие от {@code ReloadableResourceBundleMessageSource} не читает ресурсы и не проверяет их
+ * на изменения: поиск ключа сводится к индексу в массиве. Шаблоны с параметрами компилируются
+ * в {@link MessageFormat} один раз; {@link AbstractMessageSource} синхронизирует форматирование на экземпляре.
+ */
+public class CatalogMessageSource extends AbstractMessageSource {
+
+    private final MessageCatalog catalog;
+    private final Map<Locale, Map<String, MessageFormat>> formats = new ConcurrentHashMap<>();
+
+    public CatalogMessageSource(MessageCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public MessageCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        return catalog.lookup(code, locale);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        String pattern = catalog.lookup(code, locale);
+        if (pattern == null) {
+            return null;
+        }
+        return formats.computeIfAbsent(locale, l -> new ConcurrentHashMap<>())
+                .computeIfAbsent(code, c -> createMessageFormat(pattern, locale));
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + ": basename=" + catalog.getBasename();
+    }
+}
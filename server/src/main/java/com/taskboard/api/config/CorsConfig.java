@@ -37,8 +37,11 @@ public class CorsConfig {
             "Authorization", "Content-Type", "X-Requested-With", "Accept", 
             "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers",
             "X-Content-Type-Options", "X-Frame-Options", "X-XSS-Protection",
-            "Referrer-Policy", "X-CSRF-TOKEN"
+            "Referrer-Policy", "X-CSRF-TOKEN", "DPoP"
         ));
+
+        // Клиент должен читать серверный nonce DPoP и причину отказа
+        configuration.setExposedHeaders(Arrays.asList("DPoP-Nonce", "WWW-Authenticate"));
         
         configuration.setAllowCredentials(allowCredentials);
         configuration.setMaxAge(3600L); // Кэширование preflight запросов на 1 час
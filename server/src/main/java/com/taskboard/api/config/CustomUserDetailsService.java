@@ -1,9 +1,12 @@
 package com.taskboard.api.config;
 
 import com.taskboard.api.model.User;
+import com.taskboard.api.model.UserSnapshot;
 import com.taskboard.api.repository.UserRepository;
+import com.taskboard.api.service.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,19 +14,50 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return loadSnapshot(username);
+    }
+
+    /**
+     * Same as {@link #loadUserByUsername(String)}, typed: the cached, immutable snapshot of the account.
+     */
+    public UserSnapshot loadSnapshot(String username) throws UsernameNotFoundException {
+        return (UserSnapshot) userDetailsCache.get(UserDetailsCache.Namespace.ACCOUNT, username, this::loadFromRepository);
+    }
+
+    /**
+     * Stores a password rehashed with the current encoder settings after a successful login.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        Optional<User> found = userRepository.findByUsername(userDetails.getUsername());
+        if (found.isEmpty()) {
+            return userDetails;
+        }
+
+        User user = found.get();
+        user.setPassword(newPassword);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(saved.getUsername(), saved.getEmail());
+        return UserSnapshot.of(saved);
+    }
+
+    private UserDetails loadFromRepository(String username) {
         Optional<User> user = userRepository.findByEmail(username);
         if (user.isEmpty()) {
             user = userRepository.findByUsername(username);
         }
 
-        return user.orElseThrow(() ->
+        return user.map(UserSnapshot::of).orElseThrow(() ->
             new UsernameNotFoundException("Пользователь не найден: " + username)
         );
     }
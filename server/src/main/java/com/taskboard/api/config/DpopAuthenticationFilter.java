@@ -1,6 +1,7 @@
 package com.taskboard.api.config;
 
 import com.taskboard.api.service.DpopTokenService;
+import com.taskboard.api.service.DpopValidationResult;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +22,8 @@ import java.io.IOException;
 @Slf4j
 public class DpopAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String DPOP_NONCE_HEADER = "DPoP-Nonce";
+
     @Autowired
     private DpopTokenService dpopTokenService;
 
@@ -37,21 +40,40 @@ public class DpopAuthenticationFilter extends OncePerRequestFilter {
             try {
                 String accessToken = authorizationHeader.substring(7); // Remove "Bearer " prefix
                 String httpMethod = request.getMethod();
-                String httpUrl = request.getRequestURL().toString();
                 
-                log.debug("Processing DPoP token for {} {}", httpMethod, httpUrl);
+                log.debug("Processing DPoP token for {} {}", httpMethod, request.getRequestURI());
                 
-                // Validate DPoP proof token
-                boolean isValid = dpopTokenService.validateDpopProof(
+                // Validate DPoP proof token, its server nonce and single use;
+                // htu is compared against the request in place instead of building the full URL
+                DpopValidationResult result = dpopTokenService.verifyDpopProof(
                     dpopHeader, 
                     accessToken, 
                     httpMethod, 
-                    httpUrl, 
-                    null // nonce not used in this implementation
+                    htu -> DpopRequestUrl.matches(request, htu)
                 );
-                
-                if (!isValid) {
-                    log.warn("Invalid DPoP proof token for {} {}", httpMethod, httpUrl);
+
+                // Always hand out the current nonce so clients pick up rolled values
+                response.setHeader(DPOP_NONCE_HEADER, dpopTokenService.currentNonce());
+
+                if (result == DpopValidationResult.USE_NONCE) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setHeader("WWW-Authenticate",
+                        "DPoP error=\"use_dpop_nonce\", error_description=\"Resource server requires nonce in DPoP proof\"");
+                    response.getWriter().write("{\"error\":\"use_dpop_nonce\"}");
+                    return;
+                }
+
+                if (result == DpopValidationResult.UNAVAILABLE) {
+                    // Replay protection fails closed: the proof was not accepted, but it may be retried
+                    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    response.setHeader("Retry-After", "1");
+                    response.getWriter().write("{\"error\":\"temporarily_unavailable\"}");
+                    return;
+                }
+
+                if (result != DpopValidationResult.VALID) {
+                    // Rejections are counted by SecurityMetricsService; keep logging cheap under attack traffic
+                    log.debug("Invalid DPoP proof token for {} {}: {}", httpMethod, request.getRequestURI(), result);
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("{\"error\":\"invalid_dpop_proof\"}");
                     return;
@@ -0,0 +1,90 @@
+package com.taskboard.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Compares the {@code htu} claim of a DPoP proof with the URL of the current request.
+ *
+ * The comparison walks the claim against the request's scheme, host, port and path in place instead of
+ * building the request URL with {@code getRequestURL().toString()}. Scheme and host are compared
+ * case-insensitively, a default port may be present or omitted, and the query and fragment of the claim
+ * are ignored (RFC 9449, section 4.3).
+ */
+final class DpopRequestUrl {
+
+    private static final int HTTP_PORT = 80;
+    private static final int HTTPS_PORT = 443;
+    private static final int MAX_PORT = 65535;
+
+    private DpopRequestUrl() {
+    }
+
+    static boolean matches(HttpServletRequest request, String htu) {
+        if (htu == null) {
+            return false;
+        }
+
+        String scheme = request.getScheme();
+        String host = request.getServerName();
+        int port = request.getServerPort();
+        String path = request.getRequestURI();
+        int end = targetEnd(htu);
+
+        int pos = 0;
+        if (!htu.regionMatches(true, pos, scheme, 0, scheme.length())) {
+            return false;
+        }
+        pos += scheme.length();
+        if (!htu.startsWith("://", pos)) {
+            return false;
+        }
+        pos += 3;
+        if (!htu.regionMatches(true, pos, host, 0, host.length())) {
+            return false;
+        }
+        pos += host.length();
+
+        if (pos < end && htu.charAt(pos) == ':') {
+            int portStart = ++pos;
+            int claimedPort = 0;
+            while (pos < end && Character.isDigit(htu.charAt(pos))) {
+                claimedPort = claimedPort * 10 + (htu.charAt(pos) - '0');
+                if (claimedPort > MAX_PORT) {
+                    return false;
+                }
+                pos++;
+            }
+            if (pos == portStart || claimedPort != port) {
+                return false;
+            }
+        } else if (port != defaultPort(scheme)) {
+            return false;
+        }
+
+        int pathLength = end - pos;
+        if (pathLength == 0) {
+            return path.isEmpty() || "/".equals(path);
+        }
+        return pathLength == path.length() && htu.regionMatches(pos, path, 0, pathLength);
+    }
+
+    /**
+     * Index where the query or fragment of the claim starts, or its length if it has neither.
+     */
+    private static int targetEnd(String htu) {
+        for (int i = 0; i < htu.length(); i++) {
+            char c = htu.charAt(i);
+            if (c == '?' || c == '#') {
+                return i;
+            }
+        }
+        return htu.length();
+    }
+
+    private static int defaultPort(String scheme) {
+        if ("https".equalsIgnoreCase(scheme)) {
+            return HTTPS_PORT;
+        }
+        return "http".equalsIgnoreCase(scheme) ? HTTP_PORT : -1;
+    }
+}
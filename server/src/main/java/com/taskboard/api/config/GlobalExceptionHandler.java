@@ -2,11 +2,13 @@ package com.taskboard.api.config;
 
 import com.taskboard.api.dto.ApiResponse;
 import com.taskboard.api.exception.EmailAlreadyExistsException;
+import com.taskboard.api.exception.PasswordHashingOverloadedException;
 import com.taskboard.api.exception.RegistrationException;
 import com.taskboard.api.exception.UsernameAlreadyExistsException;
 import com.taskboard.api.service.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -63,6 +65,13 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse<>(null, ex.getMessage(), false));
     }
 
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<>(null, messageService.getMessage("error.password.hashing.overloaded"), false));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiResponse<String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
         String message = messageService.getMessage("error.data.integrity");
@@ -1,6 +1,8 @@
 package com.taskboard.api.config;
 
 import com.taskboard.api.service.JwtService;
+import com.taskboard.api.service.SecurityVersionDenylist;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private SecurityVersionDenylist securityVersionDenylist;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                   HttpServletResponse response,
@@ -38,6 +43,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String username;
 
         log.debug("Processing request: {} {}", request.getMethod(), request.getRequestURI());
@@ -51,7 +57,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtService.extractUsername(jwt);
+            claims = jwtService.extractVerifiedClaims(jwt);
+            username = claims.getSubject();
             log.debug("Extracted username: {} from JWT", username);
         } catch (Exception e) {
             log.warn("Failed to extract username from JWT: {}", e.getMessage());
@@ -59,10 +66,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && jwtService.isStatelessPrincipalEnabled() && jwtService.hasPrincipalClaims(claims)) {
+            authenticateFromClaims(request, claims, username);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtService.validateToken(jwt, userDetails)) {
+            if (jwtService.validateClaims(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -81,4 +95,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Stateless mode: the principal and authorities come from the verified token, revocation
+     * is checked against the in-memory security version denylist, which also covers disabled,
+     * locked and deleted users.
+     */
+    private void authenticateFromClaims(HttpServletRequest request, Claims claims, String username) {
+        if (securityVersionDenylist.isRevoked(jwtService.extractUserId(claims), jwtService.extractSecurityVersion(claims))
+                || securityVersionDenylist.isRevoked(username, claims.getIssuedAt())) {
+            log.warn("JWT security version revoked for user: {}", username);
+            return;
+        }
+
+        UserDetails principal = jwtService.buildPrincipal(claims);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        log.debug("Stateless authentication set for user: {} with authorities: {}",
+            username, principal.getAuthorities());
+    }
 }
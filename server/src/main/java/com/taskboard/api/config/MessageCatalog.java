@@ -0,0 +1,100 @@
+package com.taskboard.api.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Неизменяемый каталог сообщений одного бандла, сгенерированный при сборке из {@code <basename>*.properties}.
+ *
+ * Ключи пронумерованы генератором, и {@code indexOf} переводит ключ в индекс без обращения к ресурсам;
+ * значения лежат в массиве {@code [бандл][индекс]}, где отсутствующий в бандле ключ равен {@code null}.
+ * Порядок поиска по локали повторяет {@code ResourceBundleMessageSource}: язык_страна_вариант, язык_страна,
+ * язык, затем то же для системной локали и базовый файл.
+ */
+public final class MessageCatalog {
+
+    private final String basename;
+    private final String[][] values;
+    private final ToIntFunction<String> indexOf;
+    private final Map<String, Integer> bundleBySuffix = new HashMap<>();
+    private final Map<Locale, int[]> chains = new ConcurrentHashMap<>();
+
+    /**
+     * @param basename имя бандла, например {@code messages}
+     * @param suffixes суффиксы файлов бандла: пустая строка для базового файла, {@code en}, {@code ru} и т. д.
+     * @param values значения по бандлам в порядке {@code suffixes}, индексированные результатом {@code indexOf}
+     * @param indexOf индекс ключа или -1, если ключа нет ни в одном файле
+     */
+    public MessageCatalog(String basename, String[] suffixes, String[][] values, ToIntFunction<String> indexOf) {
+        if (suffixes.length != values.length) {
+            throw new IllegalArgumentException("Expected " + suffixes.length + " bundles, got " + values.length);
+        }
+        this.basename = basename;
+        this.values = values;
+        this.indexOf = indexOf;
+        for (int i = 0; i < suffixes.length; i++) {
+            bundleBySuffix.put(suffixes[i], i);
+        }
+    }
+
+    public String getBasename() {
+        return basename;
+    }
+
+    /**
+     * Сообщение для ключа в указанной локали с учётом цепочки fallback.
+     *
+     * @return текст шаблона или {@code null}, если ключа нет ни в одном подходящем бандле
+     */
+    public String lookup(String key, Locale locale) {
+        int index = indexOf.applyAsInt(key);
+        if (index < 0) {
+            return null;
+        }
+        for (int bundle : chains.computeIfAbsent(locale, this::chainFor)) {
+            String value = values[bundle][index];
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private int[] chainFor(Locale locale) {
+        List<Integer> chain = new ArrayList<>();
+        addCandidates(chain, locale);
+        Locale systemLocale = Locale.getDefault();
+        if (!systemLocale.equals(locale)) {
+            addCandidates(chain, systemLocale);
+        }
+        addBundle(chain, "");
+        return chain.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void addCandidates(List<Integer> chain, Locale locale) {
+        String language = locale.getLanguage();
+        String country = locale.getCountry();
+        String variant = locale.getVariant();
+        if (!variant.isEmpty()) {
+            addBundle(chain, language + "_" + country + "_" + variant);
+        }
+        if (!country.isEmpty()) {
+            addBundle(chain, language + "_" + country);
+        }
+        if (!language.isEmpty()) {
+            addBundle(chain, language);
+        }
+    }
+
+    private void addBundle(List<Integer> chain, String suffix) {
+        Integer bundle = bundleBySuffix.get(suffix);
+        if (bundle != null && !chain.contains(bundle)) {
+            chain.add(bundle);
+        }
+    }
+}
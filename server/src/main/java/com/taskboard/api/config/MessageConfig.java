@@ -1,5 +1,6 @@
 package com.taskboard.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,14 +27,29 @@ import jakarta.servlet.http.HttpServletResponse;
 @Configuration
 public class MessageConfig implements WebMvcConfigurer {
 
+    /**
+     * Интервал перечитывания .properties в режиме hot-reload.
+     */
+    private static final int HOT_RELOAD_CACHE_SECONDS = 1;
+
+    /**
+     * true: сообщения читаются из .properties с перепроверкой раз в секунду (dev);
+     * false: из каталогов, сгенерированных при сборке, без обращения к ресурсам.
+     */
+    @Value("${app.messages.hot-reload:false}")
+    private boolean hotReload;
+
     @Bean
     @Primary
     public MessageSource messageSource() {
+        if (!hotReload) {
+            return new CatalogMessageSource(MessagesCatalog.CATALOG);
+        }
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:messages");
         messageSource.setDefaultEncoding("UTF-8");
         messageSource.setUseCodeAsDefaultMessage(false);
-        messageSource.setCacheSeconds(3600); // Cache for 1 hour
+        messageSource.setCacheSeconds(HOT_RELOAD_CACHE_SECONDS);
         messageSource.setAlwaysUseMessageFormat(false);
         
         return messageSource;
@@ -41,11 +57,14 @@ public class MessageConfig implements WebMvcConfigurer {
 
     @Bean
     public MessageSource validationMessageSource() {
+        if (!hotReload) {
+            return new CatalogMessageSource(ValidationMessagesCatalog.CATALOG);
+        }
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:ValidationMessages");
         messageSource.setDefaultEncoding("UTF-8");
         messageSource.setUseCodeAsDefaultMessage(false);
-        messageSource.setCacheSeconds(3600);
+        messageSource.setCacheSeconds(HOT_RELOAD_CACHE_SECONDS);
         return messageSource;
     }
 
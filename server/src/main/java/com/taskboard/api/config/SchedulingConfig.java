@@ -0,0 +1,14 @@
+package com.taskboard.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs. They share Spring Boot's scheduler, whose pool size is set
+ * with {@code spring.task.scheduling.pool.size}; the default of one thread would let a long job, such as
+ * an expiry sweep, delay every other job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -14,6 +14,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
@@ -52,13 +53,16 @@ public class SecurityConfig {
     @Autowired
     private OneTimeTokenConfig oneTimeTokenConfig;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @Value("${security.csrf.enabled:false}")
     private boolean csrfEnabled;
 
     @Value("${security.h2-console.enabled:true}")
     private boolean h2ConsoleEnabled;
 
-    @Value("${security.permit-all-paths:/api/auth/**,/api/test/public,/h2-console/**,/api/webauthn/**,/api/one-time-tokens/**}")
+    @Value("${security.permit-all-paths:/api/auth/**,/api/test/public,/h2-console/**,/api/webauthn/**,/api/one-time-tokens/**,/api/avatars/initials/**}")
     private String[] permitAllPaths;
 
     @Value("${security.dpop.enabled:false}")
@@ -94,6 +98,7 @@ public class SecurityConfig {
                 .requestMatchers(permitAllPaths).permitAll()
                 .requestMatchers("/api/profile/**").authenticated()
                 .requestMatchers("/api/projects/**").authenticated()
+                .requestMatchers("/api/tasks/**").authenticated()
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
                 .requestMatchers("/api/webauthn/register/**").authenticated()
                 .requestMatchers("/api/webauthn/credentials/**").authenticated()
@@ -104,7 +109,7 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider(userDetailsService, passwordEncoder()));
+            .authenticationProvider(authenticationProvider(userDetailsService, passwordEncoder));
 
         // Add DPoP filter if enabled
         if (dpopEnabled) {
@@ -188,6 +193,10 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        // Hashes made with an outdated BCrypt cost are rewritten after a successful login
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService);
+        }
         return provider;
     }
 
@@ -201,11 +210,6 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
-    }
-
     /**
      * Конвертер для извлечения authorities из JWT токена
      */
@@ -82,11 +82,18 @@ public class StorageConfig {
                 .build();
     }
 
+    /**
+     * Отдаются ли объекты через CDN, а не по presigned URL
+     */
+    public boolean hasCdnBaseUrl() {
+        return cdnBaseUrl != null && !cdnBaseUrl.isEmpty();
+    }
+
     /**
      * Получить полный URL к объекту
      */
     public String getObjectUrl(String storageKey) {
-        if (cdnBaseUrl != null && !cdnBaseUrl.isEmpty()) {
+        if (hasCdnBaseUrl()) {
             return cdnBaseUrl + "/" + storageKey;
         }
 
@@ -1,15 +1,23 @@
 package com.taskboard.api.controller;
 
 import com.taskboard.api.dto.ApiResponse;
+import com.taskboard.api.dto.AvatarBatchRequest;
 import com.taskboard.api.dto.AvatarConfirmRequest;
 import com.taskboard.api.dto.AvatarResponse;
 import com.taskboard.api.dto.AvatarUploadRequest;
 import com.taskboard.api.dto.AvatarUploadResponse;
+import com.taskboard.api.dto.AvatarUrlResponse;
+import com.taskboard.api.exception.AvatarRenderingOverloadedException;
 import com.taskboard.api.model.User;
 import com.taskboard.api.repository.UserRepository;
 import com.taskboard.api.service.AvatarService;
+import com.taskboard.api.service.InitialsAvatarService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Контроллер для работы с аватарами пользователей.
@@ -31,6 +40,7 @@ public class AvatarController {
 
     private final AvatarService avatarService;
     private final UserRepository userRepository;
+    private final InitialsAvatarService initialsAvatarService;
 
     /**
      * Генерирует presigned URL для загрузки аватара
@@ -108,6 +118,57 @@ public class AvatarController {
         }
     }
 
+    /**
+     * Получает ссылки на активные аватары нескольких пользователей одним запросом
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<AvatarUrlResponse>>> resolveActiveAvatars(
+            @Valid @RequestBody AvatarBatchRequest request) {
+        try {
+            log.debug("Resolving active avatars for {} users", request.getUserIds().size());
+
+            List<AvatarUrlResponse> avatars = avatarService.resolveActiveAvatars(request.getUserIds());
+
+            return ResponseEntity.ok(new ApiResponse<>(avatars, "Active avatars retrieved successfully", true));
+
+        } catch (Exception e) {
+            log.error("Error resolving active avatars for {} users", request.getUserIds().size(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error retrieving avatars: " + e.getMessage(), false));
+        }
+    }
+
+    /**
+     * Отдаёт аватар с инициалами. Изображение полностью определяется параметрами, поэтому кэшируется
+     * браузером без ограничений; повторный запрос с If-None-Match получает 304.
+     */
+    @GetMapping("/initials/{initials}")
+    public ResponseEntity<byte[]> getInitialsAvatar(
+            @PathVariable String initials,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String format) {
+        try {
+            InitialsAvatarService.RenderedAvatar avatar = initialsAvatarService.render(initials, color, size, format);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(avatar.contentType()))
+                    .eTag(avatar.etag())
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .body(avatar.body());
+
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected initials avatar request for '{}': {}", initials, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (AvatarRenderingOverloadedException e) {
+            log.debug("Initials avatar rendering overloaded: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
     /**
      * Получает все аватары пользователя
      */
@@ -1,13 +1,22 @@
 package com.taskboard.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskboard.api.dto.BulkTokenIssueRequest;
+import com.taskboard.api.dto.IssuedTokenResponse;
 import com.taskboard.api.model.OneTimeToken;
 import com.taskboard.api.service.OneTimeTokenService;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -23,9 +32,14 @@ import java.util.UUID;
 @Slf4j
 public class OneTimeTokenController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private OneTimeTokenService tokenService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Создает одноразовый токен для входа
      */
@@ -116,6 +130,45 @@ public class OneTimeTokenController {
         }
     }
 
+    /**
+     * Массово выпускает токены для группы пользователей (для администратора).
+     * Результаты передаются в формате NDJSON, по строке на пользователя, по мере сохранения пачек.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> issueTokens(
+            @Valid @RequestBody BulkTokenIssueRequest request,
+            Authentication authentication) {
+
+        if (!isAdmin(authentication)) {
+            return ResponseEntity.status(403).body(createErrorResponse("Требуются права администратора"));
+        }
+
+        ObjectWriter writer = objectMapper.writerFor(IssuedTokenResponse.class);
+        StreamingResponseBody body = out -> {
+            try {
+                tokenService.issueTokens(request.getUserIds(), request.getPurpose(),
+                        request.getExpirationMinutes(), request.getMetadata(), result -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(result));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.flush();
+            } catch (UncheckedIOException e) {
+                log.warn("Поток массового выпуска токенов прерван: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+
+        log.info("Запущен массовый выпуск токенов с целью {} для {} пользователей",
+                request.getPurpose(), request.getUserIds().size());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     /**
      * Валидирует одноразовый токен
      */
@@ -132,9 +185,9 @@ public class OneTimeTokenController {
             response.put("message", isValid ? "Токен действителен" : "Токен недействителен или истек");
             
             if (isValid) {
-                log.info("Токен успешно валидирован: {}", token);
+                log.info("Токен успешно валидирован для цели {}", purpose);
             } else {
-                log.warn("Попытка использования недействительного токена: {}", token);
+                log.warn("Попытка использования недействительного токена для цели {}", purpose);
             }
             
             return ResponseEntity.ok(response);
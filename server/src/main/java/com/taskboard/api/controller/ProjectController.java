@@ -1,7 +1,10 @@
 package com.taskboard.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.taskboard.api.dto.ApiResponse;
 import com.taskboard.api.dto.CreateProjectRequest;
+import com.taskboard.api.dto.CursorPage;
 import com.taskboard.api.dto.ProjectDto;
 import com.taskboard.api.dto.UpdateProjectRequest;
 import com.taskboard.api.service.ProjectService;
@@ -9,11 +12,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -23,7 +30,10 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ProjectController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
     @PreAuthorize("isAuthenticated()")
@@ -39,6 +49,55 @@ public class ProjectController {
         }
     }
     
+    /**
+     * Keyset-paginated project list; pass {@code nextCursor} of a page as {@code cursor} to get the next one.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPage<ProjectDto>>> getProjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        try {
+            log.debug("Getting projects page for user: {}", authentication.getName());
+            CursorPage<ProjectDto> page = projectService.getProjectsPage(authentication.getName(), cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(page, "Projects retrieved successfully", true));
+        } catch (Exception e) {
+            log.error("Error getting projects page for user: {}", authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error retrieving projects: " + e.getMessage(), false));
+        }
+    }
+    
+    /**
+     * Streams all projects of the user as newline-delimited JSON, one project per line.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> streamProjects(Authentication authentication) {
+        String username = authentication.getName();
+        ObjectWriter writer = objectMapper.writerFor(ProjectDto.class);
+        StreamingResponseBody body = out -> {
+            try {
+                projectService.streamProjectsByUser(username, project -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(project));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.flush();
+            } catch (UncheckedIOException e) {
+                log.warn("Project stream for user {} aborted: {}", username, e.getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<ProjectDto>> getProject(@PathVariable Long id, Authentication authentication) {
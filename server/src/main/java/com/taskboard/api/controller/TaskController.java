@@ -0,0 +1,108 @@
+package com.taskboard.api.controller;
+
+import com.taskboard.api.dto.ApiResponse;
+import com.taskboard.api.dto.CreateTaskRequest;
+import com.taskboard.api.dto.CursorPage;
+import com.taskboard.api.dto.TaskDto;
+import com.taskboard.api.dto.TaskFilter;
+import com.taskboard.api.dto.UpdateTaskRequest;
+import com.taskboard.api.service.TaskService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class TaskController {
+    
+    private final TaskService taskService;
+    
+    /**
+     * Keyset-paginated task list; pass {@code nextCursor} of a page as {@code cursor} to get the next one.
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPage<TaskDto>>> getTasks(
+            @ModelAttribute TaskFilter filter,
+            Authentication authentication) {
+        try {
+            log.debug("Getting tasks for user: {}", authentication.getName());
+            CursorPage<TaskDto> page = taskService.getTasks(filter, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(page, "Tasks retrieved successfully", true));
+        } catch (Exception e) {
+            log.error("Error getting tasks for user: {}", authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error retrieving tasks: " + e.getMessage(), false));
+        }
+    }
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<TaskDto>> getTask(@PathVariable Long id, Authentication authentication) {
+        try {
+            log.info("Getting task {} for user: {}", id, authentication.getName());
+            TaskDto task = taskService.getTaskById(id, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(task, "Task retrieved successfully", true));
+        } catch (Exception e) {
+            log.error("Error getting task {} for user: {}", id, authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error retrieving task: " + e.getMessage(), false));
+        }
+    }
+    
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<TaskDto>> createTask(
+            @Valid @RequestBody CreateTaskRequest request,
+            Authentication authentication) {
+        try {
+            log.info("Creating task for user: {}", authentication.getName());
+            TaskDto task = taskService.createTask(request, authentication.getName());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(task, "Task created successfully", true));
+        } catch (Exception e) {
+            log.error("Error creating task for user: {}", authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error creating task: " + e.getMessage(), false));
+        }
+    }
+    
+    @PutMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<TaskDto>> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateTaskRequest request,
+            Authentication authentication) {
+        try {
+            log.info("Updating task {} for user: {}", id, authentication.getName());
+            TaskDto task = taskService.updateTask(id, request, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(task, "Task updated successfully", true));
+        } catch (Exception e) {
+            log.error("Error updating task {} for user: {}", id, authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error updating task: " + e.getMessage(), false));
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<Void>> deleteTask(@PathVariable Long id, Authentication authentication) {
+        try {
+            log.info("Deleting task {} for user: {}", id, authentication.getName());
+            taskService.deleteTask(id, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(null, "Task deleted successfully", true));
+        } catch (Exception e) {
+            log.error("Error deleting task {} for user: {}", id, authentication.getName(), e);
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(null, "Error deleting task: " + e.getMessage(), false));
+        }
+    }
+}
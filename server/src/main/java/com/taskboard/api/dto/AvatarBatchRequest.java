@@ -0,0 +1,20 @@
+package com.taskboard.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * DTO для запроса активных аватаров нескольких пользователей.
+ */
+@Data
+public class AvatarBatchRequest {
+
+    public static final int MAX_USER_IDS = 500;
+
+    @NotEmpty(message = "{validation.user.ids.size}")
+    @Size(max = MAX_USER_IDS, message = "{validation.user.ids.size}")
+    private Set<Long> userIds;
+}
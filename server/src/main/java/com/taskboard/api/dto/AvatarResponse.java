@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * DTO для ответа с информацией об аватаре пользователя.
@@ -24,4 +25,9 @@ public class AvatarResponse {
     private LocalDateTime uploadedAt;
     private LocalDateTime updatedAt;
     private Boolean isActive;
+
+    /**
+     * URL уменьшенных копий по размеру в пикселях; пусто, пока изображение не обработано
+     */
+    private Map<Integer, String> variantUrls;
 }
@@ -0,0 +1,25 @@
+package com.taskboard.api.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * DTO со ссылкой на активный аватар пользователя для списков и досок.
+ */
+@Data
+@Builder
+public class AvatarUrlResponse {
+
+    private Long userId;
+    private Long avatarId;
+    private Integer version;
+    private String contentType;
+    private String url;
+
+    /**
+     * URL уменьшенных копий по размеру в пикселях; пусто, пока изображение не обработано
+     */
+    private Map<Integer, String> variantUrls;
+}
@@ -0,0 +1,33 @@
+package com.taskboard.api.dto;
+
+import com.taskboard.api.model.OneTimeToken;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO для массового выпуска одноразовых токенов, по одному на пользователя.
+ */
+@Data
+public class BulkTokenIssueRequest {
+
+    public static final int MAX_USER_IDS = 10_000;
+
+    @NotEmpty(message = "{validation.token.user.ids.size}")
+    @Size(max = MAX_USER_IDS, message = "{validation.token.user.ids.size}")
+    private List<String> userIds;
+
+    @NotNull(message = "{validation.token.purpose.required}")
+    private OneTimeToken.TokenPurpose purpose;
+
+    @Min(value = 1, message = "{validation.token.expiration.range}")
+    @Max(value = 10_080, message = "{validation.token.expiration.range}")
+    private int expirationMinutes = 60;
+
+    private String metadata;
+}
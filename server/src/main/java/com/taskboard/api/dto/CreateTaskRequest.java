@@ -0,0 +1,38 @@
+package com.taskboard.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class CreateTaskRequest {
+    @NotBlank(message = "Task title is required")
+    @Size(max = 200, message = "Task title cannot exceed 200 characters")
+    private String title;
+    
+    @Size(max = 2000, message = "Description cannot exceed 2000 characters")
+    private String description;
+    
+    private String status = "BACKLOG";
+    private String priority = "MEDIUM";
+    private Long projectId;
+    private String assigneeId;
+    private List<String> labels;
+    
+    @Valid
+    private List<SubTaskDto> subtasks;
+    
+    @PositiveOrZero(message = "Estimated hours cannot be negative")
+    private Double estimatedHours;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime dueDate;
+    
+    private boolean blocked;
+}
@@ -0,0 +1,35 @@
+package com.taskboard.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO с результатом выпуска токена для одного пользователя при массовом выпуске.
+ */
+@Data
+@AllArgsConstructor
+public class IssuedTokenResponse {
+
+    public static final String ISSUED = "ISSUED";
+    public static final String LIMIT_EXCEEDED = "LIMIT_EXCEEDED";
+
+    private String userId;
+
+    /**
+     * Значение токена; показывается только в этом ответе и не хранится
+     */
+    private String token;
+
+    private LocalDateTime expiresAt;
+    private String status;
+
+    public static IssuedTokenResponse issued(String userId, String token, LocalDateTime expiresAt) {
+        return new IssuedTokenResponse(userId, token, expiresAt, ISSUED);
+    }
+
+    public static IssuedTokenResponse limitExceeded(String userId) {
+        return new IssuedTokenResponse(userId, null, null, LIMIT_EXCEEDED);
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskboard.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class SubTaskDto {
+    private String id;
+    
+    @NotBlank(message = "Subtask title is required")
+    @Size(max = 200, message = "Subtask title cannot exceed 200 characters")
+    private String title;
+    
+    private boolean completed;
+}
@@ -0,0 +1,34 @@
+package com.taskboard.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class TaskDto {
+    private String id;
+    private String title;
+    private String description;
+    private String status;
+    private String priority;
+    private String projectId;
+    private String assigneeId;
+    private String creatorId;
+    private List<String> labels;
+    private List<SubTaskDto> subtasks;
+    private Double timeSpent;
+    private Double estimatedHours;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime dueDate;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+    
+    private boolean blocked;
+}
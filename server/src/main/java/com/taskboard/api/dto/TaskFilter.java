@@ -0,0 +1,41 @@
+package com.taskboard.api.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Query parameters of {@code GET /api/tasks}, mirroring the client's advanced task filters.
+ * The value {@code all} (or an absent parameter) disables a filter; status and priority accept
+ * several comma-separated values in any case ("in-progress" and "IN_PROGRESS" are the same status).
+ * The project may be given either as {@code projectId} or as the client's {@code project} filter.
+ */
+@Data
+public class TaskFilter {
+    private Long projectId;
+    private String project;
+    private List<String> status;
+    private List<String> priority;
+    private String assignee;
+    private String query;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    
+    /** created (default) or updated; newest first */
+    private String sort;
+    
+    private String cursor;
+    private Integer size;
+}
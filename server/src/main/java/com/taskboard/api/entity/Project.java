@@ -2,6 +2,7 @@ package com.taskboard.api.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,7 +11,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+    @Index(name = "idx_projects_created_by_updated_at_id", columnList = "created_by, updated_at, id")
+})
 @Data
 public class Project {
     @Id
@@ -41,6 +44,7 @@ public class Project {
     @ElementCollection
     @CollectionTable(name = "project_tags", joinColumns = @JoinColumn(name = "project_id"))
     @Column(name = "tag")
+    @BatchSize(size = 100)
     private List<String> tags = new ArrayList<>();
     
     @Column(name = "created_by", nullable = false)
@@ -0,0 +1,22 @@
+package com.taskboard.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubTask {
+    @Column(name = "subtask_id", nullable = false, length = 36)
+    private String id;
+    
+    @Column(nullable = false, length = 200)
+    private String title;
+    
+    @Column(nullable = false)
+    private boolean completed;
+}
@@ -0,0 +1,85 @@
+package com.taskboard.api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Task on a project board.
+ *
+ * The composite indexes back the two hot list paths: a project board filtered by status and priority
+ * with due-date ranges, and "my tasks" filtered by assignee and status. Labels and subtasks are loaded
+ * in batches so a page of tasks costs a fixed number of queries.
+ */
+@Entity
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_project_status_priority_due", columnList = "project_id, status, priority, due_date"),
+    @Index(name = "idx_tasks_assignee_status", columnList = "assignee_id, status"),
+    @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, id")
+})
+@Data
+public class Task {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 200)
+    private String title;
+    
+    @Column(length = 2000)
+    private String description;
+    
+    @Column(nullable = false, length = 20)
+    private String status = "BACKLOG";
+    
+    @Column(nullable = false, length = 20)
+    private String priority = "MEDIUM";
+    
+    @Column(name = "project_id")
+    private Long projectId;
+    
+    @Column(name = "assignee_id")
+    private String assigneeId;
+    
+    @Column(name = "creator_id", nullable = false)
+    private String creatorId;
+    
+    @ElementCollection
+    @CollectionTable(name = "task_labels", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "label")
+    @BatchSize(size = 100)
+    private List<String> labels = new ArrayList<>();
+    
+    @ElementCollection
+    @CollectionTable(name = "task_subtasks", joinColumns = @JoinColumn(name = "task_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    private List<SubTask> subtasks = new ArrayList<>();
+    
+    @Column(name = "time_spent", nullable = false)
+    private Double timeSpent = 0.0;
+    
+    @Column(name = "estimated_hours")
+    private Double estimatedHours;
+    
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+    
+    @Column(nullable = false)
+    private boolean blocked;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
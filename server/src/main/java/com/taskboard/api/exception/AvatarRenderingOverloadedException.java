@@ -0,0 +1,8 @@
+package com.taskboard.api.exception;
+
+public class AvatarRenderingOverloadedException extends RuntimeException {
+
+    public AvatarRenderingOverloadedException(String message) {
+        super(message);
+    }
+}
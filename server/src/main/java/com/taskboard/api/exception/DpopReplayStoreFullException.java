@@ -0,0 +1,13 @@
+package com.taskboard.api.exception;
+
+/**
+ * Thrown when a DPoP proof cannot be recorded because the replay store is at capacity with identifiers
+ * that have not expired yet. The proof is neither accepted nor known to be a replay, so the request
+ * should be retried once entries have expired.
+ */
+public class DpopReplayStoreFullException extends RuntimeException {
+
+    public DpopReplayStoreFullException(String message) {
+        super(message);
+    }
+}
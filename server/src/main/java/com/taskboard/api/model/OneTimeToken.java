@@ -1,5 +1,6 @@
 package com.taskboard.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,9 +14,13 @@ import java.util.UUID;
 /**
  * Model for one-time tokens used for various authentication purposes
  * Provides secure temporary access for login, password reset, email verification, etc.
+ * Only the SHA-256 digest of a token is stored; the plaintext value is set on freshly issued tokens
+ * so it can be handed to the user once, and is never persisted.
  */
 @Entity
-@Table(name = "one_time_tokens")
+@Table(name = "one_time_tokens", indexes = {
+    @Index(name = "idx_one_time_tokens_expires_at", columnList = "expires_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -26,9 +31,13 @@ public class OneTimeToken {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 100)
+    @Transient
     private String token;
 
+    @JsonIgnore
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
     @Column(name = "user_id", nullable = false)
     private String userId;
 
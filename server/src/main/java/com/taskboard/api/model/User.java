@@ -1,5 +1,6 @@
 package com.taskboard.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -76,6 +77,9 @@ public class User implements UserDetails {
     @Column(name = "is_credentials_non_expired", nullable = false)
     private boolean credentialsNonExpired = true;
 
+    @Column(name = "security_version", nullable = false)
+    private long securityVersion = 0L;
+
     public User() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -177,6 +181,23 @@ public class User implements UserDetails {
         this.lastLogin = lastLogin;
     }
 
+    @JsonIgnore
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public void setSecurityVersion(long securityVersion) {
+        this.securityVersion = securityVersion;
+    }
+
+    /**
+     * Invalidates every token issued before this call in stateless principal mode.
+     */
+    public void bumpSecurityVersion() {
+        this.securityVersion++;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -11,6 +11,8 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Entity для хранения метаданных аватаров пользователей.
@@ -56,6 +58,18 @@ public class UserAvatar {
     @Column(name = "cdn_url", length = 1000)
     private String cdnUrl;
 
+    /**
+     * Формат уменьшенных копий (png, webp); null, пока изображение не обработано
+     */
+    @Column(name = "variant_format", length = 10)
+    private String variantFormat;
+
+    /**
+     * Размеры уменьшенных копий в пикселях через запятую, например "32,64,128,256"
+     */
+    @Column(name = "variant_sizes", length = 100)
+    private String variantSizes;
+
     @Column(name = "uploaded_at", nullable = false)
     private LocalDateTime uploadedAt = LocalDateTime.now();
 
@@ -98,6 +112,31 @@ public class UserAvatar {
         return storageKey;
     }
 
+    /**
+     * Ключи уменьшенных копий в хранилище по размеру; пусто, пока изображение не обработано
+     */
+    public Map<Integer, String> getVariantKeys() {
+        Map<Integer, String> keys = new TreeMap<>();
+        if (variantFormat == null || variantSizes == null || variantSizes.isEmpty()) {
+            return keys;
+        }
+        for (String size : variantSizes.split(",")) {
+            int pixels = Integer.parseInt(size.trim());
+            keys.put(pixels, variantKey(storageKey, pixels, variantFormat));
+        }
+        return keys;
+    }
+
+    /**
+     * Ключ уменьшенной копии: avatars/1/uuid.jpg -> avatars/1/uuid_64.webp
+     */
+    public static String variantKey(String storageKey, int size, String format) {
+        int lastSlashIndex = storageKey.lastIndexOf('/');
+        int lastDotIndex = storageKey.lastIndexOf('.');
+        String base = lastDotIndex > lastSlashIndex ? storageKey.substring(0, lastDotIndex) : storageKey;
+        return base + "_" + size + "." + format;
+    }
+
     /**
      * Проверяет, является ли аватар изображением
      */
@@ -0,0 +1,75 @@
+package com.taskboard.api.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable copy of the security-relevant state of a {@link User}.
+ *
+ * This is what the user details cache hands out: it is safe to share between requests and threads,
+ * unlike the JPA entity, and serializes without any persistence state for the shared cache tier.
+ */
+public record UserSnapshot(Long id,
+                           String username,
+                           String email,
+                           String password,
+                           UserRole role,
+                           boolean enabled,
+                           boolean accountNonExpired,
+                           boolean accountNonLocked,
+                           boolean credentialsNonExpired,
+                           long securityVersion) implements UserDetails {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getRole(), user.isEnabled(), user.isAccountNonExpired(), user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(), user.getSecurityVersion());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keeps the password hash out of logs.
+     */
+    @Override
+    public String toString() {
+        return "UserSnapshot[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
@@ -14,7 +14,9 @@ import java.util.UUID;
  * Модель для хранения WebAuthn challenges
  */
 @Entity
-@Table(name = "webauthn_challenges")
+@Table(name = "webauthn_challenges", indexes = {
+    @Index(name = "idx_webauthn_challenges_expires_at", columnList = "expires_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,6 +1,7 @@
 package com.taskboard.api.repository;
 
 import com.taskboard.api.model.OneTimeToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,15 +21,15 @@ import java.util.UUID;
 public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, UUID> {
 
     /**
-     * Находит токен по значению
+     * Находит токен по хэшу значения
      */
-    Optional<OneTimeToken> findByToken(String token);
+    Optional<OneTimeToken> findByTokenHash(String tokenHash);
 
     /**
-     * Находит активный токен по значению
+     * Находит активный токен по хэшу значения
      */
-    @Query("SELECT t FROM OneTimeToken t WHERE t.token = :token AND t.isUsed = false AND t.expiresAt > :now")
-    Optional<OneTimeToken> findActiveByToken(@Param("token") String token, @Param("now") LocalDateTime now);
+    @Query("SELECT t FROM OneTimeToken t WHERE t.tokenHash = :tokenHash AND t.isUsed = false AND t.expiresAt > :now")
+    Optional<OneTimeToken> findActiveByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 
     /**
      * Находит активные токены пользователя по цели
@@ -35,6 +37,12 @@ public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, UUID
     @Query("SELECT t FROM OneTimeToken t WHERE t.userId = :userId AND t.purpose = :purpose AND t.isUsed = false AND t.expiresAt > :now")
     List<OneTimeToken> findActiveByUserIdAndPurpose(@Param("userId") String userId, @Param("purpose") OneTimeToken.TokenPurpose purpose, @Param("now") LocalDateTime now);
 
+    /**
+     * Находит активные токены пользователя
+     */
+    @Query("SELECT t FROM OneTimeToken t WHERE t.userId = :userId AND t.isUsed = false AND t.expiresAt > :now")
+    List<OneTimeToken> findActiveByUserId(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
     /**
      * Находит все токены пользователя
      */
@@ -46,25 +54,47 @@ public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, UUID
     List<OneTimeToken> findByPurpose(OneTimeToken.TokenPurpose purpose);
 
     /**
-     * Помечает токен как использованный
+     * Атомарно помечает активный токен с указанной целью как использованный.
+     * Условие проверяется в том же UPDATE, поэтому из параллельных попыток успешна только одна.
+     *
+     * @return 1, если токен был погашен этим вызовом, иначе 0
+     */
+    @Modifying
+    @Query("UPDATE OneTimeToken t SET t.isUsed = true, t.usedAt = :now " +
+           "WHERE t.tokenHash = :tokenHash AND t.purpose = :purpose AND t.isUsed = false AND t.expiresAt > :now")
+    int consume(@Param("tokenHash") String tokenHash, @Param("purpose") OneTimeToken.TokenPurpose purpose,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Помечает все активные токены пользователя как использованные
      */
     @Modifying
-    @Query("UPDATE OneTimeToken t SET t.isUsed = true, t.usedAt = :usedAt WHERE t.token = :token")
-    void markAsUsed(@Param("token") String token, @Param("usedAt") LocalDateTime usedAt);
+    @Query("UPDATE OneTimeToken t SET t.isUsed = true, t.usedAt = :now " +
+           "WHERE t.userId = :userId AND t.isUsed = false AND t.expiresAt > :now")
+    int revokeActiveByUserId(@Param("userId") String userId, @Param("now") LocalDateTime now);
 
     /**
-     * Удаляет истекшие токены
+     * Помечает активные токены пользователя с указанной целью как использованные
      */
     @Modifying
-    @Query("DELETE FROM OneTimeToken t WHERE t.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query("UPDATE OneTimeToken t SET t.isUsed = true, t.usedAt = :now " +
+           "WHERE t.userId = :userId AND t.purpose = :purpose AND t.isUsed = false AND t.expiresAt > :now")
+    int revokeActiveByUserIdAndPurpose(@Param("userId") String userId, @Param("purpose") OneTimeToken.TokenPurpose purpose,
+                                       @Param("now") LocalDateTime now);
+
+    /**
+     * Находит ID истекших токенов, начиная с самых старых; удаляются они пачками через
+     * {@link #deleteAllByIdInBatch(Iterable)}
+     */
+    @Query("SELECT t.id FROM OneTimeToken t WHERE t.expiresAt < :now ORDER BY t.expiresAt")
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
 
     /**
      * Удаляет использованные токены старше указанной даты
      */
     @Modifying
     @Query("DELETE FROM OneTimeToken t WHERE t.isUsed = true AND t.usedAt < :cutoffDate")
-    void deleteUsedTokensOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
+    int deleteUsedTokensOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
 
     /**
      * Подсчитывает количество активных токенов пользователя по цели
@@ -72,6 +102,17 @@ public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, UUID
     @Query("SELECT COUNT(t) FROM OneTimeToken t WHERE t.userId = :userId AND t.purpose = :purpose AND t.isUsed = false AND t.expiresAt > :now")
     long countActiveByUserIdAndPurpose(@Param("userId") String userId, @Param("purpose") OneTimeToken.TokenPurpose purpose, @Param("now") LocalDateTime now);
 
+    /**
+     * Подсчитывает активные токены с указанной целью для нескольких пользователей одним запросом
+     *
+     * @return пары [userId, количество] только для пользователей с активными токенами
+     */
+    @Query("SELECT t.userId, COUNT(t) FROM OneTimeToken t WHERE t.userId IN :userIds AND t.purpose = :purpose " +
+           "AND t.isUsed = false AND t.expiresAt > :now GROUP BY t.userId")
+    List<Object[]> countActiveByUserIdsAndPurpose(@Param("userIds") Collection<String> userIds,
+                                                  @Param("purpose") OneTimeToken.TokenPurpose purpose,
+                                                  @Param("now") LocalDateTime now);
+
     /**
      * Находит токены, созданные в указанном диапазоне времени
      */
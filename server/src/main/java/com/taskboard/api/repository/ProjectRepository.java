@@ -1,11 +1,14 @@
 package com.taskboard.api.repository;
 
 import com.taskboard.api.entity.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,5 +25,28 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     @Query("SELECT p FROM Project p WHERE p.createdBy = :createdBy AND p.name LIKE %:name%")
     List<Project> findByCreatedByAndNameContaining(@Param("createdBy") String createdBy, @Param("name") String name);
+    
+    /**
+     * First keyset page of a user's projects, most recently updated first.
+     * The pageable only carries the limit; no count query is issued.
+     */
+    @Query("SELECT p FROM Project p WHERE p.createdBy = :createdBy ORDER BY p.updatedAt DESC, p.id DESC")
+    List<Project> findPageByCreatedBy(@Param("createdBy") String createdBy, Pageable pageable);
+    
+    /**
+     * Keyset page following the project identified by (updatedAt, id).
+     */
+    @Query("SELECT p FROM Project p WHERE p.createdBy = :createdBy "
+            + "AND (p.updatedAt < :updatedAt OR (p.updatedAt = :updatedAt AND p.id < :id)) "
+            + "ORDER BY p.updatedAt DESC, p.id DESC")
+    List<Project> findPageByCreatedByAfter(@Param("createdBy") String createdBy,
+                                           @Param("updatedAt") LocalDateTime updatedAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    /**
+     * Tags of several projects in one query, as (projectId, tag) rows.
+     */
+    @Query("SELECT p.id, t FROM Project p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findTagsByProjectIds(@Param("ids") Collection<Long> ids);
 }
-
@@ -0,0 +1,102 @@
+package com.taskboard.api.repository;
+
+import com.taskboard.api.entity.Project;
+import com.taskboard.api.entity.Task;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Building blocks for task list queries. Each filter is a separate specification so the service
+ * only adds the ones the client actually set and the database sees the smallest possible predicate.
+ */
+public final class TaskSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Tasks the user created, is assigned to, or that belong to one of the user's projects.
+     */
+    public static Specification<Task> visibleTo(String username) {
+        return (root, query, cb) -> {
+            Subquery<Long> ownedProjects = query.subquery(Long.class);
+            Root<Project> project = ownedProjects.from(Project.class);
+            ownedProjects.select(project.get("id")).where(cb.equal(project.get("createdBy"), username));
+            return cb.or(
+                cb.equal(root.get("creatorId"), username),
+                cb.equal(root.get("assigneeId"), username),
+                root.get("projectId").in(ownedProjects)
+            );
+        };
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, cb) -> cb.equal(root.get("projectId"), projectId);
+    }
+
+    public static Specification<Task> statusIn(Collection<String> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<String> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> assignedTo(String assigneeId) {
+        return (root, query, cb) -> cb.equal(root.get("assigneeId"), assigneeId);
+    }
+
+    /**
+     * Case-insensitive substring match on title and description.
+     */
+    public static Specification<Task> textMatches(String text) {
+        String pattern = "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.<String>get("title")), pattern, LIKE_ESCAPE),
+            cb.like(cb.lower(root.<String>get("description")), pattern, LIKE_ESCAPE)
+        );
+    }
+
+    public static Specification<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        return between("dueDate", from, to);
+    }
+
+    public static Specification<Task> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return between("createdAt", from, to);
+    }
+
+    /**
+     * Rows strictly after the cursor in descending (timestamp, id) order.
+     */
+    public static Specification<Task> after(String timestampProperty, LocalDateTime timestamp, Long id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.<LocalDateTime>get(timestampProperty), timestamp),
+            cb.and(
+                cb.equal(root.get(timestampProperty), timestamp),
+                cb.lessThan(root.<Long>get("id"), id)
+            )
+        );
+    }
+
+    private static Specification<Task> between(String property, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.<LocalDateTime>get(property), from, to);
+            }
+            return from != null
+                ? cb.greaterThanOrEqualTo(root.<LocalDateTime>get(property), from)
+                : cb.lessThanOrEqualTo(root.<LocalDateTime>get(property), to);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,11 @@ public interface UserAvatarRepository extends JpaRepository<UserAvatar, Long> {
      */
     Optional<UserAvatar> findByUserIdAndIsActiveTrue(Long userId);
 
+    /**
+     * Найти активные аватары нескольких пользователей одним запросом
+     */
+    List<UserAvatar> findByUserIdInAndIsActiveTrue(Collection<Long> userIds);
+
     /**
      * Найти все аватары пользователя (включая неактивные)
      */
@@ -59,6 +65,32 @@ public interface UserAvatarRepository extends JpaRepository<UserAvatar, Long> {
     @Query("UPDATE UserAvatar ua SET ua.isActive = false WHERE ua.userId = :userId")
     void deactivateAllByUserId(@Param("userId") Long userId);
 
+    /**
+     * Вставить активный аватар со следующей версией пользователя; версия вычисляется в том же запросе,
+     * без отдельного чтения MAX(version).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_avatars (user_id, storage_key, version, content_type, file_size, "
+            + "original_filename, cdn_url, uploaded_at, updated_at, is_active) "
+            + "SELECT :userId, :storageKey, COALESCE(MAX(ua.version), 0) + 1, :contentType, :fileSize, "
+            + ":originalFilename, :cdnUrl, :now, :now, TRUE "
+            + "FROM user_avatars ua WHERE ua.user_id = :userId AND ua.deleted_at IS NULL",
+            nativeQuery = true)
+    int insertNextVersion(@Param("userId") Long userId,
+                          @Param("storageKey") String storageKey,
+                          @Param("contentType") String contentType,
+                          @Param("fileSize") Long fileSize,
+                          @Param("originalFilename") String originalFilename,
+                          @Param("cdnUrl") String cdnUrl,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Сохранить формат и размеры уменьшенных копий после обработки изображения
+     */
+    @Modifying
+    @Query("UPDATE UserAvatar ua SET ua.variantFormat = :format, ua.variantSizes = :sizes WHERE ua.id = :id")
+    int updateVariants(@Param("id") Long id, @Param("format") String format, @Param("sizes") String sizes);
+
     /**
      * Найти аватары для удаления (старше указанной даты и неактивные)
      */
@@ -2,8 +2,12 @@ package com.taskboard.api.repository;
 
 import com.taskboard.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion, u.enabled AS enabled, "
+            + "u.accountNonLocked AS accountNonLocked FROM User u "
+            + "WHERE (u.securityVersion > 0 AND u.updatedAt >= :since) "
+            + "OR u.enabled = false OR u.accountNonLocked = false")
+    List<SecurityVersionView> findSecurityVersionsChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Projection of a user's current security version and account state.
+     */
+    interface SecurityVersionView {
+        Long getId();
+
+        long getSecurityVersion();
+
+        boolean isEnabled();
+
+        boolean isAccountNonLocked();
+    }
 }
@@ -1,6 +1,7 @@
 package com.taskboard.api.repository;
 
 import com.taskboard.api.model.WebAuthnChallenge;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -42,11 +44,11 @@ public interface WebAuthnChallengeRepository extends JpaRepository<WebAuthnChall
     void markAsUsed(@Param("challenge") String challenge);
 
     /**
-     * Удаляет истекшие challenges
+     * Находит ID истекших challenges, начиная с самых старых; удаляются они пачками через
+     * {@link #deleteAllByIdInBatch(Iterable)}
      */
-    @Modifying
-    @Query("DELETE FROM WebAuthnChallenge w WHERE w.expiresAt < :now")
-    void deleteExpiredChallenges(@Param("now") LocalDateTime now);
+    @Query("SELECT w.id FROM WebAuthnChallenge w WHERE w.expiresAt < :now ORDER BY w.expiresAt")
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
 
     /**
      * Находит challenge по значению и типу
@@ -0,0 +1,87 @@
+package com.taskboard.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.api.model.UserAvatar;
+import com.taskboard.api.repository.UserAvatarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Short-lived per-user cache of active avatars for list and board views.
+ *
+ * Misses for a whole batch of users are loaded with a single {@code IN} query. Users without an avatar
+ * are cached as empty entries, so a board full of them does not query again on every render. Local
+ * uploads and deletions invalidate their user; changes made on other nodes show up once the TTL expires.
+ * Hit, miss and eviction meters are published under the {@code avatars.active} cache name.
+ */
+@Component
+@Slf4j
+public class ActiveAvatarCache {
+
+    private final UserAvatarRepository userAvatarRepository;
+    private final Cache<Long, Optional<ActiveAvatar>> cache;
+
+    public ActiveAvatarCache(UserAvatarRepository userAvatarRepository,
+                             @Value("${app.avatar.active-cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${app.avatar.active-cache.max-size:50000}") long maxSize,
+                             MeterRegistry meterRegistry) {
+        this.userAvatarRepository = userAvatarRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "avatars.active");
+        log.info("Active avatar cache initialized with TTL {}s and max size {}", ttlSeconds, maxSize);
+    }
+
+    /**
+     * Active avatars of the given users; users without one are absent from the result.
+     */
+    public Map<Long, ActiveAvatar> getAll(Collection<Long> userIds) {
+        Map<Long, Optional<ActiveAvatar>> cached = cache.getAll(userIds, this::load);
+        Map<Long, ActiveAvatar> result = new HashMap<>(cached.size());
+        cached.forEach((userId, avatar) -> avatar.ifPresent(value -> result.put(userId, value)));
+        return result;
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private Map<Long, Optional<ActiveAvatar>> load(Set<? extends Long> userIds) {
+        Map<Long, Optional<ActiveAvatar>> loaded = new HashMap<>(userIds.size());
+        for (Long userId : userIds) {
+            loaded.put(userId, Optional.empty());
+        }
+        for (UserAvatar avatar : userAvatarRepository.findByUserIdInAndIsActiveTrue(List.copyOf(userIds))) {
+            loaded.put(avatar.getUserId(), Optional.of(ActiveAvatar.of(avatar)));
+        }
+        return loaded;
+    }
+
+    /**
+     * Fields of an active avatar needed to build its URL.
+     */
+    public record ActiveAvatar(Long avatarId, String storageKey, String cdnUrl, Integer version, String contentType,
+                               Map<Integer, String> variantKeys) {
+
+        static ActiveAvatar of(UserAvatar avatar) {
+            return new ActiveAvatar(avatar.getId(), avatar.getStorageKey(), avatar.getCdnUrl(),
+                    avatar.getVersion(), avatar.getContentType(), avatar.getVariantKeys());
+        }
+    }
+}
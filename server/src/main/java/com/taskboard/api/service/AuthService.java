@@ -9,12 +9,14 @@ import com.taskboard.api.exception.RegistrationException;
 import com.taskboard.api.exception.UsernameAlreadyExistsException;
 import com.taskboard.api.model.User;
 import com.taskboard.api.model.UserRole;
+import com.taskboard.api.model.UserSnapshot;
 import com.taskboard.api.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -39,7 +41,10 @@ public class AuthService {
     private AuthenticationManager authenticationManager;
 
     @Autowired
-    private AvatarService avatarService;
+    private InitialsAvatarService initialsAvatarService;
+
+    @Autowired
+    private LastLoginWriteBehindBuffer lastLoginBuffer;
 
     public LoginResponse login(LoginRequest request) {
         // Аутентификация
@@ -47,16 +52,19 @@ public class AuthService {
             new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
         );
 
-        // Получение пользователя
-        User user = (User) userDetailsService.loadUserByUsername(request.getEmail());
+        // Неизменяемый снимок из кэша — для токенов; сущность читается заново только для ответа
+        UserSnapshot account = userDetailsService.loadSnapshot(request.getEmail());
+        User user = userRepository.findById(account.id())
+            .orElseThrow(() -> new UsernameNotFoundException(request.getEmail()));
 
-        // Обновление времени последнего входа
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Время последнего входа пишется отложенно пакетами
+        LocalDateTime lastLogin = LocalDateTime.now();
+        user.setLastLogin(lastLogin);
+        lastLoginBuffer.record(user.getId(), lastLogin);
 
         // Генерация токенов
-        String token = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        String token = jwtService.generateToken(account);
+        String refreshToken = jwtService.generateRefreshToken(account);
 
         return new LoginResponse(user, token, refreshToken);
     }
@@ -83,15 +91,11 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(UserRole.USER);
         user.setCreatedAt(LocalDateTime.now());
+        // Аватар с инициалами — только URL; изображение рисуется при первом запросе
+        user.setAvatar(initialsAvatarService.avatarUrl(request.getUsername(), request.getUsername()));
 
         try {
             user = userRepository.save(user);
-
-            // TODO: Implement avatar generation from initials
-            // String avatarUrl = avatarService.generateAvatarFromInitials(request.getUsername(), user.getId());
-            // user.setAvatar(avatarUrl);
-            // userRepository.save(user);
-
         } catch (DataIntegrityViolationException ex) {
             // Дополнительная проверка на случай race condition
             if (userRepository.existsByEmail(request.getEmail())) {
@@ -104,8 +108,9 @@ public class AuthService {
         }
 
         // Генерация токенов
-        String token = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        UserSnapshot account = UserSnapshot.of(user);
+        String token = jwtService.generateToken(account);
+        String refreshToken = jwtService.generateRefreshToken(account);
 
         return new LoginResponse(user, token, refreshToken);
     }
@@ -0,0 +1,179 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.UserAvatar;
+import com.taskboard.api.repository.UserAvatarRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Produces resized copies of confirmed avatars in the background.
+ *
+ * Each upload is decoded once with bounded memory and re-encoded at every configured size under a key
+ * derived from the original ({@link UserAvatar#variantKey}); the copies carry no metadata. WebP is used
+ * when an ImageIO WebP writer is on the classpath, PNG otherwise. Work runs on a small bounded pool: when
+ * it is saturated, or an image cannot be processed, the avatar keeps being served at its original size.
+ */
+@Service
+@Slf4j
+public class AvatarProcessingService {
+
+    private static final String FALLBACK_FORMAT = "png";
+
+    private final StorageService storageService;
+    private final UserAvatarRepository userAvatarRepository;
+    private final ActiveAvatarCache activeAvatarCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int[] sizes;
+    private final String format;
+    private final long maxSourceBytes;
+    private final long maxSourcePixels;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer processingTimer;
+
+    public AvatarProcessingService(StorageService storageService,
+                                   UserAvatarRepository userAvatarRepository,
+                                   ActiveAvatarCache activeAvatarCache,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${app.avatar.processing.enabled:true}") boolean enabled,
+                                   @Value("${app.avatar.processing.sizes:32,64,128,256}") int[] sizes,
+                                   @Value("${app.avatar.processing.format:webp}") String format,
+                                   @Value("${app.avatar.processing.threads:2}") int threads,
+                                   @Value("${app.avatar.processing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${app.avatar.processing.max-source-bytes:10485760}") long maxSourceBytes,
+                                   @Value("${app.avatar.processing.max-source-pixels:50000000}") long maxSourcePixels,
+                                   MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        this.userAvatarRepository = userAvatarRepository;
+        this.activeAvatarCache = activeAvatarCache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled && sizes.length > 0;
+        this.sizes = Arrays.stream(sizes).distinct().sorted().toArray();
+        this.format = AvatarImages.canWrite(format) ? format : FALLBACK_FORMAT;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxSourcePixels = maxSourcePixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "avatar-processing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.processedCounter = processingCounter(meterRegistry, "processed");
+        this.failedCounter = processingCounter(meterRegistry, "failed");
+        this.rejectedCounter = processingCounter(meterRegistry, "rejected");
+        this.processingTimer = Timer.builder("avatar.processing.time")
+                .description("Time spent producing the resized copies of one avatar")
+                .register(meterRegistry);
+
+        if (!this.format.equals(format)) {
+            log.warn("No ImageIO writer for '{}', avatar variants will be stored as {}", format, this.format);
+        }
+        log.info("Avatar processing {}: sizes {}, format {}, {} threads",
+                this.enabled ? "enabled" : "disabled", Arrays.toString(this.sizes), this.format, threads);
+    }
+
+    /**
+     * Queues processing of a confirmed avatar. Returns immediately; non-image uploads, oversized files
+     * and submissions to a saturated pool are skipped.
+     */
+    public void submit(UserAvatar avatar) {
+        if (!enabled || !avatar.isImage()) {
+            return;
+        }
+        if (avatar.getFileSize() != null && avatar.getFileSize() > maxSourceBytes) {
+            log.info("Skipping processing of avatar {}: {} bytes exceeds limit", avatar.getId(), avatar.getFileSize());
+            return;
+        }
+        Long avatarId = avatar.getId();
+        Long userId = avatar.getUserId();
+        String storageKey = avatar.getStorageKey();
+        try {
+            executor.execute(() -> process(avatarId, userId, storageKey));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Avatar processing queue is full, avatar {} will be served at original size", avatarId);
+        }
+    }
+
+    /**
+     * Downloads the original, stores every variant and records them on the avatar.
+     *
+     * @return true if the variants were stored
+     */
+    boolean process(Long avatarId, Long userId, String storageKey) {
+        long startedAt = System.nanoTime();
+        try {
+            BufferedImage source;
+            try (InputStream input = storageService.downloadFile(storageKey)) {
+                source = AvatarImages.decode(input, maxSourcePixels, sizes[sizes.length - 1]);
+            }
+            String contentType = "image/" + format;
+            for (int size : sizes) {
+                byte[] bytes = AvatarImages.encode(AvatarImages.squareThumbnail(source, size), format);
+                storageService.uploadFile(UserAvatar.variantKey(storageKey, size, format),
+                        new ByteArrayInputStream(bytes), contentType, bytes.length);
+            }
+
+            String sizeList = Arrays.stream(sizes).mapToObj(String::valueOf).collect(Collectors.joining(","));
+            Integer updated = transactionTemplate.execute(status ->
+                    userAvatarRepository.updateVariants(avatarId, format, sizeList));
+            if (updated == null || updated == 0) {
+                // The avatar was deleted while processing
+                for (int size : sizes) {
+                    storageService.deleteFile(UserAvatar.variantKey(storageKey, size, format));
+                }
+                return false;
+            }
+            activeAvatarCache.invalidate(userId);
+
+            processedCounter.increment();
+            log.debug("Stored {} variants of avatar {}", sizes.length, avatarId);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Failed to process avatar {} ({}), serving original: {}", avatarId, storageKey, e.getMessage());
+            return false;
+        } finally {
+            processingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static Counter processingCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("avatar.processing")
+                .description("Avatar processing outcomes: variants stored, failed, or skipped on a full queue")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
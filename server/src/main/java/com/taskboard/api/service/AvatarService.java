@@ -5,19 +5,32 @@ import com.taskboard.api.dto.AvatarConfirmRequest;
 import com.taskboard.api.dto.AvatarResponse;
 import com.taskboard.api.dto.AvatarUploadRequest;
 import com.taskboard.api.dto.AvatarUploadResponse;
+import com.taskboard.api.dto.AvatarUrlResponse;
 import com.taskboard.api.model.User;
 import com.taskboard.api.model.UserAvatar;
 import com.taskboard.api.repository.UserAvatarRepository;
 import com.taskboard.api.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -34,8 +47,15 @@ public class AvatarService {
     private final StorageService storageService;
     private final StorageConfig storageConfig;
 
+    private final TransactionTemplate transactionTemplate;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ActiveAvatarCache activeAvatarCache;
+    private final AvatarProcessingService avatarProcessingService;
+
+    /** Сетевые вызовы к хранилищу, выполняемые параллельно с запросами к БД. */
+    private final ExecutorService storageIoExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     private static final Duration UPLOAD_URL_EXPIRATION = Duration.ofMinutes(15);
-    private static final Duration DOWNLOAD_URL_EXPIRATION = Duration.ofHours(1);
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
     /**
@@ -71,46 +91,50 @@ public class AvatarService {
     }
 
     /**
-     * Подтверждает загрузку аватара и сохраняет метаданные в БД
+     * Подтверждает загрузку аватара и сохраняет метаданные в БД.
+     *
+     * Метаданные файла читаются одним HEAD-запросом параллельно с проверкой пользователя и до открытия
+     * транзакции, так что соединение с БД не удерживается на время сетевого вызова. Версия вычисляется
+     * в самом INSERT.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AvatarResponse confirmUpload(Long userId, AvatarConfirmRequest request) {
-        log.info("Confirming avatar upload for user: {}, storage key: {}", userId, request.getStorageKey());
+        String storageKey = request.getStorageKey();
+        log.info("Confirming avatar upload for user: {}, storage key: {}", userId, storageKey);
 
-        // Валидация пользователя
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+        CompletableFuture<Optional<Map<String, String>>> metadataFuture =
+                CompletableFuture.supplyAsync(() -> storageService.findFileMetadata(storageKey), storageIoExecutor);
 
-        // Проверка существования файла в хранилище
-        if (!storageService.fileExists(request.getStorageKey())) {
-            throw new RuntimeException("File not found in storage: " + request.getStorageKey());
+        // Валидация пользователя, пока идёт HEAD-запрос
+        if (!userRepository.existsById(userId)) {
+            metadataFuture.cancel(false);
+            throw new RuntimeException("User not found: " + userId);
         }
 
-        // Получение метаданных файла
-        var metadata = storageService.getFileMetadata(request.getStorageKey());
+        Map<String, String> metadata = join(metadataFuture)
+                .orElseThrow(() -> new RuntimeException("File not found in storage: " + storageKey));
         String contentType = metadata.get("contentType");
         Long fileSize = Long.parseLong(metadata.get("size"));
-
-        // Деактивация предыдущих аватаров пользователя
-        userAvatarRepository.deactivateAllByUserId(userId);
-
-        // Получение следующей версии
-        Integer nextVersion = userAvatarRepository.getMaxVersionByUserId(userId) + 1;
-
-        // Создание записи в БД
-        UserAvatar avatar = new UserAvatar(
-                userId,
-                request.getStorageKey(),
-                contentType,
-                fileSize,
-                extractOriginalFilename(request.getStorageKey())
-        );
-        avatar.setVersion(nextVersion);
-
-        // Генерация CDN URL
-        String cdnUrl = storageConfig.getObjectUrl(request.getStorageKey());
-        avatar.setCdnUrl(cdnUrl);
-
-        UserAvatar savedAvatar = userAvatarRepository.save(avatar);
+        String cdnUrl = storageConfig.getObjectUrl(storageKey);
+
+        List<String> previousKeys = new ArrayList<>();
+        UserAvatar savedAvatar = transactionTemplate.execute(status -> {
+            userAvatarRepository.findByUserIdAndIsActiveTrue(userId)
+                    .ifPresent(previous -> previousKeys.addAll(objectKeys(previous)));
+            userAvatarRepository.deactivateAllByUserId(userId);
+            userAvatarRepository.insertNextVersion(userId, storageKey, contentType, fileSize,
+                    extractOriginalFilename(storageKey), cdnUrl, LocalDateTime.now());
+            return userAvatarRepository.findByUserIdAndIsActiveTrue(userId)
+                    .orElseThrow(() -> new IllegalStateException("Inserted avatar not found for user: " + userId));
+        });
+
+        // Ссылки на прежний активный аватар и его копии больше не должны выдаваться;
+        // ключи новых загрузок уникальны, так что кэш для них заведомо пуст
+        previousKeys.forEach(presignedUrlCache::invalidate);
+        activeAvatarCache.invalidate(userId);
+
+        // Уменьшенные копии готовятся в фоне; до этого аватар отдаётся в исходном размере
+        avatarProcessingService.submit(savedAvatar);
 
         log.info("Avatar upload confirmed for user: {}, avatar ID: {}", userId, savedAvatar.getId());
 
@@ -135,6 +159,26 @@ public class AvatarService {
         return convertToAvatarResponse(avatar);
     }
 
+    /**
+     * Получает ссылки на активные аватары нескольких пользователей для списков и досок.
+     * Промахи кэша загружаются одним IN-запросом; пользователи без аватара в ответ не попадают.
+     */
+    @Transactional(readOnly = true)
+    public List<AvatarUrlResponse> resolveActiveAvatars(Set<Long> userIds) {
+        log.debug("Resolving active avatars for {} users", userIds.size());
+
+        return activeAvatarCache.getAll(userIds).entrySet().stream()
+                .map(entry -> AvatarUrlResponse.builder()
+                        .userId(entry.getKey())
+                        .avatarId(entry.getValue().avatarId())
+                        .version(entry.getValue().version())
+                        .contentType(entry.getValue().contentType())
+                        .url(avatarUrl(entry.getValue()))
+                        .variantUrls(variantUrls(entry.getValue().variantKeys()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Получает все аватары пользователя
      */
@@ -159,8 +203,12 @@ public class AvatarService {
                 .orElse(null);
 
         if (avatar != null) {
-            // Удаление файла из хранилища
-            storageService.deleteFile(avatar.getStorageKey());
+            // Удаление файла и его уменьшенных копий из хранилища
+            for (String key : objectKeys(avatar)) {
+                storageService.deleteFile(key);
+                presignedUrlCache.invalidate(key);
+            }
+            activeAvatarCache.invalidate(userId);
 
             // Удаление записи из БД
             userAvatarRepository.delete(avatar);
@@ -172,7 +220,8 @@ public class AvatarService {
     }
 
     /**
-     * Генерирует presigned URL для скачивания аватара
+     * Генерирует presigned URL для скачивания аватара.
+     * URL переиспользуется из кэша, пока не истекла заданная доля его срока действия.
      */
     @Transactional(readOnly = true)
     public String generateDownloadUrl(Long userId) {
@@ -181,7 +230,7 @@ public class AvatarService {
         UserAvatar avatar = userAvatarRepository.findByUserIdAndIsActiveTrue(userId)
                 .orElseThrow(() -> new RuntimeException("No active avatar found for user: " + userId));
 
-        return storageService.generatePresignedDownloadUrl(avatar.getStorageKey(), DOWNLOAD_URL_EXPIRATION);
+        return presignedUrlCache.getDownloadUrl(avatar.getStorageKey());
     }
 
     /**
@@ -196,12 +245,59 @@ public class AvatarService {
         return new AvatarStats(totalAvatars, totalSize, hasActiveAvatar);
     }
 
+    @PreDestroy
+    public void shutdown() {
+        storageIoExecutor.shutdown();
+    }
+
     // Приватные методы
 
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
     private String generateStorageKey(Long userId, String fileName) {
         String extension = extractFileExtension(fileName);
         String uuid = UUID.randomUUID().toString();
-        return String.format("avatars/%d/%s%s", userId, uuid, extension);
+        return userStoragePrefix(userId) + uuid + extension;
+    }
+
+    private String avatarUrl(ActiveAvatarCache.ActiveAvatar avatar) {
+        if (storageConfig.hasCdnBaseUrl() && avatar.cdnUrl() != null && !avatar.cdnUrl().isEmpty()) {
+            return avatar.cdnUrl();
+        }
+        return presignedUrlCache.getDownloadUrl(avatar.storageKey());
+    }
+
+    /**
+     * URL каждой уменьшенной копии: через CDN, если он настроен, иначе presigned
+     */
+    private Map<Integer, String> variantUrls(Map<Integer, String> variantKeys) {
+        Map<Integer, String> urls = new TreeMap<>();
+        variantKeys.forEach((size, key) -> urls.put(size,
+                storageConfig.hasCdnBaseUrl() ? storageConfig.getObjectUrl(key) : presignedUrlCache.getDownloadUrl(key)));
+        return urls;
+    }
+
+    /**
+     * Ключи исходного файла аватара и всех его уменьшенных копий в хранилище
+     */
+    private static List<String> objectKeys(UserAvatar avatar) {
+        List<String> keys = new ArrayList<>();
+        keys.add(avatar.getStorageKey());
+        keys.addAll(avatar.getVariantKeys().values());
+        return keys;
+    }
+
+    private static String userStoragePrefix(Long userId) {
+        return "avatars/" + userId + "/";
     }
 
     private String extractFileExtension(String fileName) {
@@ -236,6 +332,7 @@ public class AvatarService {
                 .uploadedAt(avatar.getUploadedAt())
                 .updatedAt(avatar.getUpdatedAt())
                 .isActive(avatar.getIsActive())
+                .variantUrls(variantUrls(avatar.getVariantKeys()))
                 .build();
     }
 
@@ -0,0 +1,278 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool instead of the request thread.
+ *
+ * The pool and its queue are bounded: when the queue is full, or a task waits longer than the configured
+ * limit, the call fails fast with {@link PasswordHashingOverloadedException} (503) so that a login burst
+ * cannot take every servlet thread with it. The BCrypt cost only ratchets upwards, from the configured
+ * value towards a ceiling, while the p99 hash time of recent operations would still fit the target at
+ * twice the work; it is never lowered at runtime, so a login burst that inflates hash times through CPU
+ * contention cannot weaken new hashes or start a rehash wave. {@link #upgradeEncoding(String)} reports
+ * hashes made with a lower cost so that they can be rehashed on the next successful login.
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    static final int MIN_BCRYPT_STRENGTH = 4;
+    static final int MAX_BCRYPT_STRENGTH = 31;
+    private static final int SAMPLE_WINDOW = 256;
+    private static final int MIN_SAMPLES_FOR_CALIBRATION = 32;
+    /** Consecutive calibration runs with headroom required before the cost is raised. */
+    static final int RAISE_CONFIRMATIONS = 3;
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long targetNanos;
+    private final int minStrength;
+    private final int maxStrength;
+    private final BCryptPasswordEncoder[] encoders = new BCryptPasswordEncoder[MAX_BCRYPT_STRENGTH + 1];
+
+    private volatile int strength;
+
+    /** Ring buffer of hash durations at the current cost, used for calibration. */
+    private final long[] samples = new long[SAMPLE_WINDOW];
+    private int sampleCount;
+    private int sampleCursor;
+    private int raiseVotes;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(@Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMillis,
+                                  @Value("${security.password-hashing.target-p99-ms:250}") long targetMillis,
+                                  @Value("${security.password-hashing.strength:10}") int strength,
+                                  @Value("${security.password-hashing.min-strength:10}") int minStrength,
+                                  @Value("${security.password-hashing.max-strength:14}") int maxStrength,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.minStrength = clamp(minStrength, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+        this.maxStrength = clamp(maxStrength, this.minStrength, MAX_BCRYPT_STRENGTH);
+        this.strength = clamp(strength, this.minStrength, this.maxStrength);
+        this.maxWaitMillis = maxWaitMillis;
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder("auth.password.hash.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashes shed because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.cost", this, BoundedPasswordEncoder::getStrength)
+                .description("Current BCrypt cost for new password hashes")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool initialized: {} threads, queue {}, BCrypt cost {} ({}..{}), p99 target {}ms",
+                poolSize, queueCapacity, this.strength, this.minStrength, this.maxStrength, targetMillis);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        int cost = strength;
+        return submit(encodeTimer, cost, () -> encoder(cost).encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        // BCrypt reads the cost from the hash, so any instance verifies any cost
+        return submit(matchesTimer, cost, () -> encoder(strength).matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True for BCrypt hashes made with a lower cost than the current one. Hashes with a higher cost,
+     * e.g. from before a restart with a lower configured cost, are kept as they are.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Raises the cost by one step once recent hashes at the current cost would still fit the p99 target
+     * after doubling, confirmed over {@link #RAISE_CONFIRMATIONS} consecutive runs so that a quiet minute
+     * does not trigger it. A p99 over the target is only logged: overload is handled by shedding, and
+     * lowering the cost would put extra rehash work onto the next logins.
+     */
+    @Scheduled(fixedDelayString = "${security.password-hashing.calibration-interval-ms:60000}")
+    public void calibrate() {
+        long p99;
+        synchronized (samples) {
+            if (sampleCount < MIN_SAMPLES_FOR_CALIBRATION) {
+                return;
+            }
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+        }
+
+        int current = strength;
+        if (p99 > targetNanos) {
+            raiseVotes = 0;
+            log.warn("BCrypt p99 hash time {}ms is over the {}ms target at cost {}",
+                    TimeUnit.NANOSECONDS.toMillis(p99), TimeUnit.NANOSECONDS.toMillis(targetNanos), current);
+            return;
+        }
+        if (p99 * 2 >= targetNanos || current >= maxStrength) {
+            raiseVotes = 0;
+            return;
+        }
+        if (++raiseVotes >= RAISE_CONFIRMATIONS) {
+            setStrength(current + 1);
+            log.info("BCrypt cost raised from {} to {}: p99 hash time {}ms, target {}ms", current, current + 1,
+                    TimeUnit.NANOSECONDS.toMillis(p99), TimeUnit.NANOSECONDS.toMillis(targetNanos));
+        }
+    }
+
+    void setStrength(int newStrength) {
+        synchronized (samples) {
+            strength = clamp(newStrength, minStrength, maxStrength);
+            raiseVotes = 0;
+            sampleCount = 0;
+            sampleCursor = 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer hashTimer, int cost, Callable<T> hash) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                T result = hash.call();
+                long elapsed = System.nanoTime() - startedAt;
+                hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                recordSample(cost, elapsed);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingOverloadedException("Password hashing queue is full", e);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingOverloadedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void recordSample(int cost, long elapsedNanos) {
+        synchronized (samples) {
+            if (cost != strength) {
+                return;
+            }
+            samples[sampleCursor] = elapsedNanos;
+            sampleCursor = (sampleCursor + 1) % SAMPLE_WINDOW;
+            sampleCount = Math.min(sampleCount + 1, SAMPLE_WINDOW);
+        }
+    }
+
+    private BCryptPasswordEncoder encoder(int cost) {
+        BCryptPasswordEncoder encoder = encoders[cost];
+        if (encoder == null) {
+            // Benign race: instances are stateless apart from their cost
+            encoder = new BCryptPasswordEncoder(cost);
+            encoders[cost] = encoder;
+        }
+        return encoder;
+    }
+
+    /**
+     * Reads the cost from a {@code $2a$NN$...} hash, or returns 0 if the value is not a BCrypt hash.
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return 0;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash.time")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
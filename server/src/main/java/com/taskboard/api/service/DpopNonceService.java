@@ -0,0 +1,145 @@
+package com.taskboard.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and checks server nonces for DPoP proofs (RFC 9449, section 8).
+ *
+ * Nonces are stateless: each one encodes its time window and an HMAC of that window, so any instance
+ * sharing {@code jwt.secret} can validate it without storage. A nonce is accepted during its own window
+ * and the following one, so clients always have at least one full window to pick up the rolled value
+ * from the {@code DPoP-Nonce} response header.
+ */
+@Service
+@Slf4j
+public class DpopNonceService {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] KEY_LABEL = "dpop-nonce".getBytes(StandardCharsets.UTF_8);
+    private static final int MAC_BYTES = 16;
+    private static final int NONCE_BYTES = Long.BYTES + MAC_BYTES;
+
+    /**
+     * Result of a nonce check.
+     */
+    public enum NonceStatus {
+        CURRENT,
+        PREVIOUS,
+        INVALID
+    }
+
+    private final SecretKeySpec nonceKey;
+    private final long windowSeconds;
+    private final ScratchPool<Mac> macs;
+
+    private volatile IssuedNonce current;
+
+    @Autowired
+    public DpopNonceService(@Value("${jwt.secret}") String secret,
+                            @Value("${security.dpop.nonce.window-seconds:300}") long windowSeconds) {
+        this.nonceKey = new SecretKeySpec(deriveKey(secret), MAC_ALGORITHM);
+        this.windowSeconds = windowSeconds;
+        this.macs = new ScratchPool<>(this::newMac);
+        log.info("DPoP nonce service initialized with window: {}s", windowSeconds);
+    }
+
+    /**
+     * Returns the nonce for the current window; the encoded value is computed once per window.
+     */
+    public String currentNonce() {
+        long window = currentWindow();
+        IssuedNonce issued = current;
+        if (issued == null || issued.window() != window) {
+            issued = new IssuedNonce(window, encode(window));
+            current = issued;
+        }
+        return issued.value();
+    }
+
+    public NonceStatus check(String nonce) {
+        if (nonce == null) {
+            return NonceStatus.INVALID;
+        }
+
+        byte[] decoded;
+        try {
+            decoded = Base64.getUrlDecoder().decode(nonce);
+        } catch (IllegalArgumentException e) {
+            return NonceStatus.INVALID;
+        }
+        if (decoded.length != NONCE_BYTES) {
+            return NonceStatus.INVALID;
+        }
+
+        long window = ByteBuffer.wrap(decoded, 0, Long.BYTES).getLong();
+        long currentWindow = currentWindow();
+        if (window != currentWindow && window != currentWindow - 1) {
+            return NonceStatus.INVALID;
+        }
+
+        byte[] expectedMac = mac(window);
+        byte[] actualMac = new byte[MAC_BYTES];
+        System.arraycopy(decoded, Long.BYTES, actualMac, 0, MAC_BYTES);
+        if (!MessageDigest.isEqual(expectedMac, actualMac)) {
+            return NonceStatus.INVALID;
+        }
+        return window == currentWindow ? NonceStatus.CURRENT : NonceStatus.PREVIOUS;
+    }
+
+    private long currentWindow() {
+        return Instant.now().getEpochSecond() / windowSeconds;
+    }
+
+    private String encode(long window) {
+        ByteBuffer buffer = ByteBuffer.allocate(NONCE_BYTES);
+        buffer.putLong(window);
+        buffer.put(mac(window));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private byte[] mac(long window) {
+        byte[] input = ByteBuffer.allocate(Long.BYTES).putLong(window).array();
+        byte[] full = macs.apply(mac -> mac.doFinal(input));
+        byte[] truncated = new byte[MAC_BYTES];
+        System.arraycopy(full, 0, truncated, 0, MAC_BYTES);
+        return truncated;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(nonceKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize DPoP nonce MAC", e);
+        }
+    }
+
+    /**
+     * Nonce key is derived from the JWT secret so it is never used for two purposes directly.
+     */
+    private static byte[] deriveKey(String secret) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+            return mac.doFinal(KEY_LABEL);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive DPoP nonce key", e);
+        }
+    }
+
+    private record IssuedNonce(long window, String value) {
+    }
+}
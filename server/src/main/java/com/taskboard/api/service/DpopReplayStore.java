@@ -0,0 +1,20 @@
+package com.taskboard.api.service;
+
+/**
+ * Records DPoP proof identifiers ({@code jti}) so that each proof is accepted only once.
+ * Implementations keep an identifier at least until the given expiry; after that the proof is
+ * rejected by its age anyway and the entry may be dropped.
+ */
+public interface DpopReplayStore {
+
+    /**
+     * Atomically records the identifier.
+     *
+     * @param jti proof identifier
+     * @param expiresAtEpochSecond moment after which the proof is no longer acceptable
+     * @return true if the identifier was seen for the first time, false if it is a replay
+     * @throws com.taskboard.api.exception.DpopReplayStoreFullException if the identifier cannot be recorded
+     *         because the store is full; implementations must not make room by forgetting live identifiers
+     */
+    boolean markIfFirstUse(String jti, long expiresAtEpochSecond);
+}
@@ -1,21 +1,26 @@
 package com.taskboard.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskboard.api.exception.DpopReplayStoreFullException;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Service for working with DPoP (Demonstrating Proof of Possession) tokens
@@ -28,12 +33,38 @@ import java.util.UUID;
 @Slf4j
 public class DpopTokenService {
 
+    private static final int SHA256_BYTES = 32;
+    private static final int ATH_LENGTH = 43;
+    private static final Base64.Encoder ATH_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ScratchPool<AthScratch> ATH_SCRATCH = new ScratchPool<>(AthScratch::new);
+
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.previous-secrets:}")
+    private List<String> previousSecrets;
+
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${security.dpop.nonce.required:false}")
+    private boolean nonceRequired;
+
+    @Value("${security.dpop.proof-max-age-seconds:300}")
+    private long proofMaxAgeSeconds;
+
+    @Autowired
+    private DpopReplayStore replayStore;
+
+    @Autowired
+    private DpopNonceService nonceService;
+
+    @Autowired
+    private SecurityMetricsService securityMetricsService;
+
+    private JwtKeyRing keyRing;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -64,9 +95,8 @@ public class DpopTokenService {
             }
 
             // Create DPoP proof token
-            return Jwts.builder()
+            return keyRing.builder()
                     .claims(claims)
-                    .signWith(getSigningKey())
                     .compact();
                     
         } catch (Exception e) {
@@ -76,7 +106,8 @@ public class DpopTokenService {
     }
 
     /**
-     * Validates DPoP proof token
+     * Validates DPoP proof token without consuming it
+     * Use {@link #verifyDpopProof} for incoming requests, which also enforces single use and server nonces
      * 
      * @param dpopProof DPoP proof token
      * @param accessToken original access token
@@ -86,69 +117,164 @@ public class DpopTokenService {
      * @return true if token is valid
      */
     public boolean validateDpopProof(String dpopProof, String accessToken, String httpMethod, String httpUrl, String nonce) {
-        try {
-            // Parse and validate JWT
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(dpopProof)
-                    .getPayload();
+        Claims claims = parseAndValidate(dpopProof, accessToken, httpMethod, httpUrl::equals);
+        if (claims == null) {
+            return false;
+        }
 
-            // Validate required claims
-            if (!validateRequiredClaims(claims, httpMethod, httpUrl, nonce)) {
+        // Validate nonce if provided
+        if (nonce != null) {
+            String proofNonce = claims.get("nonce", String.class);
+            if (!nonce.equals(proofNonce)) {
+                log.warn("Nonce mismatch in DPoP proof: expected {}, got {}", nonce, proofNonce);
                 return false;
             }
+        }
 
-            // Validate access token hash
-            String expectedAth = createAccessTokenHash(accessToken);
-            String actualAth = claims.get("ath", String.class);
-            if (!expectedAth.equals(actualAth)) {
-                log.warn("Access token hash mismatch in DPoP proof");
-                return false;
-            }
+        log.debug("DPoP proof token validated successfully");
+        return true;
+    }
 
-            // Validate timestamp
-            if (isTokenExpired(claims)) {
-                log.warn("DPoP proof token has expired");
-                return false;
+    /**
+     * Verifies a DPoP proof presented with a request: signature, bound request and access token,
+     * proof age, server nonce and single use of the proof's jti.
+     *
+     * @param dpopProof DPoP proof token
+     * @param accessToken original access token
+     * @param httpMethod HTTP method
+     * @param httpUrl request URL
+     * @return verification outcome; {@link DpopValidationResult#USE_NONCE} asks the client to retry
+     *         with the nonce from {@link #currentNonce()}
+     */
+    public DpopValidationResult verifyDpopProof(String dpopProof, String accessToken, String httpMethod, String httpUrl) {
+        return verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl::equals);
+    }
+
+    /**
+     * Same as {@link #verifyDpopProof(String, String, String, String)}, but the {@code htu} claim is checked
+     * by the caller, so the request URL does not have to be built as a string
+     *
+     * @param htuMatcher tells whether the proof's {@code htu} claim denotes the current request URL
+     */
+    public DpopValidationResult verifyDpopProof(String dpopProof, String accessToken, String httpMethod,
+                                                Predicate<String> htuMatcher) {
+        long start = System.nanoTime();
+        DpopValidationResult result = verify(dpopProof, accessToken, httpMethod, htuMatcher);
+        securityMetricsService.recordDpopProofValidated(result == DpopValidationResult.VALID, System.nanoTime() - start);
+        return result;
+    }
+
+    private DpopValidationResult verify(String dpopProof, String accessToken, String httpMethod,
+                                        Predicate<String> htuMatcher) {
+        Claims claims = parseAndValidate(dpopProof, accessToken, httpMethod, htuMatcher);
+        if (claims == null) {
+            return DpopValidationResult.INVALID;
+        }
+
+        // Proofs are short-lived regardless of exp, which bounds how long a jti must be remembered
+        long acceptableUntil = proofAcceptableUntil(claims);
+        if (Instant.now().getEpochSecond() > acceptableUntil) {
+            log.debug("DPoP proof is too old");
+            return DpopValidationResult.INVALID;
+        }
+
+        String proofNonce = claims.get("nonce", String.class);
+        if (proofNonce != null || nonceRequired) {
+            DpopNonceService.NonceStatus nonceStatus = nonceService.check(proofNonce);
+            if (nonceStatus == DpopNonceService.NonceStatus.INVALID) {
+                log.debug("DPoP proof carries a missing or stale nonce");
+                securityMetricsService.recordDpopNonceRefreshed();
+                return DpopValidationResult.USE_NONCE;
+            }
+            if (nonceStatus == DpopNonceService.NonceStatus.PREVIOUS) {
+                securityMetricsService.recordDpopNonceRefreshed();
             }
+        }
 
-            log.debug("DPoP proof token validated successfully");
-            return true;
+        String jti = claims.getId();
+        boolean firstUse;
+        try {
+            firstUse = jti != null && replayStore.markIfFirstUse(jti, acceptableUntil);
+        } catch (DpopReplayStoreFullException e) {
+            log.warn("DPoP proof refused: {}", e.getMessage());
+            return DpopValidationResult.UNAVAILABLE;
+        }
+        if (!firstUse) {
+            log.debug("DPoP proof replay rejected");
+            securityMetricsService.recordDpopReplayRejected();
+            return DpopValidationResult.REPLAYED;
+        }
+
+        return DpopValidationResult.VALID;
+    }
+
+    /**
+     * Returns the server nonce clients should put into their next DPoP proof
+     */
+    public String currentNonce() {
+        return nonceService.currentNonce();
+    }
 
+    /**
+     * Checks signature, bound method/URL, access token hash and expiration.
+     * Rejections are expected under attack traffic, so they are logged at debug level without stack traces.
+     *
+     * @return verified claims, or null if the proof is invalid
+     */
+    private Claims parseAndValidate(String dpopProof, String accessToken, String httpMethod,
+                                    Predicate<String> htuMatcher) {
+        Claims claims;
+        try {
+            // Parse and validate JWT
+            claims = keyRing.parser()
+                    .parseSignedClaims(dpopProof)
+                    .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected DPoP proof token: {}", e.getMessage());
+            return null;
         } catch (Exception e) {
             log.error("Error validating DPoP proof token: {}", e.getMessage(), e);
-            return false;
+            return null;
+        }
+
+        // Validate required claims
+        if (!validateRequiredClaims(claims, httpMethod, htuMatcher)) {
+            return null;
+        }
+
+        // Validate access token hash
+        if (!accessTokenHashMatches(accessToken, claims.get("ath", String.class))) {
+            log.debug("Access token hash mismatch in DPoP proof");
+            return null;
+        }
+
+        // Validate timestamp
+        if (isTokenExpired(claims)) {
+            log.debug("DPoP proof token has expired");
+            return null;
         }
+
+        return claims;
     }
 
     /**
      * Validates required claims in DPoP proof
      */
-    private boolean validateRequiredClaims(Claims claims, String httpMethod, String httpUrl, String nonce) {
+    private boolean validateRequiredClaims(Claims claims, String httpMethod, Predicate<String> htuMatcher) {
         // Validate HTTP method
         String htm = claims.get("htm", String.class);
         if (!httpMethod.equals(htm)) {
-            log.warn("HTTP method mismatch in DPoP proof: expected {}, got {}", httpMethod, htm);
+            log.debug("HTTP method mismatch in DPoP proof: expected {}, got {}", httpMethod, htm);
             return false;
         }
 
         // Validate HTTP URL
         String htu = claims.get("htu", String.class);
-        if (!httpUrl.equals(htu)) {
-            log.warn("HTTP URL mismatch in DPoP proof: expected {}, got {}", httpUrl, htu);
+        if (!htuMatcher.test(htu)) {
+            log.debug("HTTP URL mismatch in DPoP proof: got {}", htu);
             return false;
         }
 
-        // Validate nonce if provided
-        if (nonce != null) {
-            String proofNonce = claims.get("nonce", String.class);
-            if (!nonce.equals(proofNonce)) {
-                log.warn("Nonce mismatch in DPoP proof: expected {}, got {}", nonce, proofNonce);
-                return false;
-            }
-        }
-
         return true;
     }
 
@@ -163,18 +289,40 @@ public class DpopTokenService {
         return Instant.now().getEpochSecond() > exp;
     }
 
+    /**
+     * Latest moment the proof may be used: the earlier of its exp and iat plus the maximum proof age
+     */
+    private long proofAcceptableUntil(Claims claims) {
+        Long exp = claims.get("exp", Long.class);
+        Long iat = claims.get("iat", Long.class);
+        long maxAgeLimit = (iat != null ? iat : 0L) + proofMaxAgeSeconds;
+        return exp != null ? Math.min(exp, maxAgeLimit) : maxAgeLimit;
+    }
+
     /**
      * Creates SHA-256 hash of access token for ath claim
      */
     private String createAccessTokenHash(String accessToken) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(accessToken.getBytes(StandardCharsets.UTF_8));
-            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
-        } catch (Exception e) {
-            log.error("Error creating access token hash: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create access token hash", e);
+        return ATH_SCRATCH.apply(scratch ->
+                new String(scratch.encodedHash(accessToken), 0, ATH_LENGTH, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Compares the ath claim with the hash of the access token in constant time,
+     * using pooled buffers instead of building the expected value as a string
+     */
+    private static boolean accessTokenHashMatches(String accessToken, String ath) {
+        if (ath == null || ath.length() != ATH_LENGTH) {
+            return false;
         }
+        return ATH_SCRATCH.apply(scratch -> {
+            byte[] expected = scratch.encodedHash(accessToken);
+            int diff = 0;
+            for (int i = 0; i < ATH_LENGTH; i++) {
+                diff |= expected[i] ^ ath.charAt(i);
+            }
+            return diff == 0;
+        });
     }
 
     /**
@@ -185,10 +333,60 @@ public class DpopTokenService {
     }
 
     /**
-     * Gets signing key for JWT
+     * Builds the key ring for signing and verifying DPoP proofs once, before the service is used
+     */
+    @PostConstruct
+    void initKeyRing() {
+        keyRing = JwtKeyRing.of(secret, previousSecrets);
+    }
+
+    /**
+     * Pooled digest and buffers for hashing access tokens
+     * Bearer tokens are ASCII (RFC 6750), so characters are copied into a reusable byte buffer
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class AthScratch {
+
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[SHA256_BYTES];
+        private final byte[] encoded = new byte[ATH_LENGTH];
+        private byte[] input = new byte[1024];
+
+        AthScratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        /**
+         * Returns the base64url-encoded SHA-256 of the token; the buffer is reused by the next call
+         */
+        byte[] encodedHash(String accessToken) {
+            int length = accessToken.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = accessToken.charAt(i);
+                if (c > 0x7F) {
+                    digest.update(accessToken.getBytes(StandardCharsets.UTF_8));
+                    return finish();
+                }
+                input[i] = (byte) c;
+            }
+            digest.update(input, 0, length);
+            return finish();
+        }
+
+        private byte[] finish() {
+            try {
+                digest.digest(hash, 0, SHA256_BYTES);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Failed to create access token hash", e);
+            }
+            ATH_ENCODER.encode(hash, encoded);
+            return encoded;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.taskboard.api.service;
+
+/**
+ * Outcome of DPoP proof verification.
+ */
+public enum DpopValidationResult {
+    VALID,
+    INVALID,
+    REPLAYED,
+    USE_NONCE,
+    /** The proof could not be recorded for single use; the client may retry shortly. */
+    UNAVAILABLE
+}
@@ -0,0 +1,184 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.repository.OneTimeTokenRepository;
+import com.taskboard.api.repository.WebAuthnChallengeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Deletes expired one-time tokens and WebAuthn challenges in the background.
+ *
+ * Rows are removed in chunks, oldest expiry first: each chunk looks up a bounded page of primary keys
+ * through the {@code expires_at} index and deletes exactly those rows in its own short transaction, so no
+ * statement holds locks or undo for more than one chunk. The chunk size adapts to how long the last
+ * chunk took against the target latency, and the sweeper pauses between chunks for at least as long as
+ * the chunk ran, leaving the database at least half of the time. A scheduled run stops after its time
+ * budget and picks up where it left off on the next run; manual sweeps from the admin cleanup endpoints
+ * run on the request thread and get a shorter budget of their own. The scheduler pool is sized in
+ * {@code spring.task.scheduling.pool.size} so that a long run does not hold up other scheduled jobs.
+ */
+@Component
+@Slf4j
+public class ExpirySweeper {
+
+    private final TransactionTemplate chunkTransaction;
+    private final Table oneTimeTokens;
+    private final Table webAuthnChallenges;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetChunkNanos;
+    private final long minPauseMillis;
+    private final long runBudgetNanos;
+    private final long manualBudgetNanos;
+
+    public ExpirySweeper(OneTimeTokenRepository tokenRepository,
+                         WebAuthnChallengeRepository challengeRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.expiry-sweeper.min-batch-size:100}") int minBatchSize,
+                         @Value("${app.expiry-sweeper.max-batch-size:5000}") int maxBatchSize,
+                         @Value("${app.expiry-sweeper.target-chunk-ms:200}") long targetChunkMillis,
+                         @Value("${app.expiry-sweeper.min-pause-ms:50}") long minPauseMillis,
+                         @Value("${app.expiry-sweeper.run-budget-ms:10000}") long runBudgetMillis,
+                         @Value("${app.expiry-sweeper.manual-budget-ms:2000}") long manualBudgetMillis,
+                         MeterRegistry meterRegistry) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.minBatchSize = Math.max(minBatchSize, 1);
+        this.maxBatchSize = Math.max(maxBatchSize, this.minBatchSize);
+        this.targetChunkNanos = TimeUnit.MILLISECONDS.toNanos(targetChunkMillis);
+        this.minPauseMillis = minPauseMillis;
+        this.runBudgetNanos = TimeUnit.MILLISECONDS.toNanos(runBudgetMillis);
+        this.manualBudgetNanos = TimeUnit.MILLISECONDS.toNanos(manualBudgetMillis);
+
+        this.oneTimeTokens = new Table("one_time_tokens", tokenRepository::findExpiredIds,
+                tokenRepository::deleteAllByIdInBatch, this.minBatchSize, meterRegistry);
+        this.webAuthnChallenges = new Table("webauthn_challenges", challengeRepository::findExpiredIds,
+                challengeRepository::deleteAllByIdInBatch, this.minBatchSize, meterRegistry);
+    }
+
+    /**
+     * Scheduled sweep of both tables within the run budget.
+     */
+    @Scheduled(fixedDelayString = "${app.expiry-sweeper.interval-ms:60000}",
+               initialDelayString = "${app.expiry-sweeper.initial-delay-ms:30000}")
+    public void sweep() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int tokens = sweep(oneTimeTokens, now, start, runBudgetNanos);
+        int challenges = sweep(webAuthnChallenges, now, start, runBudgetNanos);
+        if (tokens + challenges > 0) {
+            log.info("Expiry sweep deleted {} one-time tokens and {} WebAuthn challenges", tokens, challenges);
+        }
+    }
+
+    /**
+     * Deletes one-time tokens that expired before {@code now}, chunk by chunk, within the manual budget.
+     * Rows left over when the budget runs out are removed by the next scheduled run.
+     *
+     * @return number of deleted tokens
+     */
+    public int sweepOneTimeTokens(LocalDateTime now) {
+        return sweep(oneTimeTokens, now, System.nanoTime(), manualBudgetNanos);
+    }
+
+    /**
+     * Deletes WebAuthn challenges that expired before {@code now}, chunk by chunk, within the manual budget.
+     * Rows left over when the budget runs out are removed by the next scheduled run.
+     *
+     * @return number of deleted challenges
+     */
+    public int sweepWebAuthnChallenges(LocalDateTime now) {
+        return sweep(webAuthnChallenges, now, System.nanoTime(), manualBudgetNanos);
+    }
+
+    private int sweep(Table table, LocalDateTime now, long startNanos, long budgetNanos) {
+        int total = 0;
+        while (true) {
+            int batchSize = table.batchSize;
+            long start = System.nanoTime();
+            Integer deleted = chunkTransaction.execute(status -> {
+                List<UUID> ids = table.expiredIds.apply(now, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    table.delete.accept(ids);
+                }
+                return ids.size();
+            });
+            long elapsed = System.nanoTime() - start;
+
+            table.chunkTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            table.purgedCounter.increment(deleted);
+            total += deleted;
+            adapt(table, elapsed);
+
+            if (deleted < batchSize || System.nanoTime() - startNanos >= budgetNanos || !pause(elapsed)) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Halves the chunk size when a chunk ran over the target latency and doubles it when it took less
+     * than a quarter of it.
+     */
+    private void adapt(Table table, long elapsedNanos) {
+        if (elapsedNanos > targetChunkNanos) {
+            table.batchSize = Math.max(minBatchSize, table.batchSize / 2);
+        } else if (elapsedNanos < targetChunkNanos / 4) {
+            table.batchSize = Math.min(maxBatchSize, table.batchSize * 2);
+        }
+    }
+
+    private boolean pause(long elapsedNanos) {
+        try {
+            Thread.sleep(Math.max(minPauseMillis, TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Sweep state of one table. The chunk size is only touched by the sweeping thread; concurrent
+     * manual and scheduled sweeps may race on it, which at worst costs one chunk of the wrong size.
+     */
+    private static final class Table {
+
+        private final BiFunction<LocalDateTime, PageRequest, List<UUID>> expiredIds;
+        private final Consumer<List<UUID>> delete;
+        private final Counter purgedCounter;
+        private final Timer chunkTimer;
+        private volatile int batchSize;
+
+        Table(String name, BiFunction<LocalDateTime, PageRequest, List<UUID>> expiredIds,
+              Consumer<List<UUID>> delete, int initialBatchSize, MeterRegistry meterRegistry) {
+            this.expiredIds = expiredIds;
+            this.delete = delete;
+            this.batchSize = initialBatchSize;
+            this.purgedCounter = Counter.builder("expiry.sweeper.rows")
+                    .description("Expired rows deleted by the background sweeper")
+                    .tag("table", name)
+                    .register(meterRegistry);
+            this.chunkTimer = Timer.builder("expiry.sweeper.chunk.time")
+                    .description("Time to find and delete one chunk of expired rows")
+                    .tag("table", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.exception.DpopReplayStoreFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process replay store for DPoP proof identifiers.
+ *
+ * Identifiers are spread over lock stripes; inside a stripe they are grouped into expiry buckets of
+ * {@value #BUCKET_SECONDS} seconds, so expired entries are dropped a whole bucket at a time instead of
+ * being scanned individually. Live identifiers are never evicted: when a stripe is still full after
+ * dropping expired buckets, the proof is refused with {@link DpopReplayStoreFullException} so that a flood
+ * cannot push out the identifiers a replay would reuse. Size {@code max-entries} to at least the peak
+ * proof rate times {@code security.dpop.proof-max-age-seconds}, with headroom for uneven stripes.
+ */
+@Component
+@ConditionalOnProperty(name = "security.dpop.replay-store.type", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryDpopReplayStore implements DpopReplayStore {
+
+    static final long BUCKET_SECONDS = 10;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxEntriesPerStripe;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public InMemoryDpopReplayStore(@Value("${security.dpop.replay-store.max-entries:100000}") int maxEntries,
+                                   @Value("${security.dpop.replay-store.stripes:16}") int stripeCount,
+                                   MeterRegistry meterRegistry) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / size);
+
+        Gauge.builder("dpop.replay.store.size", this, InMemoryDpopReplayStore::size)
+            .description("Number of DPoP proof identifiers currently tracked")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("dpop.replay.store.rejected")
+            .description("DPoP proofs refused because the replay store was full of live identifiers")
+            .register(meterRegistry);
+
+        log.info("In-memory DPoP replay store initialized: {} stripes, {} entries per stripe", size, maxEntriesPerStripe);
+    }
+
+    @Override
+    public boolean markIfFirstUse(String jti, long expiresAtEpochSecond) {
+        long now = Instant.now().getEpochSecond();
+        Stripe stripe = stripes[spread(jti.hashCode()) & stripeMask];
+
+        stripe.lock.lock();
+        try {
+            stripe.purgeExpired(now / BUCKET_SECONDS);
+            if (stripe.expiries.containsKey(jti)) {
+                return false;
+            }
+            if (expiresAtEpochSecond <= now) {
+                return true;
+            }
+            if (stripe.expiries.size() >= maxEntriesPerStripe) {
+                rejectedCounter.increment();
+                throw new DpopReplayStoreFullException("DPoP replay store is full");
+            }
+            stripe.add(jti, expiresAtEpochSecond);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.expiries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Long> expiries = new HashMap<>();
+        private final TreeMap<Long, List<String>> buckets = new TreeMap<>();
+
+        void add(String jti, long expiresAtEpochSecond) {
+            expiries.put(jti, expiresAtEpochSecond);
+            buckets.computeIfAbsent(expiresAtEpochSecond / BUCKET_SECONDS, bucket -> new ArrayList<>()).add(jti);
+        }
+
+        /**
+         * Drops buckets that ended before the current one: every entry in them has already expired.
+         */
+        void purgeExpired(long currentBucket) {
+            while (!buckets.isEmpty() && buckets.firstKey() < currentBucket) {
+                buckets.pollFirstEntry().getValue().forEach(expiries::remove);
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.OneTimeToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-process token store for single-instance deployments and tests.
+ *
+ * Tokens are spread over lock stripes by their digest, so redeeming a token takes one stripe lock and
+ * the check-and-mark is atomic. Inside a stripe tokens are grouped into expiry buckets of
+ * {@value #BUCKET_SECONDS} seconds and dropped a whole bucket at a time; used tokens stay until they
+ * expire, so a second redemption is still recognised as such. Per-user queries visit every stripe
+ * through a per-stripe user index. Bulk issuance holds every stripe lock, taken in index order, across
+ * its limit check and insert. Tokens do not survive a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "one-time-token.store.type", havingValue = "memory")
+@Slf4j
+public class InMemoryOneTimeTokenStore implements OneTimeTokenStore {
+
+    static final long BUCKET_SECONDS = 10;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxEntriesPerStripe;
+
+    @Autowired
+    public InMemoryOneTimeTokenStore(@Value("${one-time-token.store.max-entries:100000}") int maxEntries,
+                                     @Value("${one-time-token.store.stripes:16}") int stripeCount,
+                                     MeterRegistry meterRegistry) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / size);
+
+        Gauge.builder("one-time-token.store.size", this, InMemoryOneTimeTokenStore::size)
+            .description("Number of one-time tokens held in memory, including used ones until they expire")
+            .register(meterRegistry);
+
+        log.info("In-memory one-time token store initialized: {} stripes, {} entries per stripe", size, maxEntriesPerStripe);
+    }
+
+    @Override
+    public OneTimeToken save(OneTimeToken token) {
+        OneTimeToken stored = copyOf(token);
+        if (stored.getId() == null) {
+            stored.setId(UUID.randomUUID());
+        }
+        if (stored.getCreatedAt() == null) {
+            stored.setCreatedAt(LocalDateTime.now());
+        }
+
+        Stripe stripe = stripeFor(stored.getTokenHash());
+        stripe.lock.lock();
+        try {
+            stripe.purgeExpired(LocalDateTime.now());
+            if (stripe.byHash.containsKey(stored.getTokenHash())) {
+                throw new IllegalStateException("One-time token digest already exists");
+            }
+            if (stripe.byHash.size() >= maxEntriesPerStripe) {
+                throw new IllegalStateException("One-time token store is full");
+            }
+            stripe.add(stored);
+        } finally {
+            stripe.lock.unlock();
+        }
+        return copyOf(stored);
+    }
+
+    @Override
+    public List<OneTimeToken> saveAllWithinLimit(List<OneTimeToken> tokens, int maxActivePerUser, LocalDateTime now) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            Map<String, Long> activeCounts = new HashMap<>();
+            Map<Stripe, Integer> added = new HashMap<>();
+            Set<String> hashes = new HashSet<>();
+            List<OneTimeToken> accepted = new ArrayList<>(tokens.size());
+            for (OneTimeToken token : tokens) {
+                long active = activeCounts.computeIfAbsent(token.getUserId(),
+                        userId -> countActiveByUser(userId, token.getPurpose(), now));
+                if (active >= maxActivePerUser) {
+                    continue;
+                }
+                // Everything is checked before the first token is added, so a failure leaves the store unchanged
+                Stripe stripe = stripeFor(token.getTokenHash());
+                stripe.purgeExpired(LocalDateTime.now());
+                if (!hashes.add(token.getTokenHash()) || stripe.byHash.containsKey(token.getTokenHash())) {
+                    throw new IllegalStateException("One-time token digest already exists");
+                }
+                if (stripe.byHash.size() + added.merge(stripe, 1, Integer::sum) > maxEntriesPerStripe) {
+                    throw new IllegalStateException("One-time token store is full");
+                }
+                activeCounts.put(token.getUserId(), active + 1);
+                accepted.add(token);
+            }
+
+            LocalDateTime createdAt = LocalDateTime.now();
+            for (OneTimeToken token : accepted) {
+                token.setId(UUID.randomUUID());
+                token.setCreatedAt(createdAt);
+                stripeFor(token.getTokenHash()).add(copyOf(token));
+            }
+            return accepted;
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Optional<OneTimeToken> findActive(String tokenHash, LocalDateTime now) {
+        Stripe stripe = stripeFor(tokenHash);
+        stripe.lock.lock();
+        try {
+            OneTimeToken token = stripe.byHash.get(tokenHash);
+            return isActive(token, now) ? Optional.of(copyOf(token)) : Optional.empty();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<OneTimeToken> consume(String tokenHash, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        Stripe stripe = stripeFor(tokenHash);
+        stripe.lock.lock();
+        try {
+            OneTimeToken token = stripe.byHash.get(tokenHash);
+            if (!isActive(token, now) || token.getPurpose() != purpose) {
+                return Optional.empty();
+            }
+            token.setIsUsed(true);
+            token.setUsedAt(now);
+            return Optional.of(copyOf(token));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<OneTimeToken> findActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        List<OneTimeToken> result = new ArrayList<>();
+        forEachActive(userId, purpose, now, token -> result.add(copyOf(token)));
+        return result;
+    }
+
+    @Override
+    public long countActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        long[] count = {0};
+        forEachActive(userId, purpose, now, token -> count[0]++);
+        return count[0];
+    }
+
+    @Override
+    public int revokeActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        int[] revoked = {0};
+        forEachActive(userId, purpose, now, token -> {
+            token.setIsUsed(true);
+            token.setUsedAt(now);
+            revoked[0]++;
+        });
+        return revoked[0];
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int deleted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                deleted += stripe.purgeExpired(now);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteUsedBefore(LocalDateTime cutoff) {
+        return removeMatching(token -> token.getIsUsed() && token.getUsedAt() != null && token.getUsedAt().isBefore(cutoff));
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.byHash.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private void forEachActive(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now,
+                               Consumer<OneTimeToken> action) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Set<String> hashes = stripe.byUser.get(userId);
+                if (hashes == null) {
+                    continue;
+                }
+                for (String hash : hashes) {
+                    OneTimeToken token = stripe.byHash.get(hash);
+                    if (isActive(token, now) && (purpose == null || token.getPurpose() == purpose)) {
+                        action.accept(token);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private int removeMatching(Predicate<OneTimeToken> condition) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                List<String> matching = stripe.byHash.values().stream()
+                        .filter(condition)
+                        .map(OneTimeToken::getTokenHash)
+                        .toList();
+                matching.forEach(stripe::remove);
+                removed += matching.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    private Stripe stripeFor(String tokenHash) {
+        int hash = tokenHash.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    private static boolean isActive(OneTimeToken token, LocalDateTime now) {
+        return token != null && !token.getIsUsed() && token.getExpiresAt().isAfter(now);
+    }
+
+    private static long bucketOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / BUCKET_SECONDS;
+    }
+
+    private static OneTimeToken copyOf(OneTimeToken token) {
+        return OneTimeToken.builder()
+                .id(token.getId())
+                .tokenHash(token.getTokenHash())
+                .userId(token.getUserId())
+                .purpose(token.getPurpose())
+                .isUsed(token.getIsUsed())
+                .expiresAt(token.getExpiresAt())
+                .usedAt(token.getUsedAt())
+                .metadata(token.getMetadata())
+                .createdAt(token.getCreatedAt())
+                .build();
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, OneTimeToken> byHash = new HashMap<>();
+        private final Map<String, Set<String>> byUser = new HashMap<>();
+        private final TreeMap<Long, List<String>> buckets = new TreeMap<>();
+
+        void add(OneTimeToken token) {
+            byHash.put(token.getTokenHash(), token);
+            byUser.computeIfAbsent(token.getUserId(), user -> new HashSet<>()).add(token.getTokenHash());
+            buckets.computeIfAbsent(bucketOf(token.getExpiresAt()), bucket -> new ArrayList<>()).add(token.getTokenHash());
+        }
+
+        boolean remove(String tokenHash) {
+            OneTimeToken token = byHash.remove(tokenHash);
+            if (token == null) {
+                return false;
+            }
+            Set<String> userHashes = byUser.get(token.getUserId());
+            if (userHashes != null && userHashes.remove(tokenHash) && userHashes.isEmpty()) {
+                byUser.remove(token.getUserId());
+            }
+            return true;
+        }
+
+        /**
+         * Drops buckets that ended before the current one: every token in them has already expired.
+         * Tokens removed earlier may still be listed in a bucket and are skipped.
+         */
+        int purgeExpired(LocalDateTime now) {
+            long currentBucket = bucketOf(now);
+            int removed = 0;
+            while (!buckets.isEmpty() && buckets.firstKey() < currentBucket) {
+                for (String tokenHash : buckets.pollFirstEntry().getValue()) {
+                    if (remove(tokenHash)) {
+                        removed++;
+                    }
+                }
+            }
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.taskboard.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskboard.api.exception.AvatarRenderingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Deterministic avatars showing a user's initials on a colour from {@code app.user.avatar-background-colors}.
+ *
+ * An avatar is fully described by its initials, colour and size, so its URL is content-addressed and
+ * can be assigned at registration without rendering anything; the image is produced on first request.
+ * SVG is a string template. PNG is drawn with AWT in headless mode, with at most a few renders running
+ * at once; a request that cannot get a render slot within {@code png-render-max-wait-ms} is rejected
+ * rather than queued, and nothing is cached for it. Rendered avatars are kept in a bounded LRU cache
+ * together with their ETag.
+ * Hit, miss and eviction meters are published under the {@code avatars.initials} cache name.
+ *
+ * The endpoint is public, so every part of the cache key is restricted to a small set of values:
+ * colours come from the palette, sizes from {@link #SIZES}, and initials are NFKC-normalised and
+ * upper-cased before keying, so that spellings of the same initials share one entry.
+ */
+@Service
+@Slf4j
+public class InitialsAvatarService {
+
+    public static final String PATH = "/api/avatars/initials/";
+    public static final List<Integer> SIZES = List.of(32, 64, 128, 256);
+
+    private final List<String> colors;
+    private final int defaultSize;
+    private final Semaphore pngRenderPermits;
+    private final long pngRenderMaxWaitMillis;
+    private final Cache<AvatarKey, RenderedAvatar> cache;
+
+    public InitialsAvatarService(@Value("${app.user.avatar-background-colors:#3B82F6}") String[] colors,
+                                 @Value("${app.user.avatar-size:128}") int defaultSize,
+                                 @Value("${app.user.avatar-initials.cache-max-size:10000}") long cacheMaxSize,
+                                 @Value("${app.user.avatar-initials.png-render-concurrency:2}") int pngRenderConcurrency,
+                                 @Value("${app.user.avatar-initials.png-render-max-wait-ms:200}") long pngRenderMaxWaitMillis,
+                                 MeterRegistry meterRegistry) {
+        this.colors = Arrays.stream(colors)
+                .map(color -> color.trim().replace("#", "").toUpperCase(Locale.ROOT))
+                .filter(color -> color.matches("[0-9A-F]{6}"))
+                .toList();
+        if (this.colors.isEmpty()) {
+            throw new IllegalArgumentException("app.user.avatar-background-colors has no valid #RRGGBB colour");
+        }
+        this.defaultSize = nearestSize(defaultSize);
+        this.pngRenderPermits = new Semaphore(Math.max(pngRenderConcurrency, 1));
+        this.pngRenderMaxWaitMillis = Math.max(pngRenderMaxWaitMillis, 0);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "avatars.initials");
+        log.info("Initials avatars initialized: {} colours, default size {}, cache max size {}",
+                this.colors.size(), this.defaultSize, cacheMaxSize);
+    }
+
+    /**
+     * URL of the initials avatar for a display name; the colour is derived from {@code seed}
+     * (e.g. the username), so the same user always gets the same avatar. Renders nothing.
+     */
+    public String avatarUrl(String displayName, String seed) {
+        String initials = initialsOf(displayName);
+        return PATH + UriUtils.encodePathSegment(initials, StandardCharsets.UTF_8)
+                + "?color=" + colorFor(seed) + "&size=" + defaultSize;
+    }
+
+    /**
+     * Renders (or returns the cached) avatar. Missing colour, size and format default to the first
+     * configured colour, {@code app.user.avatar-size} and SVG.
+     *
+     * @throws IllegalArgumentException for initials, colour, size or format outside the allowed values
+     * @throws AvatarRenderingOverloadedException if a PNG has to be rendered and all render slots stay busy
+     */
+    public RenderedAvatar render(String initials, String color, Integer size, String format) {
+        AvatarKey key = new AvatarKey(validInitials(initials), validColor(color),
+                validSize(size == null ? defaultSize : size), Format.of(format));
+        return cache.get(key, this::renderUncached);
+    }
+
+    /**
+     * Up to two uppercase initials: first letters of the first two words, or the first two letters
+     * of a single word. Falls back to "?" when the name has no letters or digits.
+     */
+    static String initialsOf(String displayName) {
+        if (displayName == null) {
+            return "?";
+        }
+        int[] initials = Arrays.stream(displayName.trim().split("[\\s._-]+"))
+                .filter(word -> !word.isEmpty())
+                .mapToInt(word -> word.codePointAt(0))
+                .filter(Character::isLetterOrDigit)
+                .limit(2)
+                .toArray();
+        if (initials.length < 2) {
+            initials = displayName.codePoints().filter(Character::isLetterOrDigit).limit(2).toArray();
+        }
+        return initials.length == 0 ? "?" : upperCase(initials);
+    }
+
+    String colorFor(String seed) {
+        CRC32 crc = new CRC32();
+        crc.update((seed == null ? "" : seed).getBytes(StandardCharsets.UTF_8));
+        return colors.get((int) (crc.getValue() % colors.size()));
+    }
+
+    private String validInitials(String initials) {
+        if (initials == null || initials.isEmpty() || "?".equals(initials)) {
+            return "?";
+        }
+        // Full-width, ligature and composed forms collapse to one key ("ＪＤ" -> "JD")
+        initials = Normalizer.normalize(initials, Normalizer.Form.NFKC);
+        if (initials.codePointCount(0, initials.length()) > 2
+                || !initials.codePoints().allMatch(Character::isLetterOrDigit)) {
+            throw new IllegalArgumentException("Initials must be one or two letters or digits");
+        }
+        return upperCase(initials.codePoints().toArray());
+    }
+
+    /**
+     * Per code point, so that the result keeps the same number of characters (unlike "ß" -> "SS").
+     */
+    private static String upperCase(int[] codePoints) {
+        int[] upper = Arrays.stream(codePoints).map(Character::toUpperCase).toArray();
+        return new String(upper, 0, upper.length);
+    }
+
+    private String validColor(String color) {
+        String normalized = color == null ? colors.get(0) : color.replace("#", "").toUpperCase(Locale.ROOT);
+        if (!colors.contains(normalized)) {
+            throw new IllegalArgumentException("Colour is not in app.user.avatar-background-colors");
+        }
+        return normalized;
+    }
+
+    private int validSize(int size) {
+        if (!SIZES.contains(size)) {
+            throw new IllegalArgumentException("Size must be one of " + SIZES);
+        }
+        return size;
+    }
+
+    private static int nearestSize(int size) {
+        int nearest = SIZES.get(0);
+        for (int allowed : SIZES) {
+            if (Math.abs(allowed - size) < Math.abs(nearest - size)) {
+                nearest = allowed;
+            }
+        }
+        return nearest;
+    }
+
+    private RenderedAvatar renderUncached(AvatarKey key) {
+        byte[] body = key.format() == Format.SVG ? renderSvg(key) : renderPngBounded(key);
+        return new RenderedAvatar(body, key.format().contentType, etag(body));
+    }
+
+    private static byte[] renderSvg(AvatarKey key) {
+        int size = key.size();
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + size + "\" height=\"" + size
+                + "\" viewBox=\"0 0 100 100\"><circle cx=\"50\" cy=\"50\" r=\"50\" fill=\"#" + key.color()
+                + "\"/><text x=\"50\" y=\"50\" dy=\".35em\" text-anchor=\"middle\" fill=\"#FFFFFF\""
+                + " font-family=\"Helvetica, Arial, sans-serif\" font-size=\"42\" font-weight=\"600\">"
+                + escapeXml(key.initials()) + "</text></svg>";
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] renderPngBounded(AvatarKey key) {
+        try {
+            if (!pngRenderPermits.tryAcquire(pngRenderMaxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new AvatarRenderingOverloadedException(
+                        "No PNG render slot within " + pngRenderMaxWaitMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to render avatar", e);
+        }
+        try {
+            return renderPng(key);
+        } finally {
+            pngRenderPermits.release();
+        }
+    }
+
+    private static byte[] renderPng(AvatarKey key) {
+        int size = key.size();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setColor(new Color(Integer.parseInt(key.color(), 16)));
+            graphics.fillOval(0, 0, size, size);
+
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.round(size * 0.42f)));
+            FontMetrics metrics = graphics.getFontMetrics();
+            int x = (size - metrics.stringWidth(key.initials())) / 2;
+            int y = (size - metrics.getHeight()) / 2 + metrics.getAscent();
+            graphics.drawString(key.initials(), x, y);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode avatar", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String escapeXml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private record AvatarKey(String initials, String color, int size, Format format) {
+    }
+
+    /**
+     * Rendered avatar bytes with their content type and strong ETag.
+     */
+    public record RenderedAvatar(byte[] body, String contentType, String etag) {
+    }
+
+    private enum Format {
+        SVG("image/svg+xml"),
+        PNG("image/png");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        static Format of(String format) {
+            if (format == null || format.equalsIgnoreCase("svg")) {
+                return SVG;
+            }
+            if (format.equalsIgnoreCase("png")) {
+                return PNG;
+            }
+            throw new IllegalArgumentException("Format must be svg or png");
+        }
+    }
+}
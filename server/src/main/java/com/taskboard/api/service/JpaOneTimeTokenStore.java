@@ -0,0 +1,141 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.OneTimeToken;
+import com.taskboard.api.repository.OneTimeTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Durable token store on the {@code one_time_tokens} table, shared by all instances.
+ * Consumption is a single conditional UPDATE, so the database decides which of concurrent
+ * redemptions wins; the row is read back only for the one that did. Bulk issuance bypasses the
+ * persistence context: one grouped count and one JDBC batch insert run in a single serializable
+ * transaction, so the database aborts one of two overlapping issuances instead of letting both pass
+ * the limit check.
+ */
+@Component
+@ConditionalOnProperty(name = "one-time-token.store.type", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional
+public class JpaOneTimeTokenStore implements OneTimeTokenStore {
+
+    static final String INSERT_SQL = "INSERT INTO one_time_tokens "
+            + "(id, token_hash, user_id, purpose, is_used, expires_at, metadata, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final OneTimeTokenRepository tokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExpirySweeper expirySweeper;
+
+    @Override
+    public OneTimeToken save(OneTimeToken token) {
+        return tokenRepository.save(token);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public List<OneTimeToken> saveAllWithinLimit(List<OneTimeToken> tokens, int maxActivePerUser, LocalDateTime now) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Set<String> userIds = new HashSet<>();
+        tokens.forEach(token -> userIds.add(token.getUserId()));
+        Map<String, Long> activeCounts = new HashMap<>();
+        for (Object[] row : tokenRepository.countActiveByUserIdsAndPurpose(userIds, tokens.get(0).getPurpose(), now)) {
+            activeCounts.put((String) row[0], (Long) row[1]);
+        }
+
+        List<OneTimeToken> accepted = new ArrayList<>(tokens.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (OneTimeToken token : tokens) {
+            if (activeCounts.merge(token.getUserId(), 1L, Long::sum) > maxActivePerUser) {
+                continue;
+            }
+            token.setId(UUID.randomUUID());
+            token.setCreatedAt(createdAt);
+            accepted.add(token);
+        }
+        if (!accepted.isEmpty()) {
+            insertAll(accepted);
+        }
+        return accepted;
+    }
+
+    private void insertAll(List<OneTimeToken> tokens) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, tokens, tokens.size(), (ps, token) -> {
+            ps.setObject(1, token.getId());
+            ps.setString(2, token.getTokenHash());
+            ps.setString(3, token.getUserId());
+            ps.setString(4, token.getPurpose().name());
+            ps.setBoolean(5, token.getIsUsed());
+            ps.setTimestamp(6, Timestamp.valueOf(token.getExpiresAt()));
+            ps.setString(7, token.getMetadata());
+            ps.setTimestamp(8, Timestamp.valueOf(token.getCreatedAt()));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OneTimeToken> findActive(String tokenHash, LocalDateTime now) {
+        return tokenRepository.findActiveByTokenHash(tokenHash, now);
+    }
+
+    @Override
+    public Optional<OneTimeToken> consume(String tokenHash, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        if (tokenRepository.consume(tokenHash, purpose, now) == 0) {
+            return Optional.empty();
+        }
+        return tokenRepository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OneTimeToken> findActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        return purpose == null
+                ? tokenRepository.findActiveByUserId(userId, now)
+                : tokenRepository.findActiveByUserIdAndPurpose(userId, purpose, now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        return tokenRepository.countActiveByUserIdAndPurpose(userId, purpose, now);
+    }
+
+    @Override
+    public int revokeActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now) {
+        return purpose == null
+                ? tokenRepository.revokeActiveByUserId(userId, now)
+                : tokenRepository.revokeActiveByUserIdAndPurpose(userId, purpose, now);
+    }
+
+    /**
+     * Deletes in bounded chunks, each in its own transaction, rather than in one statement.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int deleteExpired(LocalDateTime now) {
+        return expirySweeper.sweepOneTimeTokens(now);
+    }
+
+    @Override
+    public int deleteUsedBefore(LocalDateTime cutoff) {
+        return tokenRepository.deleteUsedTokensOlderThan(cutoff);
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskboard.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified JWT claims.
+ *
+ * Entries are keyed by the SHA-256 digest of the compact token, so raw bearer tokens are never
+ * retained on the heap. Each entry lives until the token's own {@code exp}, which means a token is
+ * parsed and signature-checked once per lifetime and an expired token can never be served from cache.
+ * Hit, miss and eviction meters are published under the {@code jwt.claims} cache name.
+ */
+@Component
+@Slf4j
+public class JwtClaimsCache {
+
+    private static final ScratchPool<MessageDigest> SHA256 = new ScratchPool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Cache<String, Claims> cache;
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-size:10000}") long maxSize,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.claims");
+        log.info("JWT claims cache initialized with max size: {}", maxSize);
+    }
+
+    /**
+     * Returns cached claims for the token, or verifies it with the given parser and caches the result.
+     * Parser exceptions propagate unchanged and nothing is cached for invalid tokens.
+     */
+    public Claims get(String token, Function<String, Claims> parser) {
+        return cache.get(digest(token), key -> parser.apply(token));
+    }
+
+    /**
+     * Drops a token from the cache, e.g. after an explicit logout.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        byte[] input = token.getBytes(StandardCharsets.US_ASCII);
+        byte[] hash = SHA256.apply(digest -> digest.digest(input));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expires each entry exactly when the underlying token expires.
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0L;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
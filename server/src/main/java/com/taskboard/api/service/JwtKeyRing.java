@@ -0,0 +1,130 @@
+package com.taskboard.api.service;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC keys used to sign and verify JWTs.
+ *
+ * The active key signs new tokens and is advertised in the {@code kid} header. Previous keys are kept for
+ * verification only, so a secret can be rotated without invalidating tokens that are still in flight:
+ * deploy the new secret as {@code jwt.secret} and move the old one to {@code jwt.previous-secrets}
+ * until the longest-lived token signed with it has expired.
+ *
+ * Key material and the parser are built once; the parser is thread-safe and shared by all requests.
+ */
+public final class JwtKeyRing {
+
+    private static final int KEY_ID_BYTES = 8;
+
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+
+    private JwtKeyRing(String activeKeyId, SecretKey activeKey, Map<String, SecretKey> verificationKeys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = activeKey;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyIdLocator())
+                .build();
+    }
+
+    /**
+     * Builds a key ring from the active secret and optional verification-only secrets.
+     */
+    public static JwtKeyRing of(String activeSecret, Collection<String> previousSecrets) {
+        SecretKey activeKey = keyFor(activeSecret);
+        String activeKeyId = keyIdFor(activeSecret);
+
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        keys.put(activeKeyId, activeKey);
+        if (previousSecrets != null) {
+            for (String secret : previousSecrets) {
+                if (secret != null && !secret.isBlank()) {
+                    keys.putIfAbsent(keyIdFor(secret.trim()), keyFor(secret.trim()));
+                }
+            }
+        }
+        return new JwtKeyRing(activeKeyId, activeKey, keys);
+    }
+
+    public static JwtKeyRing of(String activeSecret, String... previousSecrets) {
+        return of(activeSecret, Arrays.asList(previousSecrets));
+    }
+
+    /**
+     * Returns a builder pre-configured with the active key and its {@code kid}.
+     */
+    public JwtBuilder builder() {
+        return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .signWith(activeKey);
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public int size() {
+        return verificationKeys.size();
+    }
+
+    private static SecretKey keyFor(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Key id is a short digest of the secret, so it changes automatically when the secret is rotated
+     * and never reveals the secret itself.
+     */
+    private static String keyIdFor(String secret) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, KEY_ID_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Resolves the verification key from the {@code kid} header. Tokens issued before key ids were introduced
+     * carry no {@code kid} and are verified with the active key.
+     */
+    private final class KeyIdLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(ProtectedHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                return activeKey;
+            }
+            SecretKey key = verificationKeys.get(keyId);
+            if (key == null) {
+                throw new UnsupportedKeyException("Unknown signing key id: " + keyId);
+            }
+            return key;
+        }
+    }
+}
@@ -1,32 +1,58 @@
 package com.taskboard.api.service;
 
+import com.taskboard.api.model.UserSnapshot;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String SECURITY_VERSION_CLAIM = "sv";
+
     @Value("${jwt.secret}")
     private String secret;
 
+    /**
+     * Retired secrets that are still accepted for verification during key rotation.
+     */
+    @Value("${jwt.previous-secrets:}")
+    private List<String> previousSecrets;
+
     @Value("${jwt.expiration}")
     private Long expiration;
 
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipalEnabled;
+
+    @Autowired
+    private JwtClaimsCache claimsCache;
+
+    private JwtKeyRing keyRing;
+
+    /**
+     * Derives the signing and verification keys and the parser once, before the service is used.
+     */
+    @PostConstruct
+    void initKeyRing() {
+        keyRing = JwtKeyRing.of(secret, previousSecrets);
     }
 
     public String extractUsername(String token) {
@@ -42,10 +68,20 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Returns the verified claims of the token, parsing and checking the signature at most once
+     * per token lifetime.
+     */
+    public Claims extractVerifiedClaims(String token) {
+        return claimsCache.get(token, this::parseClaims);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return extractVerifiedClaims(token);
+    }
+
+    private Claims parseClaims(String token) {
+        return keyRing.parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -56,6 +92,12 @@ public class JwtService {
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (statelessPrincipalEnabled && userDetails instanceof UserSnapshot user) {
+            claims.put(USER_ID_CLAIM, user.id());
+            claims.put(ROLE_CLAIM, user.role().name());
+            claims.put(AUTHORITIES_CLAIM, AuthorityUtils.authorityListToSet(user.getAuthorities()));
+            claims.put(SECURITY_VERSION_CLAIM, user.securityVersion());
+        }
         return createToken(claims, userDetails.getUsername(), expiration);
     }
 
@@ -65,12 +107,12 @@ public class JwtService {
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
-        return Jwts.builder()
+        long now = System.currentTimeMillis();
+        return keyRing.builder()
                 .claims(claims)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
                 .compact();
     }
 
@@ -79,6 +121,53 @@ public class JwtService {
         return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
     }
 
+    public boolean isStatelessPrincipalEnabled() {
+        return statelessPrincipalEnabled;
+    }
+
+    /**
+     * Checks whether the token was issued with embedded principal claims.
+     */
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(USER_ID_CLAIM) != null
+                && claims.get(SECURITY_VERSION_CLAIM) != null
+                && claims.get(AUTHORITIES_CLAIM) != null;
+    }
+
+    public Long extractUserId(Claims claims) {
+        return ((Number) claims.get(USER_ID_CLAIM)).longValue();
+    }
+
+    public long extractSecurityVersion(Claims claims) {
+        return ((Number) claims.get(SECURITY_VERSION_CLAIM)).longValue();
+    }
+
+    /**
+     * Builds a principal from verified claims without loading the user from the database.
+     */
+    public UserDetails buildPrincipal(Claims claims) {
+        List<?> authorityNames = claims.get(AUTHORITIES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(
+                authorityNames.stream().map(String::valueOf).toList());
+
+        return org.springframework.security.core.userdetails.User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
+
+    /**
+     * Validates already verified claims against the loaded user without touching the token again.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        String username = claims.getSubject();
+        Date tokenExpiration = claims.getExpiration();
+        return username != null
+                && username.equals(userDetails.getUsername())
+                && tokenExpiration != null
+                && tokenExpiration.after(new Date());
+    }
+
     public Boolean validateToken(String token, String username) {
         final String tokenUsername = extractUsername(token);
         return tokenUsername.equals(username) && !isTokenExpired(token);
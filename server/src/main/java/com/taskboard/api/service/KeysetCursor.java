@@ -0,0 +1,47 @@
+package com.taskboard.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by a timestamp column and the id as tie-breaker.
+ *
+ * The cursor is opaque to clients: it is the sort key, the timestamp and the id of the last row
+ * of a page, base64url-encoded. A cursor issued for one sort order is rejected for another.
+ */
+public record KeysetCursor(String sortKey, LocalDateTime timestamp, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned for the same sort order.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    public static KeysetCursor decode(String cursor, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String sortKey = raw.substring(0, first);
+            if (!sortKey.equals(expectedSortKey)) {
+                throw new IllegalArgumentException("Cursor does not match sort order");
+            }
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(first + 1, last));
+            Long id = Long.valueOf(raw.substring(last + 1));
+            return new KeysetCursor(sortKey, timestamp, id);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
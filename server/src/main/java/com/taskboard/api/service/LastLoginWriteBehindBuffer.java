@@ -0,0 +1,262 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for last-login timestamps.
+ *
+ * Logins only record the timestamp in memory; entries are coalesced per user, keeping the latest, and
+ * written in JDBC batches on a fixed delay or as soon as the buffer reaches the batch size. Both user
+ * models share the {@code users} table, so numeric and UUID ids can be recorded. Pending entries are
+ * flushed on shutdown; a failed batch is merged back and retried on the next flush, and an entry that
+ * has failed {@code max-attempts} times is dropped. Logins of users not yet pending are dropped while
+ * the buffer holds {@code max-pending} users, so a long database outage cannot exhaust the heap.
+ */
+@Component
+@Slf4j
+public class LastLoginWriteBehindBuffer {
+
+    static final String UPDATE_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Map<UserKey, Pending> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ExecutorService flushExecutor;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public LastLoginWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                      @Value("${app.last-login.batch-size:500}") int batchSize,
+                                      @Value("${app.last-login.max-pending:100000}") int maxPending,
+                                      @Value("${app.last-login.max-attempts:5}") int maxAttempts,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxPending = Math.max(maxPending, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+                .description("Users whose last-login timestamp is waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("auth.last_login.written")
+                .description("Last-login timestamps written to the database")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("auth.last_login.failed")
+                .description("Last-login timestamps whose batch write failed and was requeued")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("auth.last_login.dropped")
+                .description("Last-login timestamps dropped because the buffer was full or retries ran out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a login of a user with a numeric id; only the latest timestamp per user is kept until the next flush.
+     */
+    public void record(Long userId, LocalDateTime lastLogin) {
+        if (userId != null) {
+            record(new UserKey(userId, null), lastLogin);
+        }
+    }
+
+    /**
+     * Records a login of a user with a UUID id; only the latest timestamp per user is kept until the next flush.
+     */
+    public void record(String userId, LocalDateTime lastLogin) {
+        if (userId != null) {
+            record(new UserKey(null, userId), lastLogin);
+        }
+    }
+
+    private void record(UserKey key, LocalDateTime lastLogin) {
+        if (lastLogin == null) {
+            return;
+        }
+        // Soft bound: concurrent logins may overshoot by a few entries
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            droppedCounter.increment();
+            return;
+        }
+        pending.merge(key, new Pending(lastLogin, 0), Pending::merge);
+        if (pending.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes the timestamps pending at call time in batches of the configured size. Skipped if another
+     * flush is already running.
+     *
+     * @return number of timestamps written
+     */
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval-ms:5000}")
+    public int flush() {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            return writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushLock.lock();
+        try {
+            int written = writePending();
+            log.info("Flushed {} last-login timestamps on shutdown, {} left pending", written, pending.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writePending() {
+        // Bounded by the size at start so that a steady stream of logins cannot keep one flush running
+        int batches = (pending.size() + batchSize - 1) / batchSize;
+        int written = 0;
+        for (int i = 0; i < batches; i++) {
+            List<Map.Entry<UserKey, Pending>> batch = drain();
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(entry.getValue().lastLogin()));
+                    UserKey key = entry.getKey();
+                    if (key.numericId() != null) {
+                        ps.setLong(2, key.numericId());
+                    } else {
+                        ps.setString(2, key.uuid());
+                    }
+                });
+                written += batch.size();
+                writtenCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                failedCounter.increment(batch.size());
+                int dropped = requeue(batch);
+                log.warn("Failed to write {} last-login timestamps, {} dropped after {} attempts, rest will retry: {}",
+                        batch.size(), dropped, maxAttempts, e.getMessage());
+                break;
+            }
+        }
+        if (written > 0) {
+            log.debug("Flushed {} last-login timestamps", written);
+        }
+        return written;
+    }
+
+    /**
+     * Merges a failed batch back with one more failed attempt per entry; entries that have used up their
+     * attempts are dropped so that a row the database keeps rejecting is not retried forever.
+     *
+     * @return number of dropped entries
+     */
+    private int requeue(List<Map.Entry<UserKey, Pending>> batch) {
+        int dropped = 0;
+        for (Map.Entry<UserKey, Pending> entry : batch) {
+            Pending failed = entry.getValue().failedOnce();
+            if (failed.attempts() >= maxAttempts) {
+                dropped++;
+                log.error("Dropping last-login timestamp of user {} after {} failed writes", entry.getKey(), maxAttempts);
+            } else {
+                pending.merge(entry.getKey(), failed, Pending::merge);
+            }
+        }
+        droppedCounter.increment(dropped);
+        return dropped;
+    }
+
+    /**
+     * Removes up to one batch of entries. An entry updated while draining stays pending, since
+     * {@code remove(key, value)} only succeeds for the value that was read.
+     */
+    private List<Map.Entry<UserKey, Pending>> drain() {
+        List<Map.Entry<UserKey, Pending>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (Map.Entry<UserKey, Pending> entry : pending.entrySet()) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            UserKey key = entry.getKey();
+            Pending value = entry.getValue();
+            if (pending.remove(key, value)) {
+                batch.add(Map.entry(key, value));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Id of a user of either model: numeric for {@code com.taskboard.api} users, UUID for user-module accounts.
+     * Exactly one of the two is set.
+     */
+    record UserKey(Long numericId, String uuid) {
+
+        @Override
+        public String toString() {
+            return numericId != null ? numericId.toString() : uuid;
+        }
+    }
+
+    /**
+     * Latest pending timestamp of a user and how many writes of it have failed so far.
+     */
+    record Pending(LocalDateTime lastLogin, int attempts) {
+
+        Pending failedOnce() {
+            return new Pending(lastLogin, attempts + 1);
+        }
+
+        /**
+         * Keeps the later timestamp and the higher attempt count, so a new login does not reset the retries
+         * of a row the database rejects.
+         */
+        static Pending merge(Pending a, Pending b) {
+            return new Pending(a.lastLogin.isAfter(b.lastLogin) ? a.lastLogin : b.lastLogin,
+                    Math.max(a.attempts, b.attempts));
+        }
+    }
+}
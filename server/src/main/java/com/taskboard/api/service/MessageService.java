@@ -1,5 +1,10 @@
 package com.taskboard.api.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
@@ -10,13 +15,39 @@ import java.util.Locale;
 
 /**
  * Сервис для получения локализованных сообщений.
+ *
+ * Шаблоны с параметрами компилируются в {@link MessageFormat} один раз на пару (шаблон, локаль) и хранятся
+ * в ограниченном кэше; ключом служит сам текст шаблона, поэтому перезагрузка бандлов не оставляет устаревших
+ * записей. {@link MessageFormat} не потокобезопасен, поэтому каждый вызов форматирует копию.
  */
 @Service
 public class MessageService {
 
+    private static final String FORMAT_CACHE_NAME = "messages.formats";
+    private static final long FORMAT_CACHE_MAX_SIZE = 2_000;
+
     @Autowired
     private MessageSource messageSource;
 
+    private final Cache<FormatKey, MessageFormat> formats = Caffeine.newBuilder()
+            .maximumSize(FORMAT_CACHE_MAX_SIZE)
+            .recordStats()
+            .build();
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, formats, FORMAT_CACHE_NAME);
+    }
+
+    /**
+     * Статистика кэша скомпилированных шаблонов.
+     *
+     * @return попадания, промахи и вытеснения
+     */
+    public CacheStats formatCacheStats() {
+        return formats.stats();
+    }
+
     /**
      * Получить сообщение по ключу с текущей локалью.
      *
@@ -24,10 +55,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key) {
-        System.out.println("DEBUG 1-param: key=" + key);
-        String result = messageSource.getMessage(key, null, LocaleContextHolder.getLocale());
-        System.out.println("DEBUG 1-param: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, LocaleContextHolder.getLocale());
     }
 
     /**
@@ -38,12 +66,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key, final Object[] args) {
-        System.out.println("DEBUG 2-param-array: key=" + key + ", args=" + java.util.Arrays.toString(args));
-        String message = messageSource.getMessage(key, null, LocaleContextHolder.getLocale());
-        System.out.println("DEBUG 2-param-array: message=" + message);
-        String result = MessageFormat.format(message, args);
-        System.out.println("DEBUG 2-param-array: result=" + result);
-        return result;
+        return format(key, args, LocaleContextHolder.getLocale());
     }
 
     /**
@@ -54,10 +77,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key, final Object arg) {
-        Object[] args = new Object[]{arg};
-        String message = messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
-        System.out.println("DEBUG 2-param: key=" + key + ", message=" + message + ", arg=" + arg);
-        return message;
+        return format(key, new Object[]{arg}, LocaleContextHolder.getLocale());
     }
 
     /**
@@ -69,10 +89,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key, final Object arg, final Locale locale) {
-        Object[] args = new Object[]{arg};
-        String message = messageSource.getMessage(key, args, locale);
-        System.out.println("DEBUG 3-param: key=" + key + ", message=" + message + ", arg=" + arg + ", locale=" + locale);
-        return message;
+        return format(key, new Object[]{arg}, locale);
     }
 
     /**
@@ -83,24 +100,15 @@ public class MessageService {
      * @return локализованное сообщение или дефолтное
      */
     public String getMessage(final String key, final String defaultMessage) {
-        System.out.println("DEBUG 2-param-default: key=" + key + ", defaultMessage=" + defaultMessage);
-        String result = messageSource.getMessage(key, null, defaultMessage, LocaleContextHolder.getLocale());
-        System.out.println("DEBUG 2-param-default: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, defaultMessage, LocaleContextHolder.getLocale());
     }
 
     public String getMessageWithDefault(final String key, final Locale locale, final String defaultMessage) {
-        System.out.println("DEBUG 3-param-default-locale: key=" + key + ", locale=" + locale + ", defaultMessage=" + defaultMessage);
-        String result = messageSource.getMessage(key, null, defaultMessage, locale);
-        System.out.println("DEBUG 3-param-default-locale: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, defaultMessage, locale);
     }
 
     public String getMessage(final String key, final String defaultMessage, final Locale locale) {
-        System.out.println("DEBUG 3-param-default-old: key=" + key + ", defaultMessage=" + defaultMessage + ", locale=" + locale);
-        String result = messageSource.getMessage(key, null, defaultMessage, locale);
-        System.out.println("DEBUG 3-param-default-old: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, defaultMessage, locale);
     }
 
     /**
@@ -112,10 +120,7 @@ public class MessageService {
      * @return локализованное сообщение или дефолтное
      */
     public String getMessageWithDefault(final String key, final String defaultMessage, final Locale locale) {
-        System.out.println("DEBUG 3-param-default: key=" + key + ", defaultMessage=" + defaultMessage + ", locale=" + locale);
-        String result = messageSource.getMessage(key, null, defaultMessage, locale);
-        System.out.println("DEBUG 3-param-default: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, defaultMessage, locale);
     }
 
     /**
@@ -126,10 +131,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key, final Locale locale) {
-        System.out.println("DEBUG 2-param-locale: key=" + key + ", locale=" + locale);
-        String result = messageSource.getMessage(key, null, locale);
-        System.out.println("DEBUG 2-param-locale: result=" + result);
-        return result;
+        return messageSource.getMessage(key, null, locale);
     }
 
     /**
@@ -141,8 +143,7 @@ public class MessageService {
      * @return локализованное сообщение
      */
     public String getMessage(final String key, final Object[] args, final Locale locale) {
-        String message = messageSource.getMessage(key, null, locale);
-        return MessageFormat.format(message, args);
+        return format(key, args, locale);
     }
 
 
@@ -158,4 +159,16 @@ public class MessageService {
     public String getMessage(final String key, final Object[] args, final String defaultMessage, final Locale locale) {
         return messageSource.getMessage(key, args, defaultMessage, locale);
     }
+
+    /**
+     * Подставляет параметры в шаблон через скомпилированный и закэшированный {@link MessageFormat}.
+     */
+    private String format(final String key, final Object[] args, final Locale locale) {
+        String pattern = messageSource.getMessage(key, null, locale);
+        MessageFormat compiled = formats.get(new FormatKey(pattern, locale), k -> new MessageFormat(k.pattern(), k.locale()));
+        return ((MessageFormat) compiled.clone()).format(args);
+    }
+
+    private record FormatKey(String pattern, Locale locale) {
+    }
 }
@@ -0,0 +1,150 @@
+package com.taskboard.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Produces random one-time token values.
+ *
+ * Random bytes are drawn into a reusable scratch buffer and encoded with a lookup table into a second
+ * one, so a token costs one {@link SecureRandom} call and the final string. Entropy comes either from a
+ * single shared {@link SecureRandom} or, by default, from one DRBG instance per thread (borrowed through
+ * {@link ScratchPool} on virtual threads), which keeps concurrent issuers off a common lock.
+ */
+@Component
+@Slf4j
+public class OneTimeTokenGenerator {
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final Encoding encoding;
+    private final EntropySource entropySource;
+    private final ScratchPool<Buffers> buffers;
+
+    @Autowired
+    public OneTimeTokenGenerator(@Value("${one-time-token.length:32}") int lengthBytes,
+                                 @Value("${one-time-token.encoding:hex}") String encoding,
+                                 @Value("${one-time-token.entropy:per-thread}") String entropy) {
+        this(lengthBytes, Encoding.of(encoding), EntropySource.of(entropy));
+        log.info("One-time token generator initialized: {} random bytes, {} encoding, {} entropy",
+                lengthBytes, this.encoding, entropy);
+    }
+
+    public OneTimeTokenGenerator(int lengthBytes, Encoding encoding, EntropySource entropySource) {
+        if (lengthBytes < 16) {
+            throw new IllegalArgumentException("One-time tokens need at least 16 random bytes");
+        }
+        this.encoding = encoding;
+        this.entropySource = entropySource;
+        this.buffers = new ScratchPool<>(() -> new Buffers(lengthBytes, encoding.encodedLength(lengthBytes)));
+    }
+
+    /**
+     * @return a new token value: lowercase hex or unpadded base64url, depending on the configured encoding
+     */
+    public String generate() {
+        return buffers.apply(scratch -> {
+            entropySource.nextBytes(scratch.random);
+            int length = encoding.encode(scratch.random, scratch.encoded);
+            return new String(scratch.encoded, 0, length, StandardCharsets.US_ASCII);
+        });
+    }
+
+    public enum Encoding {
+        HEX {
+            @Override
+            int encodedLength(int bytes) {
+                return bytes * 2;
+            }
+
+            @Override
+            int encode(byte[] source, byte[] target) {
+                for (int i = 0, j = 0; i < source.length; i++) {
+                    target[j++] = HEX_DIGITS[(source[i] >> 4) & 0x0f];
+                    target[j++] = HEX_DIGITS[source[i] & 0x0f];
+                }
+                return source.length * 2;
+            }
+        },
+        BASE64URL {
+            @Override
+            int encodedLength(int bytes) {
+                return (bytes * 4 + 2) / 3;
+            }
+
+            @Override
+            int encode(byte[] source, byte[] target) {
+                return OneTimeTokenGenerator.BASE64URL.encode(source, target);
+            }
+        };
+
+        abstract int encodedLength(int bytes);
+
+        abstract int encode(byte[] source, byte[] target);
+
+        static Encoding of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace("-", ""));
+        }
+    }
+
+    /**
+     * Source of the random bytes behind each token.
+     */
+    @FunctionalInterface
+    public interface EntropySource {
+
+        void nextBytes(byte[] bytes);
+
+        /**
+         * One {@link SecureRandom} shared by all threads.
+         */
+        static EntropySource shared() {
+            return new SecureRandom()::nextBytes;
+        }
+
+        /**
+         * A self-seeded DRBG per thread; virtual threads borrow instances from a pool.
+         */
+        static EntropySource perThread() {
+            ScratchPool<SecureRandom> randoms = new ScratchPool<>(() -> {
+                try {
+                    return SecureRandom.getInstance("DRBG");
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("DRBG is not available", e);
+                }
+            });
+            return bytes -> randoms.apply(random -> {
+                random.nextBytes(bytes);
+                return null;
+            });
+        }
+
+        static EntropySource of(String name) {
+            return switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "shared" -> shared();
+                case "per-thread" -> perThread();
+                default -> throw new IllegalArgumentException("Unknown one-time token entropy source: " + name);
+            };
+        }
+    }
+
+    private static final class Buffers {
+
+        private final byte[] random;
+        private final byte[] encoded;
+
+        Buffers(int randomBytes, int encodedBytes) {
+            this.random = new byte[randomBytes];
+            this.encoded = new byte[encodedBytes];
+        }
+    }
+}
@@ -1,29 +1,57 @@
 package com.taskboard.api.service;
 
+import com.taskboard.api.dto.IssuedTokenResponse;
 import com.taskboard.api.model.OneTimeToken;
-import com.taskboard.api.repository.OneTimeTokenRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service for managing one-time tokens
- * Provides secure temporary access for various authentication purposes
+ * Provides secure temporary access for various authentication purposes.
+ * Tokens are kept in a {@link OneTimeTokenStore} under their SHA-256 digest; the plaintext value
+ * exists only in the response to the request that issued it.
  */
 @Service
 @Slf4j
 @Transactional
 public class OneTimeTokenService {
 
+    private static final ScratchPool<MessageDigest> SHA256 = new ScratchPool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    static final int BULK_MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OneTimeTokenStore tokenStore;
+
     @Autowired
-    private OneTimeTokenRepository tokenRepository;
+    private OneTimeTokenGenerator tokenGenerator;
 
     @Value("${one-time-token.expiration.minutes:15}")
     private int defaultExpirationMinutes;
@@ -31,10 +59,8 @@ public class OneTimeTokenService {
     @Value("${one-time-token.max-active-per-user:5}")
     private int maxActiveTokensPerUser;
 
-    @Value("${one-time-token.length:32}")
-    private int tokenLength;
-
-    private final SecureRandom secureRandom = new SecureRandom();
+    @Value("${one-time-token.bulk.batch-size:1000}")
+    private int bulkBatchSize;
 
     /**
      * Создает одноразовый токен для входа
@@ -84,25 +110,26 @@ public class OneTimeTokenService {
     public OneTimeToken createToken(final String userId, final OneTimeToken.TokenPurpose purpose, final int expirationMinutes, final String metadata) {
         try {
             // Проверяем лимит активных токенов
-            long activeTokensCount = tokenRepository.countActiveByUserIdAndPurpose(userId, purpose, LocalDateTime.now());
+            long activeTokensCount = tokenStore.countActiveByUser(userId, purpose, LocalDateTime.now());
             if (activeTokensCount >= maxActiveTokensPerUser) {
                 log.warn("Превышен лимит активных токенов для пользователя {} и цели {}", userId, purpose);
                 throw new RuntimeException("Превышен лимит активных токенов");
             }
 
-            // Генерируем уникальный токен
-            String tokenValue = generateUniqueToken();
+            // 256 бит случайности: совпадение исключено, уникальность хэша гарантирует ограничение в хранилище
+            String tokenValue = tokenGenerator.generate();
 
-            // Создаем токен
+            // Создаем токен; сохраняется только хэш
             OneTimeToken token = OneTimeToken.builder()
-                    .token(tokenValue)
+                    .tokenHash(hashToken(tokenValue))
                     .userId(userId)
                     .purpose(purpose)
                     .expiresAt(LocalDateTime.now().plusMinutes(expirationMinutes))
                     .metadata(metadata)
                     .build();
 
-            OneTimeToken savedToken = tokenRepository.save(token);
+            OneTimeToken savedToken = tokenStore.save(token);
+            savedToken.setToken(tokenValue);
 
             log.info("Создан одноразовый токен для пользователя {} с целью {} (истекает через {} минут)", 
                 userId, purpose, expirationMinutes);
@@ -116,32 +143,89 @@ public class OneTimeTokenService {
     }
 
     /**
-     * Валидирует и использует одноразовый токен
+     * Выпускает по одному токену для каждого пользователя группы и передает результаты в {@code sink}
+     * пачками по мере сохранения. Проверка лимита и вставка пачки выполняются хранилищем атомарно,
+     * поэтому параллельный выпуск не превышает лимит; пачка, прерванная конфликтом сериализации,
+     * повторяется до {@value #BULK_MAX_ATTEMPTS} раз. Переданный токен уже сохранен.
+     * Повторяющиеся и пустые ID пропускаются.
+     *
+     * @return количество выпущенных токенов
      */
-    public boolean validateAndUseToken(final String tokenValue, final OneTimeToken.TokenPurpose expectedPurpose) {
-        try {
-            // Находим активный токен
-            Optional<OneTimeToken> tokenOpt = tokenRepository.findActiveByToken(tokenValue, LocalDateTime.now());
-            
-            if (tokenOpt.isEmpty()) {
-                log.warn("Токен не найден или истек: {}", tokenValue);
-                return false;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int issueTokens(final Collection<String> userIds, final OneTimeToken.TokenPurpose purpose,
+                           final int expirationMinutes, final String metadata, final Consumer<IssuedTokenResponse> sink) {
+        List<String> distinctIds = userIds.stream()
+                .filter(userId -> userId != null && !userId.isBlank())
+                .distinct()
+                .toList();
+        int batchSize = Math.max(bulkBatchSize, 1);
+        int issued = 0;
+
+        for (int from = 0; from < distinctIds.size(); from += batchSize) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + batchSize, distinctIds.size()));
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusMinutes(expirationMinutes);
+
+            List<OneTimeToken> tokens = new ArrayList<>(chunk.size());
+            Map<String, String> tokenValues = new HashMap<>();
+            for (String userId : chunk) {
+                String tokenValue = tokenGenerator.generate();
+                tokenValues.put(userId, tokenValue);
+                tokens.add(OneTimeToken.builder()
+                        .tokenHash(hashToken(tokenValue))
+                        .userId(userId)
+                        .purpose(purpose)
+                        .expiresAt(expiresAt)
+                        .metadata(metadata)
+                        .build());
             }
 
-            OneTimeToken token = tokenOpt.get();
+            Set<String> stored = new HashSet<>();
+            saveAllWithinLimit(tokens, now).forEach(token -> stored.add(token.getUserId()));
+            for (String userId : chunk) {
+                sink.accept(stored.contains(userId)
+                        ? IssuedTokenResponse.issued(userId, tokenValues.get(userId), expiresAt)
+                        : IssuedTokenResponse.limitExceeded(userId));
+            }
+            issued += stored.size();
+        }
 
-            // Проверяем цель токена
-            if (!token.isValidForPurpose(expectedPurpose)) {
-                log.warn("Токен не подходит для цели {}: {}", expectedPurpose, tokenValue);
-                return false;
+        log.info("Массово выпущено {} одноразовых токенов с целью {} для {} пользователей",
+            issued, purpose, distinctIds.size());
+        return issued;
+    }
+
+    private List<OneTimeToken> saveAllWithinLimit(List<OneTimeToken> tokens, LocalDateTime now) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tokenStore.saveAllWithinLimit(tokens, maxActiveTokensPerUser, now);
+            } catch (ConcurrencyFailureException | TransactionSystemException e) {
+                // Конфликт сериализации проявляется либо на вставке, либо при фиксации транзакции
+                if (attempt >= BULK_MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Конфликт при массовом выпуске токенов, попытка {} из {}: {}",
+                    attempt, BULK_MAX_ATTEMPTS, e.getMessage());
             }
+        }
+    }
+
+    /**
+     * Валидирует и использует одноразовый токен.
+     * Проверка и погашение выполняются хранилищем атомарно, поэтому токен нельзя использовать дважды
+     * даже при параллельных запросах.
+     */
+    public boolean validateAndUseToken(final String tokenValue, final OneTimeToken.TokenPurpose expectedPurpose) {
+        try {
+            Optional<OneTimeToken> consumed = tokenStore.consume(hashToken(tokenValue), expectedPurpose, LocalDateTime.now());
 
-            // Помечаем токен как использованный
-            token.markAsUsed();
-            tokenRepository.markAsUsed(tokenValue, LocalDateTime.now());
+            if (consumed.isEmpty()) {
+                log.warn("Токен не найден, истек, уже использован или не подходит для цели {}", expectedPurpose);
+                return false;
+            }
 
-            log.info("Одноразовый токен успешно использован: {} для пользователя {}", 
-                tokenValue, token.getUserId());
+            log.info("Одноразовый токен с целью {} успешно использован пользователем {}",
+                expectedPurpose, consumed.get().getUserId());
 
             return true;
 
@@ -155,58 +239,49 @@ public class OneTimeTokenService {
      * Получает информацию о токене без его использования
      */
     public Optional<OneTimeToken> getTokenInfo(final String tokenValue) {
-        return tokenRepository.findActiveByToken(tokenValue, LocalDateTime.now());
+        return tokenStore.findActive(hashToken(tokenValue), LocalDateTime.now());
     }
 
     /**
      * Получает все активные токены пользователя
      */
     public List<OneTimeToken> getActiveTokensForUser(final String userId) {
-        return tokenRepository.findByUserId(userId).stream()
-                .filter(token -> !token.getIsUsed() && !token.isExpired())
-                .toList();
+        return tokenStore.findActiveByUser(userId, null, LocalDateTime.now());
     }
 
     /**
      * Получает активные токены пользователя по цели
      */
     public List<OneTimeToken> getActiveTokensForUserAndPurpose(final String userId, final OneTimeToken.TokenPurpose purpose) {
-        return tokenRepository.findActiveByUserIdAndPurpose(userId, purpose, LocalDateTime.now());
+        return tokenStore.findActiveByUser(userId, purpose, LocalDateTime.now());
     }
 
     /**
      * Отзывает все активные токены пользователя
      */
     public void revokeAllTokensForUser(final String userId) {
-        List<OneTimeToken> activeTokens = getActiveTokensForUser(userId);
-        for (OneTimeToken token : activeTokens) {
-            token.markAsUsed();
-            tokenRepository.markAsUsed(token.getToken(), LocalDateTime.now());
-        }
-        
-        log.info("Отозваны все активные токены для пользователя: {}", userId);
+        int revoked = tokenStore.revokeActiveByUser(userId, null, LocalDateTime.now());
+
+        log.info("Отозваны все активные токены ({}) для пользователя: {}", revoked, userId);
     }
 
     /**
      * Отзывает токены пользователя по цели
      */
     public void revokeTokensForUserAndPurpose(final String userId, final OneTimeToken.TokenPurpose purpose) {
-        List<OneTimeToken> tokens = getActiveTokensForUserAndPurpose(userId, purpose);
-        for (OneTimeToken token : tokens) {
-            token.markAsUsed();
-            tokenRepository.markAsUsed(token.getToken(), LocalDateTime.now());
-        }
-        
-        log.info("Отозваны токены цели {} для пользователя: {}", purpose, userId);
+        int revoked = tokenStore.revokeActiveByUser(userId, purpose, LocalDateTime.now());
+
+        log.info("Отозваны токены цели {} ({}) для пользователя: {}", purpose, revoked, userId);
     }
 
     /**
-     * Очищает истекшие токены
+     * Очищает истекшие токены. Обычно это делает {@link ExpirySweeper} по расписанию; удаление идет
+     * пачками в отдельных транзакциях, поэтому общая транзакция здесь не открывается.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredTokens() {
-        tokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.debug("Очищены истекшие одноразовые токены");
+        int deleted = tokenStore.deleteExpired(LocalDateTime.now());
+        log.debug("Очищены истекшие одноразовые токены: {}", deleted);
     }
 
     /**
@@ -215,43 +290,16 @@ public class OneTimeTokenService {
     @Transactional
     public void cleanupUsedTokens(final int daysOld) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        tokenRepository.deleteUsedTokensOlderThan(cutoffDate);
-        log.debug("Очищены использованные токены старше {} дней", daysOld);
+        int deleted = tokenStore.deleteUsedBefore(cutoffDate);
+        log.debug("Очищены использованные токены старше {} дней: {}", daysOld, deleted);
     }
 
     /**
-     * Генерирует уникальный токен
+     * Хэш значения токена, под которым он хранится
      */
-    private String generateUniqueToken() {
-        String token;
-        int attempts = 0;
-        final int maxAttempts = 10;
-
-        do {
-            token = generateRandomToken();
-            attempts++;
-            
-            if (attempts >= maxAttempts) {
-                throw new RuntimeException("Не удалось сгенерировать уникальный токен после " + maxAttempts + " попыток");
-            }
-        } while (tokenRepository.findByToken(token).isPresent());
-
-        return token;
-    }
-
-    /**
-     * Генерирует случайный токен
-     */
-    private String generateRandomToken() {
-        byte[] bytes = new byte[tokenLength];
-        secureRandom.nextBytes(bytes);
-        
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
-        }
-        
-        return sb.toString();
+    static String hashToken(final String tokenValue) {
+        byte[] input = tokenValue.getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(SHA256.apply(digest -> digest.digest(input)));
     }
 
     /**
@@ -0,0 +1,74 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.OneTimeToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for one-time tokens, keyed by the SHA-256 digest of the token value.
+ * Plaintext tokens never reach a store. Callers treat returned tokens as read-only; all changes go
+ * through the store methods.
+ */
+public interface OneTimeTokenStore {
+
+    /**
+     * Stores a newly issued token; {@link OneTimeToken#getTokenHash()} must be set.
+     *
+     * @return the stored token with its generated id and creation time
+     */
+    OneTimeToken save(OneTimeToken token);
+
+    /**
+     * Stores newly issued tokens of one purpose, leaving out those whose user already holds
+     * {@code maxActivePerUser} active tokens of that purpose at {@code now}. The limit check and the insert
+     * are one atomic step, so concurrent issuance cannot push a user over the limit, and either all
+     * returned tokens are stored or, when an exception is thrown, none.
+     * {@link OneTimeToken#getTokenHash()} must be set on each; ids and creation times are assigned on
+     * the stored instances.
+     *
+     * @return the stored tokens, in the given order
+     */
+    List<OneTimeToken> saveAllWithinLimit(List<OneTimeToken> tokens, int maxActivePerUser, LocalDateTime now);
+
+    /**
+     * @return the token if it exists, is unused and has not expired at {@code now}
+     */
+    Optional<OneTimeToken> findActive(String tokenHash, LocalDateTime now);
+
+    /**
+     * Atomically marks the token as used if it is active and issued for the given purpose.
+     * Of any number of concurrent calls for the same token at most one succeeds.
+     *
+     * @return the consumed token, or empty if it is unknown, used, expired or has another purpose
+     */
+    Optional<OneTimeToken> consume(String tokenHash, OneTimeToken.TokenPurpose purpose, LocalDateTime now);
+
+    /**
+     * Active tokens of a user; all purposes when {@code purpose} is null.
+     */
+    List<OneTimeToken> findActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now);
+
+    /**
+     * Number of active tokens a user holds for the purpose.
+     */
+    long countActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now);
+
+    /**
+     * Marks the user's active tokens as used; all purposes when {@code purpose} is null.
+     *
+     * @return number of revoked tokens
+     */
+    int revokeActiveByUser(String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime now);
+
+    /**
+     * @return number of tokens that expired before {@code now} and were deleted
+     */
+    int deleteExpired(LocalDateTime now);
+
+    /**
+     * @return number of used tokens with {@code usedAt} before the cutoff that were deleted
+     */
+    int deleteUsedBefore(LocalDateTime cutoff);
+}
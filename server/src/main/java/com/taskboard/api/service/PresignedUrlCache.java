@@ -0,0 +1,70 @@
+package com.taskboard.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of presigned download URLs, keyed by storage key.
+ *
+ * A URL is signed for the full configured lifetime but only handed out until the configured fraction of
+ * that lifetime has passed, so every URL returned from the cache stays valid for at least the remaining
+ * part. Repeated requests for the same object get the same URL, which lets browsers and CDNs cache the
+ * image and saves a signature per call. Callers must invalidate keys whose object is replaced or deleted.
+ * Hit, miss and eviction meters are published under the {@code storage.presigned.urls} cache name.
+ */
+@Component
+@Slf4j
+public class PresignedUrlCache {
+
+    private final StorageService storageService;
+    private final Duration lifetime;
+    private final Cache<String, String> cache;
+
+    public PresignedUrlCache(StorageService storageService,
+                             @Value("${app.storage.download-url.expiration-seconds:3600}") long expirationSeconds,
+                             @Value("${app.storage.download-url.reuse-fraction:0.5}") double reuseFraction,
+                             @Value("${app.storage.download-url.cache-max-size:10000}") long maxSize,
+                             MeterRegistry meterRegistry) {
+        if (reuseFraction <= 0 || reuseFraction >= 1) {
+            throw new IllegalArgumentException("Reuse fraction must be between 0 and 1, got " + reuseFraction);
+        }
+        this.storageService = storageService;
+        this.lifetime = Duration.ofSeconds(expirationSeconds);
+        Duration reuseWindow = Duration.ofMillis((long) (lifetime.toMillis() * reuseFraction));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(reuseWindow)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "storage.presigned.urls");
+        log.info("Presigned URL cache initialized: lifetime {}s, reused for {}s, max size {}",
+                lifetime.toSeconds(), reuseWindow.toSeconds(), maxSize);
+    }
+
+    /**
+     * Returns a cached download URL for the object or signs a new one. Signing errors propagate and
+     * nothing is cached.
+     */
+    public String getDownloadUrl(String storageKey) {
+        return cache.get(storageKey, key -> storageService.generatePresignedDownloadUrl(key, lifetime));
+    }
+
+    /**
+     * Drops the URL of an object that was replaced or deleted.
+     */
+    public void invalidate(String storageKey) {
+        cache.invalidate(storageKey);
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -28,6 +28,12 @@ public class ProfileService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SecurityVersionDenylist securityVersionDenylist;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     private static final String AVATAR_UPLOAD_DIR = "uploads/avatars/";
 
     /**
@@ -67,14 +73,26 @@ public class ProfileService {
                 });
         }
 
+        // Смена логина или email отзывает ранее выданные токены
+        String previousEmail = user.getEmail();
+        boolean identityChanged = !user.getUsername().equals(request.getUsername())
+            || !user.getEmail().equals(request.getEmail());
+
         // Обновляем данные
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setUpdatedAt(LocalDateTime.now());
+        if (identityChanged) {
+            user.bumpSecurityVersion();
+        }
 
         User savedUser = userRepository.save(user);
+        userDetailsCache.evict(username, previousEmail, savedUser.getUsername(), savedUser.getEmail());
+        if (identityChanged) {
+            securityVersionDenylist.recordChange(savedUser.getId(), savedUser.getSecurityVersion());
+        }
         return convertToProfileResponse(savedUser);
     }
 
@@ -117,6 +135,7 @@ public class ProfileService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        userDetailsCache.evict(savedUser.getUsername(), savedUser.getEmail());
         return convertToProfileResponse(savedUser);
     }
 
@@ -135,8 +154,11 @@ public class ProfileService {
         // Обновляем пароль
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         user.setUpdatedAt(LocalDateTime.now());
+        user.bumpSecurityVersion();
 
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDetailsCache.evict(savedUser.getUsername(), savedUser.getEmail());
+        securityVersionDenylist.recordChange(savedUser.getId(), savedUser.getSecurityVersion());
     }
 
     /**
@@ -1,31 +1,74 @@
 package com.taskboard.api.service;
 
 import com.taskboard.api.dto.CreateProjectRequest;
+import com.taskboard.api.dto.CursorPage;
 import com.taskboard.api.dto.ProjectDto;
 import com.taskboard.api.dto.UpdateProjectRequest;
 import com.taskboard.api.entity.Project;
 import com.taskboard.api.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProjectService {
     
+    static final int STREAM_CHUNK_SIZE = 500;
+    
+    private static final String SORT_UPDATED = "updated";
+    
     private final ProjectRepository projectRepository;
     
+    @Transactional(readOnly = true)
     public List<ProjectDto> getProjectsByUser(String username) {
         log.info("Getting projects for user: {}", username);
-        List<Project> projects = projectRepository.findByCreatedBy(username);
-        return projects.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertAllToDto(projectRepository.findByCreatedBy(username));
+    }
+    
+    /**
+     * Returns one keyset page of the user's projects, most recently updated first.
+     * Each page costs two queries (projects and their tags) whatever the total project count.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDto> getProjectsPage(String username, String cursor, Integer size) {
+        int pageSize = CursorPage.sizeOf(size);
+        log.info("Getting projects page for user: {} (size={})", username, pageSize);
+        
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor, SORT_UPDATED);
+        // One extra row tells whether another page exists without a count query
+        List<Project> rows = fetchPage(username, position, pageSize + 1);
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<Project> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorAfter(pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new CursorPage<>(convertAllToDto(pageRows), nextCursor, hasMore);
+    }
+    
+    /**
+     * Hands every project of the user to the sink, reading them in keyset chunks of
+     * {@value #STREAM_CHUNK_SIZE} so memory stays flat for users with thousands of projects.
+     */
+    public void streamProjectsByUser(String username, Consumer<ProjectDto> sink) {
+        log.info("Streaming projects for user: {}", username);
+        KeysetCursor position = null;
+        List<Project> chunk;
+        do {
+            chunk = fetchPage(username, position, STREAM_CHUNK_SIZE);
+            convertAllToDto(chunk).forEach(sink);
+            if (!chunk.isEmpty()) {
+                position = cursorAfter(chunk.get(chunk.size() - 1));
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
     }
     
     public ProjectDto getProjectById(Long id, String username) {
@@ -118,7 +161,47 @@ public class ProjectService {
         log.info("Project deleted successfully");
     }
     
+    private List<Project> fetchPage(String username, KeysetCursor position, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        if (position == null) {
+            return projectRepository.findPageByCreatedBy(username, pageRequest);
+        }
+        return projectRepository.findPageByCreatedByAfter(username, position.timestamp(), position.id(), pageRequest);
+    }
+    
+    private static KeysetCursor cursorAfter(Project project) {
+        return new KeysetCursor(SORT_UPDATED, project.getUpdatedAt(), project.getId());
+    }
+    
+    /**
+     * Converts projects loading all their tags with a single query instead of one per project.
+     */
+    private List<ProjectDto> convertAllToDto(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, List<String>> tagsByProject = new HashMap<>();
+        List<Long> ids = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            ids.add(project.getId());
+        }
+        for (Object[] row : projectRepository.findTagsByProjectIds(ids)) {
+            tagsByProject.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        
+        List<ProjectDto> dtos = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            dtos.add(convertToDto(project, tagsByProject.getOrDefault(project.getId(), new ArrayList<>())));
+        }
+        return dtos;
+    }
+    
     private ProjectDto convertToDto(Project project) {
+        return convertToDto(project, project.getTags());
+    }
+    
+    private ProjectDto convertToDto(Project project, List<String> tags) {
         ProjectDto dto = new ProjectDto();
         dto.setId(project.getId().toString());
         dto.setName(project.getName());
@@ -128,7 +211,7 @@ public class ProjectService {
         dto.setColor(project.getColor());
         dto.setStartDate(project.getStartDate());
         dto.setEndDate(project.getEndDate());
-        dto.setTags(project.getTags());
+        dto.setTags(tags);
         dto.setCreatedAt(project.getCreatedAt());
         dto.setUpdatedAt(project.getUpdatedAt());
         dto.setCreatedBy(project.getCreatedBy());
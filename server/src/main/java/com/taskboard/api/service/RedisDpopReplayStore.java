@@ -0,0 +1,52 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Replay store shared by all instances through Redis {@code SET NX} with a TTL.
+ * If Redis is unavailable, identifiers are tracked in a local {@link InMemoryDpopReplayStore},
+ * so replays against the same instance are still rejected; a full local store refuses the proof.
+ */
+@Component
+@ConditionalOnProperty(name = "security.dpop.replay-store.type", havingValue = "redis")
+@Slf4j
+public class RedisDpopReplayStore implements DpopReplayStore {
+
+    private static final String KEY_PREFIX = "dpop:jti:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final InMemoryDpopReplayStore fallback;
+
+    public RedisDpopReplayStore(StringRedisTemplate redisTemplate,
+                                @Value("${security.dpop.replay-store.max-entries:100000}") int maxEntries,
+                                @Value("${security.dpop.replay-store.stripes:16}") int stripeCount,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = new InMemoryDpopReplayStore(maxEntries, stripeCount, meterRegistry);
+        log.info("Redis DPoP replay store enabled");
+    }
+
+    @Override
+    public boolean markIfFirstUse(String jti, long expiresAtEpochSecond) {
+        long ttlSeconds = expiresAtEpochSecond - Instant.now().getEpochSecond();
+        if (ttlSeconds <= 0) {
+            return true;
+        }
+        try {
+            Boolean first = redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + jti, "1", Duration.ofSeconds(ttlSeconds));
+            return Boolean.TRUE.equals(first);
+        } catch (Exception e) {
+            log.warn("Redis DPoP replay check failed, using local store: {}", e.getMessage());
+            return fallback.markIfFirstUse(jti, expiresAtEpochSecond);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskboard.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Redis-backed second-level cache for {@link UserDetails}.
+ * Values are JDK-serialized ({@link UserDetails} is {@link java.io.Serializable}) and expire after a fixed TTL.
+ * Redis errors are logged and treated as misses so authentication keeps working without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.user-details.redis.enabled", havingValue = "true")
+@Slf4j
+public class RedisUserDetailsRemoteCache implements UserDetailsRemoteCache {
+
+    private static final String KEY_PREFIX = "user-details:";
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final Duration ttl;
+
+    public RedisUserDetailsRemoteCache(RedisTemplate<Object, Object> redisTemplate,
+                                       @Value("${app.cache.user-details.redis.ttl-seconds:600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        log.info("Redis user details cache enabled with TTL: {}", ttl);
+    }
+
+    @Override
+    public Optional<UserDetails> get(String key) {
+        try {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value instanceof UserDetails userDetails ? Optional.of(userDetails) : Optional.empty();
+        } catch (Exception e) {
+            log.debug("Redis user details lookup failed for key {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, UserDetails userDetails) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, userDetails, ttl);
+        } catch (Exception e) {
+            log.debug("Redis user details write failed for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String... keys) {
+        try {
+            redisTemplate.delete(Arrays.stream(keys).<Object>map(key -> KEY_PREFIX + key).toList());
+        } catch (Exception e) {
+            log.warn("Redis user details eviction failed for keys {}: {}", Arrays.toString(keys), e.getMessage());
+        }
+    }
+}
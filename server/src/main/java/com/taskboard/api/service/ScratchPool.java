@@ -0,0 +1,57 @@
+package com.taskboard.api.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reusable non-thread-safe helpers such as {@link java.security.MessageDigest} or {@link javax.crypto.Mac}.
+ *
+ * Platform threads keep one instance each in a {@link ThreadLocal}. Virtual threads live for a single
+ * request, so a thread-local instance would be created and dropped every time; they borrow from a shared
+ * idle pool instead. Instances must not escape {@link #apply(Function)}, since they are handed to another
+ * thread as soon as it returns.
+ */
+final class ScratchPool<T> {
+
+    private static final int DEFAULT_MAX_IDLE = 64;
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> perThread;
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int maxIdle;
+
+    ScratchPool(Supplier<T> factory) {
+        this(factory, DEFAULT_MAX_IDLE);
+    }
+
+    ScratchPool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.perThread = ThreadLocal.withInitial(factory);
+        this.maxIdle = maxIdle;
+    }
+
+    <R> R apply(Function<T, R> action) {
+        if (!Thread.currentThread().isVirtual()) {
+            return action.apply(perThread.get());
+        }
+
+        T instance = idle.poll();
+        if (instance == null) {
+            instance = factory.get();
+        } else {
+            idleCount.decrementAndGet();
+        }
+        // An instance whose action threw may be left mid-update, so only clean returns go back to the pool
+        R result = action.apply(instance);
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(instance);
+        } else {
+            idleCount.decrementAndGet();
+        }
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for collecting security-related metrics
@@ -24,6 +25,8 @@ public class SecurityMetricsService {
     private final Counter dpopProofValidatedCounter;
     private final Counter dpopProofValidationFailedCounter;
     private final Timer dpopValidationTimer;
+    private final Counter dpopReplayRejectedCounter;
+    private final Counter dpopNonceRefreshedCounter;
     
     // WebAuthn metrics
     private final Counter webAuthnRegistrationAttemptsCounter;
@@ -65,6 +68,14 @@ public class SecurityMetricsService {
         this.dpopValidationTimer = Timer.builder("dpop.validation.duration")
             .description("Time taken to validate DPoP proof tokens")
             .register(meterRegistry);
+
+        this.dpopReplayRejectedCounter = Counter.builder("dpop.proof.replay.rejected")
+            .description("Number of DPoP proofs rejected because their jti was already used")
+            .register(meterRegistry);
+
+        this.dpopNonceRefreshedCounter = Counter.builder("dpop.nonce.refreshed")
+            .description("Number of times a client was handed a new DPoP nonce")
+            .register(meterRegistry);
         
         // Initialize WebAuthn metrics
         this.webAuthnRegistrationAttemptsCounter = Counter.builder("webauthn.registration.attempts")
@@ -142,6 +153,28 @@ public class SecurityMetricsService {
         log.debug("DPoP proof validation metric recorded: success={}, duration={}", success, duration);
     }
 
+    /**
+     * Allocation-free variant for the request path: takes the duration in nanoseconds.
+     */
+    public void recordDpopProofValidated(boolean success, long durationNanos) {
+        if (success) {
+            dpopProofValidatedCounter.increment();
+        } else {
+            dpopProofValidationFailedCounter.increment();
+        }
+        dpopValidationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDpopReplayRejected() {
+        dpopReplayRejectedCounter.increment();
+        log.debug("DPoP replay rejected metric recorded");
+    }
+
+    public void recordDpopNonceRefreshed() {
+        dpopNonceRefreshedCounter.increment();
+        log.debug("DPoP nonce refreshed metric recorded");
+    }
+
     // WebAuthn metrics methods
     public void recordWebAuthnRegistrationAttempt() {
         webAuthnRegistrationAttemptsCounter.increment();
@@ -0,0 +1,128 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory denylist of user security versions for stateless principal mode.
+ *
+ * A token carrying a security version lower than the user's current one is revoked, and every token of a
+ * disabled or locked user is revoked regardless of its version. Apart from those users, only users whose
+ * version changed within the access token lifetime are kept, since older tokens have already expired,
+ * so the map stays small. It is rebuilt from the database periodically and updated immediately for
+ * changes made on this node, either by user id or, where the id is not at hand or the user row is
+ * deleted, by token subject: tokens of that subject issued up to the change are revoked.
+ */
+@Service
+@Slf4j
+public class SecurityVersionDenylist {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long accessTokenLifetimeMillis;
+
+    /** Security version recorded for disabled and locked users: revokes every token they hold. */
+    static final long REVOKED_ALL = Long.MAX_VALUE;
+
+    private final Map<Long, LocalChange> localChanges = new ConcurrentHashMap<>();
+    private final Map<String, Long> subjectRevokedAtMillis = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, Long> currentVersions = new ConcurrentHashMap<>();
+
+    public SecurityVersionDenylist(UserRepository userRepository,
+                                   @Value("${jwt.stateless-principal.enabled:false}") boolean enabled,
+                                   @Value("${jwt.expiration}") long accessTokenLifetimeMillis) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.accessTokenLifetimeMillis = accessTokenLifetimeMillis;
+    }
+
+    /**
+     * Checks whether a token issued with the given security version has been revoked.
+     */
+    public boolean isRevoked(Long userId, long tokenSecurityVersion) {
+        Long current = currentVersions.get(userId);
+        return current != null && tokenSecurityVersion < current;
+    }
+
+    /**
+     * Checks whether tokens of the subject issued at the given time have been revoked on this node.
+     */
+    public boolean isRevoked(String subject, Date issuedAt) {
+        Long revokedAt = subjectRevokedAtMillis.get(subject);
+        // iat has second precision, so a token from the same second as the revocation is revoked too
+        return revokedAt != null && (issuedAt == null || issuedAt.getTime() <= revokedAt);
+    }
+
+    /**
+     * Records a security version change made on this node without waiting for the next refresh.
+     */
+    public void recordChange(Long userId, long newSecurityVersion) {
+        if (!enabled) {
+            return;
+        }
+        localChanges.put(userId, new LocalChange(newSecurityVersion, System.currentTimeMillis()));
+        currentVersions.merge(userId, newSecurityVersion, Math::max);
+    }
+
+    /**
+     * Revokes the subject's tokens issued so far on this node without waiting for the next refresh.
+     * Used where the numeric user id is not at hand or the user row is being deleted; the persisted
+     * security version or account state reaches other nodes on their next refresh.
+     */
+    public void recordSubjectRevocation(String subject) {
+        if (!enabled || subject == null) {
+            return;
+        }
+        subjectRevokedAtMillis.put(subject, System.currentTimeMillis());
+    }
+
+    /**
+     * Reloads recently changed security versions and disabled or locked users from the database.
+     */
+    @Scheduled(fixedDelayString = "${jwt.stateless-principal.denylist-refresh-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            long windowStartMillis = System.currentTimeMillis() - accessTokenLifetimeMillis;
+            LocalDateTime since = LocalDateTime.now().minusNanos(accessTokenLifetimeMillis * 1_000_000L);
+            List<UserRepository.SecurityVersionView> changed = userRepository.findSecurityVersionsChangedSince(since);
+
+            Map<Long, Long> refreshed = new ConcurrentHashMap<>(Math.max(16, changed.size() * 2));
+            for (UserRepository.SecurityVersionView view : changed) {
+                boolean active = view.isEnabled() && view.isAccountNonLocked();
+                refreshed.put(view.getId(), active ? view.getSecurityVersion() : REVOKED_ALL);
+            }
+
+            // Changes recorded on this node may not be visible to the query yet
+            localChanges.entrySet().removeIf(entry -> entry.getValue().recordedAtMillis() < windowStartMillis);
+            subjectRevokedAtMillis.values().removeIf(revokedAt -> revokedAt < windowStartMillis);
+            localChanges.forEach((userId, change) -> refreshed.merge(userId, change.version(), Math::max));
+
+            currentVersions = refreshed;
+
+            log.debug("Security version denylist refreshed: {} entries", refreshed.size());
+        } catch (Exception e) {
+            log.warn("Failed to refresh security version denylist, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return currentVersions.size();
+    }
+
+    private record LocalChange(long version, long recordedAtMillis) {
+    }
+}
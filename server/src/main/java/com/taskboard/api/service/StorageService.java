@@ -2,6 +2,7 @@ package com.taskboard.api.service;
 
 import com.taskboard.api.config.StorageConfig;
 import io.minio.*;
+import io.minio.errors.ErrorResponseException;
 import io.minio.http.Method;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,7 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Сервис для работы с облачным хранилищем (S3/MinIO).
@@ -83,6 +85,22 @@ public class StorageService {
         }
     }
 
+    /**
+     * Открывает поток с содержимым файла; вызывающий код обязан его закрыть
+     */
+    public InputStream downloadFile(String storageKey) {
+        try {
+            if ("minio".equals(storageConfig.getProvider())) {
+                return downloadFromMinio(storageKey);
+            } else {
+                return downloadFromS3(storageKey);
+            }
+        } catch (Exception e) {
+            log.error("Error downloading file: {}", storageKey, e);
+            throw new RuntimeException("Failed to download file", e);
+        }
+    }
+
     /**
      * Удаляет файл из хранилища
      */
@@ -132,6 +150,23 @@ public class StorageService {
         }
     }
 
+    /**
+     * Получает метаданные файла одним HEAD-запросом; пустой результат, если файла нет.
+     * Заменяет пару {@link #fileExists(String)} + {@link #getFileMetadata(String)}.
+     */
+    public Optional<Map<String, String>> findFileMetadata(String storageKey) {
+        try {
+            if ("minio".equals(storageConfig.getProvider())) {
+                return findMinioFileMetadata(storageKey);
+            } else {
+                return findS3FileMetadata(storageKey);
+            }
+        } catch (Exception e) {
+            log.error("Error getting file metadata: {}", storageKey, e);
+            throw new RuntimeException("Failed to get file metadata", e);
+        }
+    }
+
     // MinIO методы
     private String generateMinioPresignedUploadUrl(String storageKey, Duration expiration) throws Exception {
         return minioClient.getPresignedObjectUrl(
@@ -166,6 +201,15 @@ public class StorageService {
         );
     }
 
+    private InputStream downloadFromMinio(String storageKey) throws Exception {
+        return minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(storageConfig.getBucketName())
+                        .object(storageKey)
+                        .build()
+        );
+    }
+
     private void deleteFromMinio(String storageKey) throws Exception {
         minioClient.removeObject(
                 RemoveObjectArgs.builder()
@@ -208,6 +252,17 @@ public class StorageService {
         );
     }
 
+    private Optional<Map<String, String>> findMinioFileMetadata(String storageKey) throws Exception {
+        try {
+            return Optional.of(getMinioFileMetadata(storageKey));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
     // AWS S3 методы - temporarily disabled due to SDK compatibility issues
     private String generateS3PresignedUploadUrl(String storageKey, Duration expiration) {
         // TODO: Implement S3 presigned URL generation when SDK is compatible
@@ -233,6 +288,19 @@ public class StorageService {
         s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, fileSize));
     }
 
+    private InputStream downloadFromS3(String storageKey) {
+        if (s3Client == null) {
+            throw new UnsupportedOperationException("S3Client is not available in development mode");
+        }
+
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(storageConfig.getBucketName())
+                .key(storageKey)
+                .build();
+
+        return s3Client.getObject(getObjectRequest);
+    }
+
     private void deleteFromS3(String storageKey) {
         if (s3Client == null) {
             throw new UnsupportedOperationException("S3Client is not available in development mode");
@@ -282,4 +350,12 @@ public class StorageService {
                 "lastModified", response.lastModified().toString()
         );
     }
+
+    private Optional<Map<String, String>> findS3FileMetadata(String storageKey) {
+        try {
+            return Optional.of(getS3FileMetadata(storageKey));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,341 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.dto.CreateTaskRequest;
+import com.taskboard.api.dto.CursorPage;
+import com.taskboard.api.dto.SubTaskDto;
+import com.taskboard.api.dto.TaskDto;
+import com.taskboard.api.dto.TaskFilter;
+import com.taskboard.api.dto.UpdateTaskRequest;
+import com.taskboard.api.entity.Project;
+import com.taskboard.api.entity.SubTask;
+import com.taskboard.api.entity.Task;
+import com.taskboard.api.repository.ProjectRepository;
+import com.taskboard.api.repository.TaskRepository;
+import com.taskboard.api.repository.TaskSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskService {
+    
+    private static final String FILTER_ALL = "all";
+    private static final String SORT_CREATED = "created";
+    private static final String SORT_UPDATED = "updated";
+    
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    
+    /**
+     * Returns one keyset page of the tasks visible to the user, newest first.
+     * At most {@value CursorPage#MAX_SIZE} rows are read per call regardless of board size.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> getTasks(TaskFilter filter, String username) {
+        String sortKey = filter.getSort() == null ? SORT_CREATED : filter.getSort().toLowerCase(Locale.ROOT);
+        String sortProperty = sortProperty(sortKey);
+        int size = CursorPage.sizeOf(filter.getSize());
+        log.info("Getting tasks for user: {} (sort={}, size={})", username, sortKey, size);
+        
+        Specification<Task> spec = buildSpecification(filter, username);
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(filter.getCursor(), sortKey);
+            spec = spec.and(TaskSpecifications.after(sortProperty, cursor.timestamp(), cursor.id()));
+        }
+        
+        Sort sort = Sort.by(Sort.Direction.DESC, sortProperty).and(Sort.by(Sort.Direction.DESC, "id"));
+        // One extra row tells whether another page exists without a count query
+        List<Task> rows = taskRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        
+        boolean hasMore = rows.size() > size;
+        List<Task> pageRows = hasMore ? rows.subList(0, size) : rows;
+        List<TaskDto> items = new ArrayList<>(pageRows.size());
+        for (Task task : pageRows) {
+            items.add(convertToDto(task));
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(sortKey,
+                    SORT_UPDATED.equals(sortKey) ? last.getUpdatedAt() : last.getCreatedAt(),
+                    last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskDto getTaskById(Long id, String username) {
+        log.info("Getting task by id: {} for user: {}", id, username);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        
+        if (!canAccess(task, username)) {
+            throw new RuntimeException("Access denied");
+        }
+        
+        return convertToDto(task);
+    }
+    
+    @Transactional
+    public TaskDto createTask(CreateTaskRequest request, String username) {
+        log.info("Creating task: {} for user: {}", request.getTitle(), username);
+        
+        if (request.getProjectId() != null) {
+            requireOwnedProject(request.getProjectId(), username);
+        }
+        
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(normalize(request.getStatus() != null ? request.getStatus() : "BACKLOG"));
+        task.setPriority(normalize(request.getPriority() != null ? request.getPriority() : "MEDIUM"));
+        task.setProjectId(request.getProjectId());
+        task.setAssigneeId(request.getAssigneeId());
+        task.setCreatorId(username);
+        task.setLabels(request.getLabels() != null ? new ArrayList<>(request.getLabels()) : new ArrayList<>());
+        task.setSubtasks(toSubTasks(request.getSubtasks()));
+        task.setEstimatedHours(request.getEstimatedHours());
+        task.setDueDate(request.getDueDate());
+        task.setBlocked(request.isBlocked());
+        
+        Task savedTask = taskRepository.save(task);
+        log.info("Task created successfully with id: {}", savedTask.getId());
+        
+        return convertToDto(savedTask);
+    }
+    
+    @Transactional
+    public TaskDto updateTask(Long id, UpdateTaskRequest request, String username) {
+        log.info("Updating task: {} for user: {}", id, username);
+        
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        
+        if (!canAccess(task, username)) {
+            throw new RuntimeException("Access denied");
+        }
+        
+        if (request.getTitle() != null) {
+            task.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            task.setDescription(request.getDescription());
+        }
+        if (request.getStatus() != null) {
+            task.setStatus(normalize(request.getStatus()));
+        }
+        if (request.getPriority() != null) {
+            task.setPriority(normalize(request.getPriority()));
+        }
+        if (request.getProjectId() != null && !request.getProjectId().equals(task.getProjectId())) {
+            requireOwnedProject(request.getProjectId(), username);
+            task.setProjectId(request.getProjectId());
+        }
+        if (request.getAssigneeId() != null) {
+            task.setAssigneeId(request.getAssigneeId().isBlank() ? null : request.getAssigneeId());
+        }
+        if (request.getLabels() != null) {
+            task.setLabels(new ArrayList<>(request.getLabels()));
+        }
+        if (request.getSubtasks() != null) {
+            task.setSubtasks(toSubTasks(request.getSubtasks()));
+        }
+        if (request.getTimeSpent() != null) {
+            task.setTimeSpent(request.getTimeSpent());
+        }
+        if (request.getEstimatedHours() != null) {
+            task.setEstimatedHours(request.getEstimatedHours());
+        }
+        if (request.getDueDate() != null) {
+            task.setDueDate(request.getDueDate());
+        }
+        if (request.getBlocked() != null) {
+            task.setBlocked(request.getBlocked());
+        }
+        
+        Task savedTask = taskRepository.save(task);
+        log.info("Task updated successfully");
+        
+        return convertToDto(savedTask);
+    }
+    
+    @Transactional
+    public void deleteTask(Long id, String username) {
+        log.info("Deleting task: {} for user: {}", id, username);
+        
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        
+        if (!username.equals(task.getCreatorId()) && !ownsProject(task.getProjectId(), username)) {
+            throw new RuntimeException("Access denied");
+        }
+        
+        taskRepository.delete(task);
+        log.info("Task deleted successfully");
+    }
+    
+    private Specification<Task> buildSpecification(TaskFilter filter, String username) {
+        Specification<Task> spec = TaskSpecifications.visibleTo(username);
+        
+        Long projectId = projectFilter(filter);
+        if (projectId != null) {
+            spec = spec.and(TaskSpecifications.inProject(projectId));
+        }
+        List<String> statuses = normalizeAll(filter.getStatus());
+        if (!statuses.isEmpty()) {
+            spec = spec.and(TaskSpecifications.statusIn(statuses));
+        }
+        List<String> priorities = normalizeAll(filter.getPriority());
+        if (!priorities.isEmpty()) {
+            spec = spec.and(TaskSpecifications.priorityIn(priorities));
+        }
+        if (isSet(filter.getAssignee())) {
+            spec = spec.and(TaskSpecifications.assignedTo(filter.getAssignee()));
+        }
+        if (filter.getQuery() != null && !filter.getQuery().isBlank()) {
+            spec = spec.and(TaskSpecifications.textMatches(filter.getQuery().trim()));
+        }
+        if (filter.getDueFrom() != null || filter.getDueTo() != null) {
+            spec = spec.and(TaskSpecifications.dueBetween(filter.getDueFrom(), filter.getDueTo()));
+        }
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null) {
+            spec = spec.and(TaskSpecifications.createdBetween(filter.getCreatedFrom(), filter.getCreatedTo()));
+        }
+        return spec;
+    }
+    
+    private boolean canAccess(Task task, String username) {
+        return username.equals(task.getCreatorId())
+                || username.equals(task.getAssigneeId())
+                || ownsProject(task.getProjectId(), username);
+    }
+    
+    private boolean ownsProject(Long projectId, String username) {
+        return projectId != null && projectRepository.findById(projectId)
+                .map(project -> username.equals(project.getCreatedBy()))
+                .orElse(false);
+    }
+    
+    private void requireOwnedProject(Long projectId, String username) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        if (!username.equals(project.getCreatedBy())) {
+            throw new RuntimeException("Access denied");
+        }
+    }
+    
+    private static String sortProperty(String sortKey) {
+        return switch (sortKey) {
+            case SORT_CREATED -> "createdAt";
+            case SORT_UPDATED -> "updatedAt";
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sortKey);
+        };
+    }
+    
+    /**
+     * Project of the filter: {@code projectId}, or the client's {@code project} parameter unless it is {@code all}.
+     */
+    static Long projectFilter(TaskFilter filter) {
+        if (filter.getProjectId() != null) {
+            return filter.getProjectId();
+        }
+        if (!isSet(filter.getProject())) {
+            return null;
+        }
+        try {
+            return Long.valueOf(filter.getProject().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid project: " + filter.getProject());
+        }
+    }
+    
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank() && !FILTER_ALL.equalsIgnoreCase(value);
+    }
+    
+    /**
+     * Stores and filters status and priority in the upper-case form used by projects:
+     * "in-progress" becomes "IN_PROGRESS".
+     */
+    static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+    }
+    
+    /**
+     * Client form of a stored status or priority: "IN_PROGRESS" becomes "in-progress".
+     */
+    static String toClientForm(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+    
+    /**
+     * Normalized filter values without {@code all} and blanks; several values may also come comma-separated.
+     */
+    static List<String> normalizeAll(List<String> values) {
+        List<String> normalized = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value == null) {
+                    continue;
+                }
+                for (String part : value.split(",")) {
+                    if (isSet(part)) {
+                        normalized.add(normalize(part));
+                    }
+                }
+            }
+        }
+        return normalized;
+    }
+    
+    private static List<SubTask> toSubTasks(List<SubTaskDto> subtasks) {
+        List<SubTask> result = new ArrayList<>();
+        if (subtasks != null) {
+            for (SubTaskDto dto : subtasks) {
+                String id = dto.getId() != null && !dto.getId().isBlank() ? dto.getId() : UUID.randomUUID().toString();
+                result.add(new SubTask(id, dto.getTitle(), dto.isCompleted()));
+            }
+        }
+        return result;
+    }
+    
+    private TaskDto convertToDto(Task task) {
+        TaskDto dto = new TaskDto();
+        dto.setId(task.getId().toString());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setStatus(toClientForm(task.getStatus()));
+        dto.setPriority(toClientForm(task.getPriority()));
+        dto.setProjectId(task.getProjectId() != null ? task.getProjectId().toString() : null);
+        dto.setAssigneeId(task.getAssigneeId());
+        dto.setCreatorId(task.getCreatorId());
+        dto.setLabels(new ArrayList<>(task.getLabels()));
+        List<SubTaskDto> subtasks = new ArrayList<>(task.getSubtasks().size());
+        for (SubTask subTask : task.getSubtasks()) {
+            SubTaskDto subTaskDto = new SubTaskDto();
+            subTaskDto.setId(subTask.getId());
+            subTaskDto.setTitle(subTask.getTitle());
+            subTaskDto.setCompleted(subTask.isCompleted());
+            subtasks.add(subTaskDto);
+        }
+        dto.setSubtasks(subtasks);
+        dto.setTimeSpent(task.getTimeSpent());
+        dto.setEstimatedHours(task.getEstimatedHours());
+        dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setBlocked(task.isBlocked());
+        return dto;
+    }
+}
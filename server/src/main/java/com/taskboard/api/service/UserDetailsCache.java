@@ -0,0 +1,158 @@
+package com.taskboard.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for {@link UserDetails} keyed by login identifier (username or email).
+ *
+ * L1 is an in-process Caffeine cache with a short TTL, L2 is an optional shared {@link UserDetailsRemoteCache}.
+ * Each {@link org.springframework.security.core.userdetails.UserDetailsService} reads its own {@link Namespace},
+ * since they cache different {@link UserDetails} types, and must cache immutable values only: a cached
+ * instance is shared by every request. Account changes must call {@link #evict(String...)} with every
+ * identifier of the user so that both aliases are dropped in all namespaces. Inside a transaction the
+ * eviction is repeated after commit, so a concurrent load cannot re-cache the pre-commit state.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "user.details";
+
+    /**
+     * Key space of one user details service.
+     */
+    public enum Namespace {
+        /** {@link com.taskboard.api.model.UserSnapshot} values of the account service. */
+        ACCOUNT("account:"),
+        /** Spring Security {@code User} values of the user module. */
+        USER_MODULE("user-module:");
+
+        private final String prefix;
+
+        Namespace(String prefix) {
+            this.prefix = prefix;
+        }
+
+        String key(String identifier) {
+            return prefix + identifier;
+        }
+    }
+
+    private final Cache<String, UserDetails> localCache;
+    private final UserDetailsRemoteCache remoteCache;
+    private final Counter remoteHitCounter;
+    private final Counter remoteMissCounter;
+
+    public UserDetailsCache(@Value("${app.cache.user-details.max-size:10000}") long maxSize,
+                            @Value("${app.cache.user-details.local-ttl-seconds:60}") long localTtlSeconds,
+                            ObjectProvider<UserDetailsRemoteCache> remoteCacheProvider,
+                            MeterRegistry meterRegistry) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        this.remoteCache = remoteCacheProvider.getIfAvailable();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", localCache, cache -> cache.stats().hitRate())
+                .description("Hit ratio of the in-process user details cache")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.remoteHitCounter = Counter.builder("cache.remote.gets")
+                .description("User details lookups answered by the shared cache tier")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.remoteMissCounter = Counter.builder("cache.remote.gets")
+                .description("User details lookups that missed the shared cache tier")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        log.info("User details cache initialized: max size {}, local TTL {}s, remote tier {}",
+                maxSize, localTtlSeconds, remoteCache != null ? "enabled" : "disabled");
+    }
+
+    /**
+     * Returns the cached user of the namespace or loads it through L2 and then the given loader.
+     * Loader exceptions such as {@link org.springframework.security.core.userdetails.UsernameNotFoundException}
+     * propagate and nothing is cached.
+     */
+    public UserDetails get(Namespace namespace, String identifier, Function<String, UserDetails> loader) {
+        return localCache.get(namespace.key(identifier), key -> loadThroughRemote(key, () -> loader.apply(identifier)));
+    }
+
+    /**
+     * Evicts every given identifier from both tiers and all namespaces. Null identifiers are ignored.
+     */
+    public void evict(String... keys) {
+        String[] identifiers = Arrays.stream(keys)
+                .filter(Objects::nonNull)
+                .distinct()
+                .flatMap(identifier -> Arrays.stream(Namespace.values()).map(namespace -> namespace.key(identifier)))
+                .toArray(String[]::new);
+        if (identifiers.length == 0) {
+            return;
+        }
+
+        evictNow(identifiers);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(identifiers);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        localCache.invalidateAll();
+    }
+
+    private UserDetails loadThroughRemote(String key, Supplier<UserDetails> loader) {
+        if (remoteCache != null) {
+            Optional<UserDetails> remote = remoteCache.get(key);
+            if (remote.isPresent()) {
+                remoteHitCounter.increment();
+                return remote.get();
+            }
+            remoteMissCounter.increment();
+        }
+
+        UserDetails loaded = loader.get();
+        if (remoteCache != null) {
+            remoteCache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private void evictNow(String[] identifiers) {
+        localCache.invalidateAll(Arrays.asList(identifiers));
+        if (remoteCache != null) {
+            remoteCache.evict(identifiers);
+        }
+        log.debug("Evicted user details cache entries: {}", Arrays.toString(identifiers));
+    }
+}
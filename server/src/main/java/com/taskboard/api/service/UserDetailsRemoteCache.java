@@ -0,0 +1,18 @@
+package com.taskboard.api.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+/**
+ * Shared second-level cache for {@link UserDetails}, consulted after the in-process cache misses.
+ * Implementations must never throw: a failing remote tier falls back to the database.
+ */
+public interface UserDetailsRemoteCache {
+
+    Optional<UserDetails> get(String key);
+
+    void put(String key, UserDetails userDetails);
+
+    void evict(String... keys);
+}
@@ -27,6 +27,9 @@ public class WebAuthnService {
     @Autowired
     private WebAuthnCredentialRepository credentialRepository;
 
+    @Autowired
+    private ExpirySweeper expirySweeper;
+
     /**
      * Create a registration challenge for WebAuthn
      */
@@ -163,12 +166,11 @@ public class WebAuthnService {
     }
 
     /**
-     * Clean up expired challenges
+     * Clean up expired challenges. {@link ExpirySweeper} also does this on a schedule; rows are deleted
+     * in chunks, each in its own transaction.
      */
-    @Transactional
     public void cleanupExpiredChallenges() {
-        challengeRepository.deleteExpiredChallenges(LocalDateTime.now());
-        long deletedCount = 0; // В реальной реализации можно получить количество удаленных записей
+        int deletedCount = expirySweeper.sweepWebAuthnChallenges(LocalDateTime.now());
         log.info("Cleaned up {} expired WebAuthn challenges", deletedCount);
     }
 }
\ No newline at end of file
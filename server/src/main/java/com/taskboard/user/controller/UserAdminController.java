@@ -1,6 +1,7 @@
 package com.taskboard.user.controller;
 
 import com.taskboard.user.dto.UserDto;
+import com.taskboard.user.dto.UserPageDto;
 import com.taskboard.user.dto.UserProfileDto;
 import com.taskboard.user.service.UserService;
 import jakarta.validation.Valid;
@@ -27,14 +28,32 @@ public class UserAdminController {
     private final UserService userService;
 
     /**
-     * Get all users (paginated)
+     * Get all users (paginated and sorted in the database).
+     * Keeps the original plain-list response; use {@code /api/users/page} for the page envelope.
      */
     @GetMapping
     public ResponseEntity<List<UserDto>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        log.info("Admin request to get all users: page={}, size={}", page, size);
-        List<UserDto> users = userService.getAllUsers(page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        log.info("Admin request to get all users: page={}, size={}, sort={} {}", page, size, sort, direction);
+        UserPageDto users = userService.getAllUsers(page, size, sort, direction, false);
+        return ResponseEntity.ok(users.getItems());
+    }
+
+    /**
+     * Get one page of users with paging metadata; the total is counted only when requested
+     */
+    @GetMapping("/page")
+    public ResponseEntity<UserPageDto> getUserPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.info("Admin request to get user page: page={}, size={}, sort={} {}", page, size, sort, direction);
+        UserPageDto users = userService.getAllUsers(page, size, sort, direction, includeTotal);
         return ResponseEntity.ok(users);
     }
 
@@ -103,12 +122,14 @@ public class UserAdminController {
     }
 
     /**
-     * Search users by email or name
+     * Search users by username, email or name (ranked, at most {@code limit} results)
      */
     @GetMapping("/search")
-    public ResponseEntity<List<UserDto>> searchUsers(@RequestParam String query) {
-        log.info("Admin request to search users: query={}", query);
-        List<UserDto> users = userService.searchUsers(query);
+    public ResponseEntity<List<UserDto>> searchUsers(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Admin request to search users: query={}, limit={}", query, limit);
+        List<UserDto> users = userService.searchUsers(query, limit);
         return ResponseEntity.ok(users);
     }
 }
@@ -0,0 +1,22 @@
+package com.taskboard.user.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of users for the admin console.
+ * {@code totalElements} is only filled in when the caller asks for it, since counting is a full scan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPageDto {
+
+    private List<UserDto> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+}
@@ -8,6 +8,7 @@ import com.taskboard.user.dto.*;
 import com.taskboard.user.model.NotificationSettings;
 import com.taskboard.user.model.UserEntity;
 import com.taskboard.user.model.UserPreferences;
+import com.taskboard.user.repository.UserSummaryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -29,6 +30,14 @@ public interface UserMapper {
      */
     UserDto toDto(UserEntity entity);
 
+    /**
+     * Convert a list projection to UserDto.
+     *
+     * @param view the user summary projection
+     * @return the user DTO
+     */
+    UserDto toDto(UserSummaryView view);
+
     /**
      * Convert UserEntity to UserProfileDto.
      *
@@ -83,6 +92,7 @@ public interface UserMapper {
     @Mapping(target = "credentialsNonExpired", constant = "true")
     @Mapping(target = "passwordResetToken", ignore = true)
     @Mapping(target = "passwordResetTokenExpiry", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true)
     UserEntity fromRegisterRequest(RegisterRequest request);
 
     /**
@@ -105,6 +115,7 @@ public interface UserMapper {
     @Mapping(target = "credentialsNonExpired", ignore = true)
     @Mapping(target = "passwordResetToken", ignore = true)
     @Mapping(target = "passwordResetTokenExpiry", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true) // Only bumped on security-relevant changes
     void updateEntityFromProfileRequest(UpdateProfileRequest request, @MappingTarget UserEntity entity);
 
     /**
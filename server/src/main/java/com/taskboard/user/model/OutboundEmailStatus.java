@@ -0,0 +1,10 @@
+package com.taskboard.user.model;
+
+/**
+ * Delivery state of an outbox email.
+ */
+public enum OutboundEmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -11,7 +11,10 @@ import java.util.Date;
  * Entity representing a user in the system.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_created_at", columnList = "createdAt"),
+    @Index(name = "idx_users_last_login", columnList = "lastLogin")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -84,6 +87,17 @@ public class UserEntity {
     @Temporal(TemporalType.TIMESTAMP)
     private Date passwordResetTokenExpiry;
 
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private long securityVersion = 0L;
+
+    /**
+     * Invalidates every token issued before this call in stateless principal mode.
+     */
+    public void bumpSecurityVersion() {
+        this.securityVersion++;
+    }
+
     /**
      * Pre-persist method to set default preferences if not provided.
      */
@@ -0,0 +1,110 @@
+package com.taskboard.user.repository;
+
+import com.taskboard.user.model.OutboundEmail;
+import com.taskboard.user.model.OutboundEmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository interface for the email outbox.
+ */
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, String> {
+
+    /**
+     * Pending emails that are due, oldest first.
+     *
+     * @param now the current time
+     * @param pageable the batch size
+     * @return due emails
+     */
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status = com.taskboard.user.model.OutboundEmailStatus.PENDING "
+            + "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDue(@Param("now") Date now, Pageable pageable);
+
+    /**
+     * Leases a due email to the calling dispatcher by moving its next attempt forward.
+     * Matching on the previously read timestamp makes the lease a compare-and-set across nodes.
+     *
+     * @param id the email ID
+     * @param seenNextAttemptAt the next attempt time read by the caller
+     * @param leaseUntil the end of the lease
+     * @return 1 if the lease was taken, 0 if another dispatcher got there first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.nextAttemptAt = :leaseUntil "
+            + "WHERE e.id = :id AND e.nextAttemptAt = :seen "
+            + "AND e.status = com.taskboard.user.model.OutboundEmailStatus.PENDING")
+    int lease(@Param("id") String id, @Param("seen") Date seenNextAttemptAt, @Param("leaseUntil") Date leaseUntil);
+
+    /**
+     * Marks emails as delivered.
+     *
+     * @param ids the email IDs
+     * @param sentAt the delivery time
+     * @return number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.status = com.taskboard.user.model.OutboundEmailStatus.SENT, "
+            + "e.sentAt = :sentAt, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<String> ids, @Param("sentAt") Date sentAt);
+
+    /**
+     * Records a failed attempt and either schedules a retry or gives up.
+     *
+     * @param id the email ID
+     * @param status PENDING to retry, FAILED to give up
+     * @param nextAttemptAt the time of the next attempt
+     * @param lastError the error summary
+     * @return number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.attempts = e.attempts + 1, "
+            + "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int recordFailure(@Param("id") String id, @Param("status") OutboundEmailStatus status,
+                      @Param("nextAttemptAt") Date nextAttemptAt, @Param("lastError") String lastError);
+
+    /**
+     * Puts a leased email back without counting an attempt, e.g. when its domain is over the rate limit.
+     *
+     * @param id the email ID
+     * @param nextAttemptAt the time of the next attempt
+     * @return number of updated rows
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboundEmail e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int reschedule(@Param("id") String id, @Param("nextAttemptAt") Date nextAttemptAt);
+
+    /**
+     * Deletes delivered emails older than the cutoff.
+     *
+     * @param cutoff the oldest delivery time to keep
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboundEmail e WHERE e.status = com.taskboard.user.model.OutboundEmailStatus.SENT "
+            + "AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") Date cutoff);
+
+    /**
+     * Count emails in the given state.
+     *
+     * @param status the status
+     * @return number of emails
+     */
+    long countByStatus(OutboundEmailStatus status);
+}
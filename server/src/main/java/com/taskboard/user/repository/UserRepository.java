@@ -1,12 +1,15 @@
 package com.taskboard.user.repository;
 
 import com.taskboard.user.model.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -57,16 +60,6 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
      */
     Optional<UserEntity> findByPasswordResetToken(String token);
 
-    /**
-     * Update last login timestamp for a user.
-     *
-     * @param userId the user ID
-     * @param lastLogin the last login date
-     */
-    @Modifying
-    @Query("UPDATE UserEntity u SET u.lastLogin = :lastLogin WHERE u.id = :userId")
-    void updateLastLogin(@Param("userId") String userId, @Param("lastLogin") Date lastLogin);
-
     /**
      * Delete users with expired password reset tokens.
      *
@@ -80,10 +73,60 @@ public interface UserRepository extends JpaRepository<UserEntity, String> {
 
     /**
      * Find users by email or username containing the given query.
+     * Only used while the in-memory search index is not built yet.
      *
      * @param email the email query
      * @param username the username query
+     * @param pageable the result limit
      * @return list of matching users
      */
-    List<UserEntity> findByEmailContainingIgnoreCaseOrUsernameContainingIgnoreCase(String email, String username);
+    List<UserEntity> findByEmailContainingIgnoreCaseOrUsernameContainingIgnoreCase(String email, String username,
+                                                                                   Pageable pageable);
+
+    /**
+     * Page of user summaries without a count query.
+     * Sorting is taken from the pageable and applied in the database.
+     *
+     * @param pageable page, size and sort
+     * @return the requested slice of users
+     */
+    @Query("SELECT new com.taskboard.user.repository.UserSummaryView("
+            + "u.id, u.email, u.username, u.role, u.avatar, u.createdAt, u.lastLogin, u.preferences) "
+            + "FROM UserEntity u")
+    Slice<UserSummaryView> findSummaries(Pageable pageable);
+
+    /**
+     * User summaries for the given ids, in no particular order.
+     *
+     * @param ids the user ids
+     * @return the matching users
+     */
+    @Query("SELECT new com.taskboard.user.repository.UserSummaryView("
+            + "u.id, u.email, u.username, u.role, u.avatar, u.createdAt, u.lastLogin, u.preferences) "
+            + "FROM UserEntity u WHERE u.id IN :ids")
+    List<UserSummaryView> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * First keyset page of the searchable user fields in id order, used to build the in-memory search index.
+     * The pageable only carries the limit; no count query is issued.
+     *
+     * @param pageable the page size
+     * @return up to one page of users
+     */
+    @Query("SELECT new com.taskboard.user.repository.UserSearchView("
+            + "u.id, u.username, u.email, u.firstName, u.lastName) "
+            + "FROM UserEntity u ORDER BY u.id")
+    List<UserSearchView> findSearchPage(Pageable pageable);
+
+    /**
+     * Keyset page of the searchable user fields following the given id, so each page is an index range scan.
+     *
+     * @param id the last id of the previous page
+     * @param pageable the page size
+     * @return up to one page of users
+     */
+    @Query("SELECT new com.taskboard.user.repository.UserSearchView("
+            + "u.id, u.username, u.email, u.firstName, u.lastName) "
+            + "FROM UserEntity u WHERE u.id > :id ORDER BY u.id")
+    List<UserSearchView> findSearchPageAfter(@Param("id") String id, Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package com.taskboard.user.repository;
+
+/**
+ * Projection with the columns indexed by the admin user search.
+ */
+public record UserSearchView(
+        String id,
+        String username,
+        String email,
+        String firstName,
+        String lastName) {
+}
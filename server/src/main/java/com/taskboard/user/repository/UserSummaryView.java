@@ -0,0 +1,21 @@
+package com.taskboard.user.repository;
+
+import com.taskboard.user.model.UserPreferences;
+import com.taskboard.user.model.UserRole;
+
+import java.util.Date;
+
+/**
+ * Projection with only the columns needed for user lists.
+ * Password, reset token and account flags are never loaded for list views.
+ */
+public record UserSummaryView(
+        String id,
+        String email,
+        String username,
+        UserRole role,
+        String avatar,
+        Date createdAt,
+        Date lastLogin,
+        UserPreferences preferences) {
+}
@@ -1,5 +1,6 @@
 package com.taskboard.user.service;
 
+import com.taskboard.api.service.UserDetailsCache;
 import com.taskboard.user.model.UserEntity;
 import com.taskboard.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,13 +12,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 
 /**
  * Custom implementation of UserDetailsService for Spring Security.
+ * Lookups go through {@link UserDetailsCache}; callers receive a copy because
+ * Spring Security erases credentials on the returned instance after authentication.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,10 +27,27 @@ import java.util.List;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return copyOf(userDetailsCache.get(UserDetailsCache.Namespace.USER_MODULE, username,
+                this::loadFromRepositoryByUsername));
+    }
+
+    /**
+     * Load user by email.
+     *
+     * @param email the email
+     * @return UserDetails
+     * @throws UsernameNotFoundException if user not found
+     */
+    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+        return copyOf(userDetailsCache.get(UserDetailsCache.Namespace.USER_MODULE, email,
+                this::loadFromRepositoryByEmail));
+    }
+
+    private UserDetails loadFromRepositoryByUsername(String username) {
         log.debug("Loading user by username: {}", username);
 
         UserEntity user = userRepository.findByUsername(username)
@@ -40,15 +59,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         return createSpringSecurityUser(user);
     }
 
-    /**
-     * Load user by email.
-     *
-     * @param email the email
-     * @return UserDetails
-     * @throws UsernameNotFoundException if user not found
-     */
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+    private UserDetails loadFromRepositoryByEmail(String email) {
         log.debug("Loading user by email: {}", email);
 
         UserEntity user = userRepository.findByEmail(email)
@@ -60,6 +71,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         return createSpringSecurityUser(user);
     }
 
+    /**
+     * Copy cached details so credential erasure never touches the shared instance.
+     */
+    private UserDetails copyOf(UserDetails cached) {
+        return User.withUserDetails(cached).build();
+    }
+
     /**
      * Create Spring Security User from UserEntity.
      *
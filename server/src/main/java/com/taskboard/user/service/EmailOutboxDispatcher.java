@@ -0,0 +1,248 @@
+package com.taskboard.user.service;
+
+import com.taskboard.user.model.OutboundEmail;
+import com.taskboard.user.model.OutboundEmailStatus;
+import com.taskboard.user.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox.
+ *
+ * Each run leases a batch of due emails, so several nodes can dispatch without sending the same message
+ * twice, and hands all of them to {@link JavaMailSender} in one call, which sends them over a single SMTP
+ * connection. Failed messages are retried with exponential backoff until the attempt limit; recipients'
+ * domains are rate limited per minute. Delivery is at least once: an email whose send succeeded but whose
+ * status update was lost in a crash is sent again once its lease expires.
+ */
+@Component
+@ConditionalOnBean(JavaMailSender.class)
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseMillis;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int perDomainPerMinute;
+    private final long retentionMillis;
+
+    /** Messages sent per domain in the current minute; only touched by the dispatching thread. */
+    private final Map<String, Integer> domainWindowCounts = new HashMap<>();
+    private long domainWindowMinute;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter throttledCounter;
+
+    public EmailOutboxDispatcher(OutboundEmailRepository outboundEmailRepository,
+                                 JavaMailSender mailSender,
+                                 @Value("${spring.mail.username:}") String fromEmail,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.mail.outbox.lease-seconds:120}") long leaseSeconds,
+                                 @Value("${app.mail.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                                 @Value("${app.mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                                 @Value("${app.mail.outbox.per-domain-per-minute:60}") int perDomainPerMinute,
+                                 @Value("${app.mail.outbox.retention-days:7}") int retentionDays,
+                                 MeterRegistry meterRegistry) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        this.initialBackoffMillis = TimeUnit.SECONDS.toMillis(initialBackoffSeconds);
+        this.maxBackoffMillis = TimeUnit.SECONDS.toMillis(maxBackoffSeconds);
+        this.perDomainPerMinute = perDomainPerMinute;
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+
+        this.sentCounter = outboxCounter(meterRegistry, "sent");
+        this.retriedCounter = outboxCounter(meterRegistry, "retried");
+        this.failedCounter = outboxCounter(meterRegistry, "failed");
+        this.throttledCounter = outboxCounter(meterRegistry, "throttled");
+    }
+
+    /**
+     * Sends one batch of due emails.
+     *
+     * @return number of emails delivered
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public int dispatch() {
+        long now = System.currentTimeMillis();
+        List<OutboundEmail> due = outboundEmailRepository.findDue(new Date(now), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Date leaseUntil = new Date(now + leaseMillis);
+        Map<MimeMessage, OutboundEmail> batch = new IdentityHashMap<>();
+        for (OutboundEmail email : due) {
+            if (outboundEmailRepository.lease(email.getId(), email.getNextAttemptAt(), leaseUntil) == 0) {
+                continue;
+            }
+            if (!tryAcquireDomainPermit(email.getRecipientDomain(), now)) {
+                outboundEmailRepository.reschedule(email.getId(), new Date(nextMinuteStart(now)));
+                throttledCounter.increment();
+                continue;
+            }
+            try {
+                batch.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                recordFailure(email, e, true);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, Exception> failures = send(batch);
+        List<String> sentIds = new ArrayList<>(batch.size());
+        batch.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(email.getId());
+            } else {
+                recordFailure(email, failure, false);
+            }
+        });
+        if (!sentIds.isEmpty()) {
+            outboundEmailRepository.markSent(sentIds, new Date());
+            sentCounter.increment(sentIds.size());
+        }
+        log.debug("Email outbox batch: {} sent, {} failed", sentIds.size(), failures.size());
+        return sentIds.size();
+    }
+
+    /**
+     * Deletes delivered emails once they are past the retention period.
+     */
+    @Scheduled(cron = "${app.mail.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        int deleted = outboundEmailRepository.deleteSentBefore(new Date(cutoff));
+        if (deleted > 0) {
+            log.info("Deleted {} delivered emails from the outbox", deleted);
+        }
+    }
+
+    /**
+     * Sends the batch over one connection and returns the messages that failed.
+     * A failure before any message was attempted, such as a refused connection, fails the whole batch.
+     */
+    private Map<MimeMessage, Exception> send(Map<MimeMessage, OutboundEmail> batch) {
+        try {
+            mailSender.send(batch.keySet().toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+                e.getFailedMessages().forEach((message, error) -> {
+                    if (message instanceof MimeMessage mimeMessage) {
+                        failures.put(mimeMessage, error);
+                    }
+                });
+                return failures;
+            }
+            return allFailed(batch, e);
+        } catch (MailException e) {
+            return allFailed(batch, e);
+        }
+    }
+
+    private static Map<MimeMessage, Exception> allFailed(Map<MimeMessage, OutboundEmail> batch, Exception e) {
+        Map<MimeMessage, Exception> failures = new IdentityHashMap<>();
+        batch.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        if (fromEmail != null && !fromEmail.isBlank()) {
+            helper.setFrom(fromEmail);
+        }
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return message;
+    }
+
+    private void recordFailure(OutboundEmail email, Exception error, boolean permanent) {
+        int attempt = email.getAttempts() + 1;
+        boolean giveUp = permanent || attempt >= maxAttempts;
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        String message = String.valueOf(error.getMessage());
+        outboundEmailRepository.recordFailure(email.getId(),
+                giveUp ? OutboundEmailStatus.FAILED : OutboundEmailStatus.PENDING,
+                new Date(System.currentTimeMillis() + backoff),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (giveUp) {
+            failedCounter.increment();
+            log.error("Giving up on email '{}' to {} after {} attempts: {}",
+                    email.getSubject(), email.getRecipient(), attempt, message);
+        } else {
+            retriedCounter.increment();
+            log.warn("Email '{}' to {} failed (attempt {}), retrying in {}s: {}",
+                    email.getSubject(), email.getRecipient(), attempt, TimeUnit.MILLISECONDS.toSeconds(backoff), message);
+        }
+    }
+
+    private boolean tryAcquireDomainPermit(String domain, long now) {
+        if (perDomainPerMinute <= 0) {
+            return true;
+        }
+        long minute = TimeUnit.MILLISECONDS.toMinutes(now);
+        if (minute != domainWindowMinute) {
+            domainWindowCounts.clear();
+            domainWindowMinute = minute;
+        }
+        int sent = domainWindowCounts.getOrDefault(domain, 0);
+        if (sent >= perDomainPerMinute) {
+            return false;
+        }
+        domainWindowCounts.put(domain, sent + 1);
+        return true;
+    }
+
+    private static long nextMinuteStart(long now) {
+        return TimeUnit.MINUTES.toMillis(TimeUnit.MILLISECONDS.toMinutes(now) + 1);
+    }
+
+    private static Counter outboxCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mail.outbox.messages")
+                .description("Outbox email outcomes: sent, retried, failed for good, or throttled per domain")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,467 @@
+package com.taskboard.user.service;
+
+import com.taskboard.user.model.UserEntity;
+import com.taskboard.user.repository.UserRepository;
+import com.taskboard.user.repository.UserSearchView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process search index over username, email, first name and last name.
+ *
+ * Every field is split into trigrams for substring queries, and the first one and two characters of each
+ * word are indexed as prefix keys so that one- and two-character queries stay prefix matches instead of
+ * scanning everyone. Candidates from the posting lists are verified against the normalized fields and
+ * ranked: exact field match, then field prefix, then word prefix, then any substring.
+ *
+ * Each document gets an int ordinal within its segment and the posting lists are sorted int arrays of
+ * ordinals, replaced copy-on-write, so a key costs a few bytes per user instead of a set of id strings.
+ * Documents do not keep their keys; they are recomputed from the fields when a document is replaced.
+ *
+ * The index is built from the database at startup and rebuilt periodically so that writes made by other
+ * nodes or through the legacy user model are picked up. Changes made through {@link UserService} are
+ * applied immediately, or after commit when a transaction is active, so rolled-back writes never show up.
+ * Reads are lock-free; writes and the rebuild swap are serialized on the index.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final char PREFIX_MARKER = '^';
+
+    private static final int SCORE_EXACT = 4;
+    private static final int SCORE_FIELD_PREFIX = 3;
+    private static final int SCORE_WORD_PREFIX = 2;
+    private static final int SCORE_SUBSTRING = 1;
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::score).reversed()
+            .thenComparingInt(Match::fieldLength)
+            .thenComparing(match -> match.document().username());
+
+    private final UserRepository userRepository;
+    private final int rebuildBatchSize;
+
+    private volatile Segment segment = new Segment();
+    private volatile boolean ready;
+
+    /** Changes applied while a rebuild is scanning the table; replayed onto the new segment before the swap. */
+    private Map<String, Document> rebuildJournal;
+
+    public UserSearchIndex(UserRepository userRepository,
+                           @Value("${app.user-search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.userRepository = userRepository;
+        this.rebuildBatchSize = Math.max(rebuildBatchSize, 1);
+    }
+
+    /**
+     * Whether the initial build has completed. Until then callers should fall back to the database.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return segment.documents.size();
+    }
+
+    /**
+     * Returns the ids of the best matching users, best first.
+     *
+     * @param query the raw search text; blank queries match nobody
+     * @param limit the maximum number of ids to return
+     */
+    public List<String> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Segment current = segment;
+        int[] candidates = current.candidates(needle);
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int ordinal : candidates) {
+            Document document = current.documents.get(ordinal);
+            if (document == null) {
+                continue;
+            }
+            Match match = document.match(needle);
+            if (match == null) {
+                continue;
+            }
+            best.offer(match);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<String> ids = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            ids.add(match.document().id());
+        }
+        return ids;
+    }
+
+    /**
+     * Indexes the user's current fields once the surrounding transaction commits.
+     */
+    public void index(UserEntity user) {
+        Document document = Document.of(user.getId(), user.getUsername(), user.getEmail(),
+                user.getFirstName(), user.getLastName());
+        afterCommit(() -> apply(document.id(), document));
+    }
+
+    /**
+     * Drops the user from the index once the surrounding transaction commits.
+     */
+    public void remove(String userId) {
+        afterCommit(() -> apply(userId, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from the database in id order, paging by keyset, and swaps it in. Local changes
+     * made during the scan are replayed onto the new segment, so none are lost to the swap. Unchanged
+     * documents are shared with the current segment, so only the posting arrays exist twice meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${app.user-search.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.user-search.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuildJournal != null) {
+                return;
+            }
+            rebuildJournal = new HashMap<>();
+        }
+
+        Segment current = segment;
+        SegmentBuilder builder = new SegmentBuilder();
+        Segment rebuilt;
+        try {
+            Pageable limit = PageRequest.of(0, rebuildBatchSize);
+            List<UserSearchView> page = userRepository.findSearchPage(limit);
+            while (true) {
+                for (UserSearchView view : page) {
+                    Document document = Document.of(view.id(), view.username(), view.email(),
+                            view.firstName(), view.lastName());
+                    Document previous = current.document(view.id());
+                    builder.add(previous != null && Arrays.equals(previous.fields(), document.fields())
+                            ? previous : document);
+                }
+                if (page.size() < rebuildBatchSize) {
+                    break;
+                }
+                page = userRepository.findSearchPageAfter(page.get(page.size() - 1).id(), limit);
+            }
+            rebuilt = builder.build();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                rebuildJournal = null;
+            }
+            log.warn("Failed to rebuild user search index, keeping previous snapshot: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            rebuildJournal.forEach((id, document) -> {
+                if (document == null) {
+                    rebuilt.remove(id);
+                } else {
+                    rebuilt.put(document);
+                }
+            });
+            rebuildJournal = null;
+            segment = rebuilt;
+            ready = true;
+        }
+        log.debug("User search index rebuilt: {} users, {} keys", rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    private synchronized void apply(String id, Document document) {
+        if (document == null) {
+            segment.remove(id);
+        } else {
+            segment.put(document);
+        }
+        if (rebuildJournal != null) {
+            rebuildJournal.put(id, document);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Posting lists plus the documents they point to. Mutated only under the index lock; the posting
+     * arrays are never changed in place, so readers always see a complete, sorted array.
+     */
+    private static final class Segment {
+
+        private static final int[] NONE = new int[0];
+
+        private final Map<String, int[]> postings = new ConcurrentHashMap<>();
+        private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+        private int nextOrdinal;
+
+        Document document(String id) {
+            Integer ordinal = ordinals.get(id);
+            return ordinal == null ? null : documents.get(ordinal);
+        }
+
+        /**
+         * Assigns the next ordinal, which is larger than every ordinal already in a posting list.
+         */
+        int register(Document document) {
+            int ordinal = nextOrdinal++;
+            ordinals.put(document.id(), ordinal);
+            documents.put(ordinal, document);
+            return ordinal;
+        }
+
+        void put(Document document) {
+            remove(document.id());
+            int ordinal = register(document);
+            for (String key : document.keys()) {
+                postings.merge(key, new int[] {ordinal}, (ids, single) -> append(ids, ordinal));
+            }
+        }
+
+        void remove(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            Document previous = documents.remove(ordinal);
+            for (String key : previous.keys()) {
+                postings.computeIfPresent(key, (k, ids) -> without(ids, ordinal));
+            }
+        }
+
+        /**
+         * Intersects the posting lists of the query's keys, smallest first. The result is a superset of
+         * the matches and still has to be verified.
+         */
+        int[] candidates(String needle) {
+            if (needle.length() < GRAM_LENGTH) {
+                return postings.getOrDefault(PREFIX_MARKER + needle, NONE);
+            }
+
+            List<int[]> lists = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                int[] ids = postings.get(gram);
+                if (ids == null) {
+                    return NONE;
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(ids -> ids.length));
+
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        private static int[] append(int[] ids, int ordinal) {
+            int[] copy = Arrays.copyOf(ids, ids.length + 1);
+            copy[ids.length] = ordinal;
+            return copy;
+        }
+
+        private static int[] without(int[] ids, int ordinal) {
+            int index = Arrays.binarySearch(ids, ordinal);
+            if (index < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            int[] copy = new int[ids.length - 1];
+            System.arraycopy(ids, 0, copy, 0, index);
+            System.arraycopy(ids, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int size = 0;
+            for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return size == result.length ? result : Arrays.copyOf(result, size);
+        }
+    }
+
+    /**
+     * Bulk loader for a fresh segment. Documents are added in id order and get ascending ordinals, so the
+     * posting lists are appended to in place and only trimmed to exact arrays once at the end.
+     */
+    private static final class SegmentBuilder {
+
+        private final Segment segment = new Segment();
+        private final Map<String, IntList> postings = new HashMap<>();
+
+        void add(Document document) {
+            int ordinal = segment.register(document);
+            for (String key : document.keys()) {
+                postings.computeIfAbsent(key, k -> new IntList()).add(ordinal);
+            }
+        }
+
+        Segment build() {
+            for (Iterator<Map.Entry<String, IntList>> it = postings.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, IntList> entry = it.next();
+                segment.postings.put(entry.getKey(), entry.getValue().toArray());
+                it.remove();
+            }
+            return segment;
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Normalized searchable fields of one user.
+     */
+    private record Document(String id, String username, String[] fields) {
+
+        static Document of(String id, String username, String email, String firstName, String lastName) {
+            String[] fields = {normalize(username), normalize(email), normalize(firstName), normalize(lastName)};
+            return new Document(id, fields[0], fields);
+        }
+
+        /**
+         * The index keys derived from the fields: trigrams plus one- and two-character word prefixes.
+         */
+        Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            for (String field : fields) {
+                keys.addAll(grams(field));
+                int start = 0;
+                for (int i = 0; i <= field.length(); i++) {
+                    if (i == field.length() || !Character.isLetterOrDigit(field.charAt(i))) {
+                        addPrefixKeys(keys, field, start, i);
+                        start = i + 1;
+                    }
+                }
+            }
+            return keys;
+        }
+
+        private static void addPrefixKeys(Set<String> keys, String field, int start, int end) {
+            for (int length = 1; length < GRAM_LENGTH && start + length <= end; length++) {
+                keys.add(PREFIX_MARKER + field.substring(start, start + length));
+            }
+        }
+
+        /**
+         * Scores the best matching field, or returns null if no field contains the query.
+         */
+        Match match(String needle) {
+            int bestScore = 0;
+            int bestLength = Integer.MAX_VALUE;
+            for (String field : fields) {
+                int score = score(field, needle);
+                if (score > bestScore || (score == bestScore && score > 0 && field.length() < bestLength)) {
+                    bestScore = score;
+                    bestLength = field.length();
+                }
+            }
+            return bestScore == 0 ? null : new Match(this, bestScore, bestLength);
+        }
+
+        private static int score(String field, String needle) {
+            int index = field.indexOf(needle);
+            if (index < 0) {
+                return 0;
+            }
+            if (index == 0) {
+                return field.length() == needle.length() ? SCORE_EXACT : SCORE_FIELD_PREFIX;
+            }
+            for (int i = index; i >= 0; i = field.indexOf(needle, i + 1)) {
+                if (!Character.isLetterOrDigit(field.charAt(i - 1))) {
+                    return SCORE_WORD_PREFIX;
+                }
+            }
+            return SCORE_SUBSTRING;
+        }
+    }
+
+    private record Match(Document document, int score, int fieldLength) {
+    }
+}
@@ -11,6 +11,7 @@ import com.taskboard.user.dto.RefreshTokenResponse;
 import com.taskboard.user.dto.ForgotPasswordRequest;
 import com.taskboard.user.dto.ResetPasswordRequest;
 import com.taskboard.user.dto.UserDto;
+import com.taskboard.user.dto.UserPageDto;
 import com.taskboard.user.dto.UserProfileDto;
 
 import java.util.List;
@@ -137,13 +138,16 @@ public interface UserService {
     // Admin operations
 
     /**
-     * Get all users with pagination.
+     * Get a page of users, sorted in the database.
      *
-     * @param page the page number
+     * @param page the zero-based page number
      * @param size the page size
-     * @return list of users
+     * @param sort the sort field: createdAt, lastLogin or username
+     * @param direction the sort direction: asc or desc
+     * @param includeTotal whether to count all users for the page envelope
+     * @return the page of users
      */
-    List<UserDto> getAllUsers(int page, int size);
+    UserPageDto getAllUsers(int page, int size, String sort, String direction, boolean includeTotal);
 
     /**
      * Get user by ID.
@@ -195,15 +199,16 @@ public interface UserService {
     UserProfileDto updateUserRole(String userId, String role);
 
     /**
-     * Search users by email or name.
+     * Search users by username, email, first or last name.
      *
      * @param query the search query
-     * @return list of matching users
+     * @param limit the maximum number of results
+     * @return matching users, best match first
      */
-    List<UserDto> searchUsers(String query);
+    List<UserDto> searchUsers(String query, int limit);
 
     /**
-     * Update user's last login timestamp.
+     * Update user's last login timestamp. The write may be deferred and batched.
      *
      * @param userId the user ID
      */
@@ -1,124 +1,93 @@
 package com.taskboard.user.service.impl;
 
+import com.taskboard.user.model.OutboundEmail;
+import com.taskboard.user.repository.OutboundEmailRepository;
 import com.taskboard.user.service.EmailService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.Locale;
 
 /**
  * Implementation of EmailService.
+ * Emails are written to the outbox in the caller's transaction and delivered by
+ * {@link com.taskboard.user.service.EmailOutboxDispatcher}, so no SMTP round trip happens on the request path
+ * and an email is only sent if the surrounding change commits.
  */
 @Service
 @ConditionalOnBean(JavaMailSender.class)
+@RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-
-    @Value("${spring.mail.username:}")
-    private String fromEmail;
+    private final OutboundEmailRepository outboundEmailRepository;
 
     @Override
+    @Transactional
     public void sendPasswordResetEmail(String email, String username, String resetUrl) {
-        log.debug("Sending password reset email to: {}", email);
-
-        if (mailSender == null) {
-            log.warn("Mail sender is not configured. Email will not be sent to: {}", email);
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("Password Reset Request");
-            message.setText(String.format(
-                "Hello %s,\n\n" +
-                "You have requested to reset your password. " +
-                "Please click the link below to reset your password:\n\n" +
-                "%s\n\n" +
-                "This link will expire in 1 hour.\n\n" +
-                "If you did not request this, please ignore this email.\n\n" +
-                "Best regards,\n" +
-                "Taskboard Team",
-                username, resetUrl
-            ));
-
-            mailSender.send(message);
-            log.info("Password reset email sent successfully to: {}", email);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", email, e);
-            // In production, you might want to throw an exception or handle this differently
-        }
+        log.debug("Queueing password reset email for: {}", email);
+
+        enqueue(email, "Password Reset Request", String.format(
+            "Hello %s,\n\n" +
+            "You have requested to reset your password. " +
+            "Please click the link below to reset your password:\n\n" +
+            "%s\n\n" +
+            "This link will expire in 1 hour.\n\n" +
+            "If you did not request this, please ignore this email.\n\n" +
+            "Best regards,\n" +
+            "Taskboard Team",
+            username, resetUrl
+        ));
     }
 
     @Override
+    @Transactional
     public void sendWelcomeEmail(String email, String username) {
-        log.debug("Sending welcome email to: {}", email);
-
-        if (mailSender == null) {
-            log.warn("Mail sender is not configured. Email will not be sent to: {}", email);
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("Welcome to Taskboard!");
-            message.setText(String.format(
-                "Hello %s,\n\n" +
-                "Welcome to Taskboard! We're excited to have you on board.\n\n" +
-                "You can now start creating projects and managing your tasks.\n\n" +
-                "If you have any questions, feel free to reach out to our support team.\n\n" +
-                "Best regards,\n" +
-                "Taskboard Team",
-                username
-            ));
-
-            mailSender.send(message);
-            log.info("Welcome email sent successfully to: {}", email);
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to: {}", email, e);
-            // In production, you might want to throw an exception or handle this differently
-        }
+        log.debug("Queueing welcome email for: {}", email);
+
+        enqueue(email, "Welcome to Taskboard!", String.format(
+            "Hello %s,\n\n" +
+            "Welcome to Taskboard! We're excited to have you on board.\n\n" +
+            "You can now start creating projects and managing your tasks.\n\n" +
+            "If you have any questions, feel free to reach out to our support team.\n\n" +
+            "Best regards,\n" +
+            "Taskboard Team",
+            username
+        ));
     }
 
     @Override
+    @Transactional
     public void sendEmailVerification(String email, String username, String verificationUrl) {
-        log.debug("Sending email verification to: {}", email);
-
-        if (mailSender == null) {
-            log.warn("Mail sender is not configured. Email will not be sent to: {}", email);
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("Verify Your Email");
-            message.setText(String.format(
-                "Hello %s,\n\n" +
-                "Please verify your email address by clicking the link below:\n\n" +
-                "%s\n\n" +
-                "This link will expire in 24 hours.\n\n" +
-                "If you did not create an account, please ignore this email.\n\n" +
-                "Best regards,\n" +
-                "Taskboard Team",
-                username, verificationUrl
-            ));
+        log.debug("Queueing email verification for: {}", email);
+
+        enqueue(email, "Verify Your Email", String.format(
+            "Hello %s,\n\n" +
+            "Please verify your email address by clicking the link below:\n\n" +
+            "%s\n\n" +
+            "This link will expire in 24 hours.\n\n" +
+            "If you did not create an account, please ignore this email.\n\n" +
+            "Best regards,\n" +
+            "Taskboard Team",
+            username, verificationUrl
+        ));
+    }
 
-            mailSender.send(message);
-            log.info("Email verification sent successfully to: {}", email);
-        } catch (Exception e) {
-            log.error("Failed to send email verification to: {}", email, e);
-            // In production, you might want to throw an exception or handle this differently
-        }
+    private void enqueue(String email, String subject, String body) {
+        int at = email.lastIndexOf('@');
+        OutboundEmail outboundEmail = OutboundEmail.builder()
+                .recipient(email)
+                .recipientDomain(email.substring(at + 1).toLowerCase(Locale.ROOT))
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(new Date())
+                .build();
+        outboundEmailRepository.save(outboundEmail);
+        log.info("Email '{}' queued for: {}", subject, email);
     }
 }
@@ -2,25 +2,39 @@ package com.taskboard.user.service.impl;
 
 import com.taskboard.api.dto.*;
 import com.taskboard.api.service.JwtService;
+import com.taskboard.api.service.LastLoginWriteBehindBuffer;
 import com.taskboard.api.service.MessageService;
+import com.taskboard.api.service.SecurityVersionDenylist;
+import com.taskboard.api.service.UserDetailsCache;
 import com.taskboard.user.dto.*;
 import com.taskboard.user.mapper.UserMapper;
 import com.taskboard.user.model.UserEntity;
 import com.taskboard.user.model.UserRole;
 import com.taskboard.user.repository.UserRepository;
+import com.taskboard.user.repository.UserSummaryView;
 import com.taskboard.user.service.EmailService;
+import com.taskboard.user.service.UserSearchIndex;
 import com.taskboard.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -32,12 +46,20 @@ import java.util.UUID;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_USER_PAGE_SIZE = 100;
+    private static final Set<String> USER_SORT_FIELDS = Set.of("createdAt", "lastLogin", "username");
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final MessageService messageService;
     private final EmailService emailService;
+    private final UserDetailsCache userDetailsCache;
+    private final UserSearchIndex userSearchIndex;
+    private final LastLoginWriteBehindBuffer lastLoginBuffer;
+    private final SecurityVersionDenylist securityVersionDenylist;
 
     @Value("${password.reset.token.expiration:3600000}")
     private long passwordResetTokenExpiration;
@@ -69,6 +91,13 @@ public class UserServiceImpl implements UserService {
                     messageService.getMessage("auth.error.account.locked"));
         }
 
+        // Rehash passwords stored with an outdated BCrypt cost while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user = userRepository.save(user);
+            userDetailsCache.evict(user.getUsername(), user.getEmail());
+        }
+
         // Update last login
         updateLastLogin(user.getId());
 
@@ -109,6 +138,7 @@ public class UserServiceImpl implements UserService {
         // Don't set lastLogin on registration - it should be null until first login
 
         user = userRepository.save(user);
+        userSearchIndex.index(user);
 
         // Generate tokens
         String token = jwtService.generateToken(user.getUsername());
@@ -162,8 +192,12 @@ public class UserServiceImpl implements UserService {
         }
 
         // Update user fields
+        String previousUsername = user.getUsername();
+        String previousEmail = user.getEmail();
         userMapper.updateEntityFromProfileRequest(request, user);
         user = userRepository.save(user);
+        userDetailsCache.evict(previousUsername, previousEmail, user.getUsername(), user.getEmail());
+        userSearchIndex.index(user);
 
         log.info("Profile updated for user: {}", user.getEmail());
 
@@ -186,7 +220,9 @@ public class UserServiceImpl implements UserService {
 
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        revokeTokens(user, user.getUsername());
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername(), user.getEmail());
 
         log.info("Password changed for user: {}", user.getEmail());
     }
@@ -228,7 +264,7 @@ public class UserServiceImpl implements UserService {
         String resetUrl = passwordResetUrlBase + "?token=" + resetToken;
         emailService.sendPasswordResetEmail(user.getEmail(), user.getUsername(), resetUrl);
 
-        log.info("Password reset email sent to: {}", user.getEmail());
+        log.info("Password reset email queued for: {}", user.getEmail());
 
         return MessageResponse.of(messageService.getMessage("auth.password.reset.email.sent"));
     }
@@ -252,7 +288,9 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
+        revokeTokens(user, user.getUsername());
         userRepository.save(user);
+        userDetailsCache.evict(user.getUsername(), user.getEmail());
 
         log.info("Password reset successful for user: {}", user.getEmail());
 
@@ -317,14 +355,33 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers(int page, int size) {
-        log.debug("Getting all users: page={}, size={}", page, size);
-        return userRepository.findAll()
-                .stream()
-                .skip((long) page * size)
-                .limit(size)
-                .map(userMapper::toDto)
-                .toList();
+    public UserPageDto getAllUsers(int page, int size, String sort, String direction, boolean includeTotal) {
+        log.debug("Getting users: page={}, size={}, sort={} {}", page, size, sort, direction);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_USER_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, userSort(sort, direction));
+        Slice<UserSummaryView> slice = userRepository.findSummaries(pageable);
+
+        return UserPageDto.builder()
+                .items(slice.getContent().stream().map(userMapper::toDto).toList())
+                .page(slice.getNumber())
+                .size(pageSize)
+                .hasNext(slice.hasNext())
+                .totalElements(includeTotal ? userRepository.count() : null)
+                .build();
+    }
+
+    /**
+     * Maps an admin sort field to a database sort; the id keeps the order stable across pages.
+     */
+    private static Sort userSort(String sort, String direction) {
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String field = sort == null || sort.isBlank() ? "createdAt" : sort;
+        if (!USER_SORT_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        }
+        Sort.Order order = new Sort.Order(sortDirection, field, Sort.NullHandling.NULLS_LAST);
+        return Sort.by(order, Sort.Order.asc("id"));
     }
 
     @Override
@@ -359,6 +416,7 @@ public class UserServiceImpl implements UserService {
         user.setCreatedAt(new Date());
 
         UserEntity savedUser = userRepository.save(user);
+        userSearchIndex.index(savedUser);
         log.info("User created successfully: {}", savedUser.getEmail());
 
         return userMapper.toProfileDto(savedUser);
@@ -383,6 +441,12 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Username already exists: " + userDto.getUsername());
         }
 
+        String previousUsername = user.getUsername();
+        String previousEmail = user.getEmail();
+        if (user.getRole() != userDto.getRole() || !previousUsername.equals(userDto.getUsername())
+                || !previousEmail.equals(userDto.getEmail())) {
+            revokeTokens(user, previousUsername);
+        }
         user.setEmail(userDto.getEmail());
         user.setUsername(userDto.getUsername());
         user.setRole(userDto.getRole());
@@ -390,6 +454,8 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedAt(new Date());
 
         UserEntity savedUser = userRepository.save(user);
+        userDetailsCache.evict(previousUsername, previousEmail, savedUser.getUsername(), savedUser.getEmail());
+        userSearchIndex.index(savedUser);
         log.info("User updated successfully: {}", savedUser.getEmail());
 
         return userMapper.toProfileDto(savedUser);
@@ -403,6 +469,10 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
 
         userRepository.delete(user);
+        // The row is gone, so other nodes cannot see a version change; they rely on token expiry
+        securityVersionDenylist.recordSubjectRevocation(user.getUsername());
+        userDetailsCache.evict(user.getUsername(), user.getEmail());
+        userSearchIndex.remove(user.getId());
         log.info("User deleted successfully: {}", user.getEmail());
     }
 
@@ -415,8 +485,10 @@ public class UserServiceImpl implements UserService {
 
         user.setAccountNonLocked(!user.isAccountNonLocked());
         user.setUpdatedAt(new Date());
+        revokeTokens(user, user.getUsername());
 
         UserEntity savedUser = userRepository.save(user);
+        userDetailsCache.evict(savedUser.getUsername(), savedUser.getEmail());
         log.info("User block status toggled: {} -> {}", user.getEmail(), savedUser.isAccountNonLocked());
 
         return userMapper.toProfileDto(savedUser);
@@ -431,10 +503,14 @@ public class UserServiceImpl implements UserService {
 
         try {
             UserRole newRole = UserRole.valueOf(role.toUpperCase());
+            if (user.getRole() != newRole) {
+                revokeTokens(user, user.getUsername());
+            }
             user.setRole(newRole);
             user.setUpdatedAt(new Date());
 
             UserEntity savedUser = userRepository.save(user);
+            userDetailsCache.evict(savedUser.getUsername(), savedUser.getEmail());
             log.info("User role updated: {} -> {}", user.getEmail(), newRole);
 
             return userMapper.toProfileDto(savedUser);
@@ -444,29 +520,64 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Search users by email or username.
-     * This method is designed for extension and can be safely overridden by subclasses.
-     * When overriding, ensure to maintain the same search behavior and return type.
+     * Revokes the tokens issued to the user so far in stateless principal mode: the bumped security
+     * version reaches every node on its next denylist refresh, the subject revocation applies on this
+     * node immediately.
+     */
+    private void revokeTokens(UserEntity user, String subject) {
+        user.bumpSecurityVersion();
+        securityVersionDenylist.recordSubjectRevocation(subject);
+    }
+
+    /**
+     * Search users by username, email, first or last name.
+     * Answered from the in-memory {@link UserSearchIndex}; only the ranked page of ids is loaded from the
+     * database. Until the index is built the bounded LIKE query on email and username is used instead.
      *
      * @param query the search query string
-     * @return list of matching users
+     * @param limit the maximum number of results
+     * @return matching users, best match first
      */
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> searchUsers(final String query) {
-        log.debug("Searching users: {}", query);
-
-        return userRepository.findByEmailContainingIgnoreCaseOrUsernameContainingIgnoreCase(
-                query, query)
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+    public List<UserDto> searchUsers(final String query, final int limit) {
+        log.debug("Searching users: {} (limit {})", query, limit);
+
+        int maxResults = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        if (!userSearchIndex.isReady()) {
+            return userRepository.findByEmailContainingIgnoreCaseOrUsernameContainingIgnoreCase(
+                    query, query, PageRequest.of(0, maxResults))
+                    .stream()
+                    .map(userMapper::toDto)
+                    .toList();
+        }
+
+        List<String> ids = userSearchIndex.search(query, maxResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, UserSummaryView> byId = new HashMap<>();
+        for (UserSummaryView view : userRepository.findSummariesByIdIn(ids)) {
+            byId.put(view.id(), view);
+        }
+
+        List<UserDto> users = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            UserSummaryView view = byId.get(id);
+            if (view != null) {
+                users.add(userMapper.toDto(view));
+            }
+        }
+        return users;
     }
 
+    /**
+     * Queues the last-login timestamp; it is written with the next batch of
+     * {@link LastLoginWriteBehindBuffer}, not in the caller's transaction.
+     */
     @Override
-    @Transactional
     public void updateLastLogin(String userId) {
         log.debug("Updating last login for user: {}", userId);
-        userRepository.updateLastLogin(userId, new Date());
+        lastLoginBuffer.record(userId, LocalDateTime.now());
     }
 }
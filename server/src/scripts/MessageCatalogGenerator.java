@@ -0,0 +1,136 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Compiles {@code <basename>[_suffix].properties} bundles into Java catalog classes for
+ * {@code com.taskboard.api.config.CatalogMessageSource}.
+ *
+ * Runs in the generate-sources phase through the Java source launcher, so it needs nothing but the JDK:
+ *
+ * java src/scripts/MessageCatalogGenerator.java <resources dir> <output dir> <package> <basename>...
+ *
+ * Each basename produces {@code <Basename>Catalog} with the keys numbered in sorted order, a string switch
+ * from key to index and one value array per bundle file. Files are read as UTF-8, like the runtime
+ * message sources did.
+ */
+public class MessageCatalogGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: MessageCatalogGenerator <resources dir> <output dir> <package> <basename>...");
+            System.exit(2);
+        }
+        Path resources = Path.of(args[0]);
+        String packageName = args[2];
+        Path packageDir = Path.of(args[1]).resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        for (int i = 3; i < args.length; i++) {
+            String basename = args[i];
+            Map<String, Properties> bundles = readBundles(resources, basename);
+            if (bundles.isEmpty()) {
+                throw new IllegalStateException("No " + basename + "*.properties in " + resources);
+            }
+            String className = Character.toUpperCase(basename.charAt(0)) + basename.substring(1) + "Catalog";
+            Path target = packageDir.resolve(className + ".java");
+            try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                out.write(render(packageName, className, basename, bundles));
+            }
+            System.out.println("Generated " + target + " from " + bundles.size() + " bundle(s)");
+        }
+    }
+
+    /**
+     * Bundle suffix ("" for the base file) to its properties, sorted by suffix.
+     */
+    private static Map<String, Properties> readBundles(Path resources, String basename) throws IOException {
+        Pattern fileName = Pattern.compile(Pattern.quote(basename) + "(?:_([A-Za-z0-9_]+))?\\.properties");
+        Map<String, Properties> bundles = new TreeMap<>();
+        try (Stream<Path> files = Files.list(resources)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = fileName.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                bundles.put(matcher.group(1) == null ? "" : matcher.group(1), properties);
+            }
+        }
+        return bundles;
+    }
+
+    private static String render(String packageName, String className, String basename,
+                                 Map<String, Properties> bundles) {
+        TreeSet<String> keySet = new TreeSet<>();
+        bundles.values().forEach(properties -> keySet.addAll(properties.stringPropertyNames()));
+        List<String> keys = new ArrayList<>(keySet);
+
+        StringBuilder out = new StringBuilder();
+        out.append("// Generated by src/scripts/MessageCatalogGenerator.java from ")
+                .append(basename).append("*.properties. Do not edit.\n");
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("final class ").append(className).append(" {\n\n");
+
+        out.append("    static final MessageCatalog CATALOG = new MessageCatalog(")
+                .append(literal(basename)).append(",\n            new String[]{");
+        out.append(String.join(", ", bundles.keySet().stream().map(MessageCatalogGenerator::literal).toList()));
+        out.append("},\n            new String[][]{\n");
+        for (Map.Entry<String, Properties> bundle : bundles.entrySet()) {
+            out.append("                    // ").append(basename)
+                    .append(bundle.getKey().isEmpty() ? "" : "_" + bundle.getKey()).append(".properties\n");
+            out.append("                    {\n");
+            for (String key : keys) {
+                String value = bundle.getValue().getProperty(key);
+                out.append("                            ").append(value == null ? "null" : literal(value)).append(",\n");
+            }
+            out.append("                    },\n");
+        }
+        out.append("            },\n            ").append(className).append("::indexOf);\n\n");
+
+        out.append("    private ").append(className).append("() {\n    }\n\n");
+        out.append("    private static int indexOf(String key) {\n");
+        out.append("        return switch (key) {\n");
+        for (int i = 0; i < keys.size(); i++) {
+            out.append("            case ").append(literal(keys.get(i))).append(" -> ").append(i).append(";\n");
+        }
+        out.append("            default -> -1;\n        };\n    }\n}\n");
+        return out.toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.taskboard.api.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of requests that each make one blocking object-store call, on a platform
+ * pool sized like Tomcat's default (200 threads) versus one virtual thread per request.
+ * The object store is a local HTTP stand-in that answers HEAD requests, like MinIO statObject, after
+ * a fixed delay.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BlockingIoExecutionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingIoExecutionBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"1000"})
+    private int burstSize;
+
+    @Param({"20"})
+    private int storageLatencyMs;
+
+    private HttpServer slowStorage;
+    private ExecutorService storageExecutor;
+    private URI objectUri;
+
+    private ExecutorService platformRequests;
+    private ExecutorService virtualRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storageExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        slowStorage = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        slowStorage.setExecutor(storageExecutor);
+        slowStorage.createContext("/taskboard-avatars/", exchange -> {
+            try {
+                Thread.sleep(storageLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("ETag", "\"benchmark\"");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        slowStorage.start();
+        objectUri = URI.create("http://127.0.0.1:" + slowStorage.getAddress().getPort()
+                + "/taskboard-avatars/avatars/user/avatar.png");
+
+        platformRequests = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        virtualRequests = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platformRequests.shutdownNow();
+        virtualRequests.shutdownNow();
+        slowStorage.stop(0);
+        storageExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int platformThreads() throws InterruptedException, ExecutionException {
+        return burst(platformRequests);
+    }
+
+    @Benchmark
+    public int virtualThreads() throws InterruptedException, ExecutionException {
+        return burst(virtualRequests);
+    }
+
+    private int burst(ExecutorService requests) throws InterruptedException, ExecutionException {
+        List<Future<Integer>> calls = new ArrayList<>(burstSize);
+        for (int i = 0; i < burstSize; i++) {
+            calls.add(requests.submit(this::statObject));
+        }
+        int ok = 0;
+        for (Future<Integer> call : calls) {
+            if (call.get() == 200) {
+                ok++;
+            }
+        }
+        return ok;
+    }
+
+    private int statObject() {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) objectUri.toURL().openConnection();
+            connection.setRequestMethod("HEAD");
+            int status = connection.getResponseCode();
+            try (InputStream ignored = connection.getInputStream()) {
+                return status;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskboard.api.benchmark;
+
+import com.taskboard.api.service.JwtKeyRing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token cost of JWT signing and verification.
+ * The legacy variants rebuild the key and the parser on every call, as JwtService did before key rings.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtTokenBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256";
+    private static final long EXPIRATION_MS = 3_600_000L;
+
+    private JwtKeyRing keyRing;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keyRing = JwtKeyRing.of(SECRET, "previous-benchmark-secret-key-long-enough-for-hmac-sha-256");
+        token = keyRingSign();
+    }
+
+    @Benchmark
+    public String legacySign() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject("user@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public String keyRingSign() {
+        long now = System.currentTimeMillis();
+        return keyRing.builder()
+                .subject("user@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_MS))
+                .compact();
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims keyRingParse() {
+        return keyRing.parser()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskboard.api.benchmark;
+
+import com.taskboard.api.service.MessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving an error message with parameters, as on every failed login or validation error.
+ * The legacy variants reproduce the previous MessageService: debug lines through a synchronized
+ * PrintStream (discarded here instead of going to stdout) and a fresh MessageFormat parse per call.
+ * Four threads make the PrintStream lock contention visible.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MessageServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+
+    private static final Locale RU = Locale.forLanguageTag("ru");
+    private static final Object[] ARGS = {"Connection refused"};
+
+    private MessageSource messageSource;
+    private MessageService messageService;
+    private PrintStream legacyOut;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        ReloadableResourceBundleMessageSource source = new ReloadableResourceBundleMessageSource();
+        source.setBasename("classpath:messages");
+        source.setDefaultEncoding("UTF-8");
+        source.setCacheSeconds(3600);
+        messageSource = source;
+
+        messageService = new MessageService();
+        Field field = MessageService.class.getDeclaredField("messageSource");
+        field.setAccessible(true);
+        field.set(messageService, messageSource);
+
+        legacyOut = new PrintStream(OutputStream.nullOutputStream(), true);
+    }
+
+    @Benchmark
+    public String legacyFormatWithArgs() {
+        legacyOut.println("DEBUG 2-param-array: key=error.global.unexpected, args=" + Arrays.toString(ARGS));
+        String message = messageSource.getMessage("error.global.unexpected", null, RU);
+        legacyOut.println("DEBUG 2-param-array: message=" + message);
+        String result = MessageFormat.format(message, ARGS);
+        legacyOut.println("DEBUG 2-param-array: result=" + result);
+        return result;
+    }
+
+    @Benchmark
+    public String cachedFormatWithArgs() {
+        return messageService.getMessage("error.global.unexpected", ARGS, RU);
+    }
+
+    @Benchmark
+    public String legacyPlainLookup() {
+        legacyOut.println("DEBUG 2-param-locale: key=auth.error.invalid.credentials, locale=" + RU);
+        String result = messageSource.getMessage("auth.error.invalid.credentials", null, RU);
+        legacyOut.println("DEBUG 2-param-locale: result=" + result);
+        return result;
+    }
+
+    @Benchmark
+    public String plainLookup() {
+        return messageService.getMessage("auth.error.invalid.credentials", RU);
+    }
+}
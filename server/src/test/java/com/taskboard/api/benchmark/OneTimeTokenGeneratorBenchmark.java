@@ -0,0 +1,77 @@
+package com.taskboard.api.benchmark;
+
+import com.taskboard.api.service.OneTimeTokenGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one 32-byte one-time token, as in bulk invitation or password-reset waves.
+ * The legacy variant reproduces the previous OneTimeTokenService: one shared SecureRandom and
+ * String.format("%02x") per byte. Four threads make contention on the shared generator visible.
+ * Run with -prof gc to compare allocation per token.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OneTimeTokenGeneratorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class OneTimeTokenGeneratorBenchmark {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private SecureRandom legacyRandom;
+    private OneTimeTokenGenerator sharedHex;
+    private OneTimeTokenGenerator perThreadHex;
+    private OneTimeTokenGenerator perThreadBase64Url;
+
+    @Setup
+    public void setUp() {
+        legacyRandom = new SecureRandom();
+        sharedHex = new OneTimeTokenGenerator(TOKEN_BYTES, "hex", "shared");
+        perThreadHex = new OneTimeTokenGenerator(TOKEN_BYTES, "hex", "per-thread");
+        perThreadBase64Url = new OneTimeTokenGenerator(TOKEN_BYTES, "base64url", "per-thread");
+    }
+
+    @Benchmark
+    public String legacyFormatHex() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        legacyRandom.nextBytes(bytes);
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String sharedRandomHex() {
+        return sharedHex.generate();
+    }
+
+    @Benchmark
+    public String perThreadHex() {
+        return perThreadHex.generate();
+    }
+
+    @Benchmark
+    public String perThreadBase64Url() {
+        return perThreadBase64Url.generate();
+    }
+}
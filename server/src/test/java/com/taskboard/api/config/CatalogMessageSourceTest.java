@@ -0,0 +1,102 @@
+package com.taskboard.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CatalogMessageSource
+ * Tests that the build-time catalogs resolve every key exactly like the .properties bundles
+ */
+class CatalogMessageSourceTest {
+
+    private static final List<Locale> LOCALES = List.of(
+            Locale.ENGLISH, Locale.US, Locale.forLanguageTag("ru"), Locale.forLanguageTag("ru-RU"), Locale.GERMAN);
+
+    @Test
+    void testMessagesCatalogMatchesProperties() throws IOException {
+        assertCatalogMatchesProperties(MessagesCatalog.CATALOG, true);
+    }
+
+    @Test
+    void testValidationMessagesCatalogMatchesProperties() throws IOException {
+        assertCatalogMatchesProperties(ValidationMessagesCatalog.CATALOG, false);
+    }
+
+    @Test
+    void testFormatsArguments() {
+        // Given
+        CatalogMessageSource source = new CatalogMessageSource(MessagesCatalog.CATALOG);
+
+        // When & Then
+        assertEquals("Authenticated as: john.doe",
+                source.getMessage("info.test.auth", new Object[]{"john.doe"}, Locale.ENGLISH));
+        assertEquals("Аутентифицирован как: john.doe",
+                source.getMessage("info.test.auth", new Object[]{"john.doe"}, Locale.forLanguageTag("ru")));
+    }
+
+    @Test
+    void testUnknownKey() {
+        // Given
+        CatalogMessageSource source = new CatalogMessageSource(MessagesCatalog.CATALOG);
+
+        // When & Then
+        assertEquals("Default message", source.getMessage("nonexistent.key", null, "Default message", Locale.ENGLISH));
+        assertThrows(NoSuchMessageException.class, () -> source.getMessage("nonexistent.key", null, Locale.ENGLISH));
+    }
+
+    /**
+     * A stale catalog, e.g. after editing a .properties file without running generate-sources, fails here.
+     * Bean Validation templates use named placeholders such as {min}, which are not MessageFormat
+     * patterns, so that bundle is only compared without arguments.
+     */
+    private void assertCatalogMatchesProperties(MessageCatalog catalog, boolean withArguments) throws IOException {
+        String basename = catalog.getBasename();
+        ReloadableResourceBundleMessageSource expected = new ReloadableResourceBundleMessageSource();
+        expected.setBasename("classpath:" + basename);
+        expected.setDefaultEncoding("UTF-8");
+        CatalogMessageSource actual = new CatalogMessageSource(catalog);
+
+        Set<String> keys = keys(basename);
+        assertFalse(keys.isEmpty(), "No keys found for " + basename);
+        for (String key : keys) {
+            for (Locale locale : LOCALES) {
+                assertEquals(expected.getMessage(key, null, null, locale), actual.getMessage(key, null, null, locale),
+                        basename + ": " + key + " in " + locale);
+                if (!withArguments) {
+                    continue;
+                }
+                assertEquals(expected.getMessage(key, new Object[]{42}, null, locale),
+                        actual.getMessage(key, new Object[]{42}, null, locale),
+                        basename + ": " + key + " with arguments in " + locale);
+            }
+        }
+    }
+
+    private static Set<String> keys(String basename) throws IOException {
+        Set<String> keys = new TreeSet<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + basename + "*.properties")) {
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            keys.addAll(properties.stringPropertyNames());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskboard.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DPoP request URL matching
+ * Tests in-place comparison of the htu claim with the request URL
+ */
+class DpopRequestUrlTest {
+
+    private MockHttpServletRequest request(String scheme, String host, int port, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setScheme(scheme);
+        request.setServerName(host);
+        request.setServerPort(port);
+        return request;
+    }
+
+    @Test
+    void testMatchesRequestUrl() {
+        // Given
+        MockHttpServletRequest request = request("https", "api.example.com", 443, "/api/projects");
+
+        // When & Then
+        assertTrue(DpopRequestUrl.matches(request, request.getRequestURL().toString()));
+        assertTrue(DpopRequestUrl.matches(request, "https://api.example.com/api/projects"));
+        assertTrue(DpopRequestUrl.matches(request, "HTTPS://API.example.com/api/projects"));
+        assertTrue(DpopRequestUrl.matches(request, "https://api.example.com:443/api/projects"));
+        assertTrue(DpopRequestUrl.matches(request, "https://api.example.com/api/projects?page=2#top"));
+    }
+
+    @Test
+    void testMatchesNonDefaultPort() {
+        // Given
+        MockHttpServletRequest request = request("http", "localhost", 8080, "/api/projects");
+
+        // When & Then
+        assertTrue(DpopRequestUrl.matches(request, "http://localhost:8080/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "http://localhost/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "http://localhost:8081/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "http://localhost:/api/projects"));
+    }
+
+    @Test
+    void testRejectsDifferentTarget() {
+        // Given
+        MockHttpServletRequest request = request("https", "api.example.com", 443, "/api/projects");
+
+        // When & Then
+        assertFalse(DpopRequestUrl.matches(request, null));
+        assertFalse(DpopRequestUrl.matches(request, "http://api.example.com/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "https://api.example.org/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "https://api.example.com.evil/api/projects"));
+        assertFalse(DpopRequestUrl.matches(request, "https://api.example.com/api/Projects"));
+        assertFalse(DpopRequestUrl.matches(request, "https://api.example.com/api/projects/1"));
+        assertFalse(DpopRequestUrl.matches(request, "https://api.example.com/api"));
+    }
+}
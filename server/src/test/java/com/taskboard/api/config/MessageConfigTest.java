@@ -34,8 +34,8 @@ public class MessageConfigTest {
     @Test
     public void testMessageSourceBean() {
         assertNotNull(messageSource, "MessageSource bean should be configured");
-        assertTrue(messageSource instanceof org.springframework.context.support.ReloadableResourceBundleMessageSource,
-                "MessageSource should be ReloadableResourceBundleMessageSource");
+        assertTrue(messageSource instanceof CatalogMessageSource,
+                "MessageSource should serve the precompiled catalog outside of hot-reload mode");
     }
 
     @Test
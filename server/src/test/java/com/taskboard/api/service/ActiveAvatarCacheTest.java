@@ -0,0 +1,96 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.UserAvatar;
+import com.taskboard.api.repository.UserAvatarRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Active Avatar Cache
+ * Tests batched IN loading of misses, negative caching and per-user invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+class ActiveAvatarCacheTest {
+
+    @Mock
+    private UserAvatarRepository userAvatarRepository;
+
+    private ActiveAvatarCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ActiveAvatarCache(userAvatarRepository, 30, 1000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMissesAreLoadedWithOneQuery() {
+        // Given
+        when(userAvatarRepository.findByUserIdInAndIsActiveTrue(anyCollection()))
+                .thenReturn(List.of(avatar(1L, 10L), avatar(2L, 20L)));
+
+        // When
+        Map<Long, ActiveAvatarCache.ActiveAvatar> avatars = cache.getAll(Set.of(1L, 2L, 3L));
+
+        // Then
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(userAvatarRepository, times(1)).findByUserIdInAndIsActiveTrue(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(ids.getValue()));
+        assertEquals(Set.of(1L, 2L), avatars.keySet());
+        assertEquals(10L, avatars.get(1L).avatarId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCachedUsersIncludingThoseWithoutAvatarAreNotQueriedAgain() {
+        // Given
+        when(userAvatarRepository.findByUserIdInAndIsActiveTrue(anyCollection()))
+                .thenReturn(List.of(avatar(1L, 10L)))
+                .thenReturn(List.of(avatar(4L, 40L)));
+        cache.getAll(Set.of(1L, 3L));
+
+        // When
+        Map<Long, ActiveAvatarCache.ActiveAvatar> avatars = cache.getAll(Set.of(1L, 3L, 4L));
+
+        // Then
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(userAvatarRepository, times(2)).findByUserIdInAndIsActiveTrue(ids.capture());
+        assertEquals(List.of(4L), List.copyOf(ids.getAllValues().get(1)));
+        assertEquals(Set.of(1L, 4L), avatars.keySet());
+    }
+
+    @Test
+    void testInvalidateReloadsUser() {
+        // Given
+        when(userAvatarRepository.findByUserIdInAndIsActiveTrue(anyCollection()))
+                .thenReturn(List.of(avatar(1L, 10L)))
+                .thenReturn(List.of(avatar(1L, 11L)));
+        cache.getAll(Set.of(1L));
+
+        // When
+        cache.invalidate(1L);
+
+        // Then
+        assertEquals(11L, cache.getAll(Set.of(1L)).get(1L).avatarId());
+    }
+
+    private static UserAvatar avatar(Long userId, Long avatarId) {
+        UserAvatar avatar = new UserAvatar(userId, "avatars/" + userId + "/a.png", "image/png", 100L, "avatar.png");
+        avatar.setId(avatarId);
+        return avatar;
+    }
+}
@@ -0,0 +1,203 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.UserAvatar;
+import com.taskboard.api.repository.UserAvatarRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.w3c.dom.Node;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Avatar Processing Service
+ * Tests bounded decoding, square variants at every configured size, metadata stripping and failure handling
+ */
+@ExtendWith(MockitoExtension.class)
+class AvatarProcessingServiceTest {
+
+    private static final String STORAGE_KEY = "avatars/7/0b6f4c1e.jpg";
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private UserAvatarRepository userAvatarRepository;
+
+    @Mock
+    private ActiveAvatarCache activeAvatarCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvatarProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // PNG so that the test does not depend on a WebP plugin
+        service = new AvatarProcessingService(storageService, userAvatarRepository, activeAvatarCache,
+                transactionTemplate, true, new int[]{64, 32}, "png", 1, 10, 10_485_760L, 50_000_000L, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessStoresSquareVariantsAndRecordsThem() throws IOException {
+        // Given
+        when(storageService.downloadFile(STORAGE_KEY)).thenReturn(jpeg(1200, 800));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(userAvatarRepository.updateVariants(11L, "png", "32,64")).thenReturn(1);
+
+        // When
+        boolean processed = service.process(11L, 7L, STORAGE_KEY);
+
+        // Then
+        assertTrue(processed);
+        ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+        verify(storageService).uploadFile(eq("avatars/7/0b6f4c1e_32.png"), content.capture(), eq("image/png"), anyLong());
+        assertDimensions(content.getValue(), 32);
+        verify(storageService).uploadFile(eq("avatars/7/0b6f4c1e_64.png"), content.capture(), eq("image/png"), anyLong());
+        assertDimensions(content.getValue(), 64);
+        verify(activeAvatarCache).invalidate(7L);
+        assertEquals(1.0, meterRegistry.get("avatar.processing").tag("result", "processed").counter().count());
+    }
+
+    @Test
+    void testUndecodableUploadKeepsOriginal() {
+        // Given
+        when(storageService.downloadFile(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        // When
+        boolean processed = service.process(11L, 7L, STORAGE_KEY);
+
+        // Then
+        assertFalse(processed);
+        verify(storageService, never()).uploadFile(anyString(), any(), anyString(), anyLong());
+        verifyNoInteractions(userAvatarRepository);
+        assertEquals(1.0, meterRegistry.get("avatar.processing").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void testImageAbovePixelLimitIsRejected() throws IOException {
+        // Given
+        AvatarProcessingService strict = new AvatarProcessingService(storageService, userAvatarRepository,
+                activeAvatarCache, transactionTemplate, true, new int[]{64}, "png", 1, 10, 10_485_760L, 10_000L,
+                new SimpleMeterRegistry());
+        when(storageService.downloadFile(STORAGE_KEY)).thenReturn(jpeg(200, 200));
+
+        // When & Then
+        assertFalse(strict.process(11L, 7L, STORAGE_KEY));
+        verify(storageService, never()).uploadFile(anyString(), any(), anyString(), anyLong());
+        strict.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testVariantsOfDeletedAvatarAreRemoved() throws IOException {
+        // Given
+        when(storageService.downloadFile(STORAGE_KEY)).thenReturn(jpeg(100, 100));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(userAvatarRepository.updateVariants(anyLong(), anyString(), anyString())).thenReturn(0);
+
+        // When
+        boolean processed = service.process(11L, 7L, STORAGE_KEY);
+
+        // Then
+        assertFalse(processed);
+        verify(storageService).deleteFile("avatars/7/0b6f4c1e_32.png");
+        verify(storageService).deleteFile("avatars/7/0b6f4c1e_64.png");
+        verifyNoInteractions(activeAvatarCache);
+    }
+
+    @Test
+    void testSubmitSkipsNonImagesAndOversizedFiles() {
+        // Given
+        UserAvatar pdf = new UserAvatar(7L, "avatars/7/a.pdf", "application/pdf", 100L, "avatar.pdf");
+        UserAvatar huge = new UserAvatar(7L, STORAGE_KEY, "image/jpeg", 20_000_000L, "avatar.jpg");
+
+        // When
+        service.submit(pdf);
+        service.submit(huge);
+
+        // Then
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void testDecodeSubsamplesLargeImages() throws IOException {
+        // When
+        BufferedImage decoded = AvatarImages.decode(jpeg(4000, 3000), 50_000_000L, 256);
+
+        // Then
+        assertTrue(decoded.getWidth() < 4000);
+        assertTrue(Math.min(decoded.getWidth(), decoded.getHeight()) >= 256);
+    }
+
+    @Test
+    void testDecodeBoundsLongStripsToTheirCentredSquare() throws IOException {
+        // When
+        BufferedImage decoded = AvatarImages.decode(jpeg(20_000, 400), 50_000_000L, 256);
+
+        // Then
+        assertEquals(400, decoded.getWidth());
+        assertEquals(400, decoded.getHeight());
+    }
+
+    private static void assertDimensions(InputStream content, int size) throws IOException {
+        content.reset();
+        try (MemoryCacheImageInputStream stream = new MemoryCacheImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            ImageReader reader = readers.next();
+            reader.setInput(stream);
+            assertEquals(size, reader.getWidth(0));
+            assertEquals(size, reader.getHeight(0));
+            // Re-encoded variants carry no text chunks
+            Node metadata = reader.getImageMetadata(0).getAsTree("javax_imageio_png_1.0");
+            for (Node child = metadata.getFirstChild(); child != null; child = child.getNextSibling()) {
+                assertFalse(child.getNodeName().endsWith("TXt") || child.getNodeName().equals("tEXt"),
+                        "Unexpected metadata chunk " + child.getNodeName());
+            }
+            reader.dispose();
+        }
+    }
+
+    private static InputStream jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", bytes);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
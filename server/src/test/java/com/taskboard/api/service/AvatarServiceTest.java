@@ -0,0 +1,236 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.config.StorageConfig;
+import com.taskboard.api.dto.AvatarConfirmRequest;
+import com.taskboard.api.dto.AvatarResponse;
+import com.taskboard.api.dto.AvatarUrlResponse;
+import com.taskboard.api.model.UserAvatar;
+import com.taskboard.api.repository.UserAvatarRepository;
+import com.taskboard.api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Avatar Service
+ * Tests the confirm pipeline (one storage HEAD outside the transaction, in-statement versioning)
+ * presigned URL reuse and invalidation, and batch resolution of active avatars
+ */
+@ExtendWith(MockitoExtension.class)
+class AvatarServiceTest {
+
+    private static final Long USER_ID = 7L;
+    private static final String STORAGE_KEY = "avatars/7/0b6f4c1e.png";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserAvatarRepository userAvatarRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private StorageConfig storageConfig;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PresignedUrlCache presignedUrlCache;
+
+    @Mock
+    private ActiveAvatarCache activeAvatarCache;
+
+    @Mock
+    private AvatarProcessingService avatarProcessingService;
+
+    private AvatarService avatarService;
+
+    @BeforeEach
+    void setUp() {
+        avatarService = new AvatarService(userRepository, userAvatarRepository, storageService, storageConfig,
+                transactionTemplate, presignedUrlCache, activeAvatarCache,
+                avatarProcessingService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        avatarService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConfirmUploadUsesSingleHeadBeforeTransaction() {
+        // Given
+        UserAvatar saved = new UserAvatar(USER_ID, STORAGE_KEY, "image/png", 2048L, "avatar.png");
+        saved.setId(11L);
+        saved.setVersion(3);
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(storageService.findFileMetadata(STORAGE_KEY))
+                .thenReturn(Optional.of(Map.of("contentType", "image/png", "size", "2048")));
+        when(storageConfig.getObjectUrl(STORAGE_KEY)).thenReturn("http://cdn/" + STORAGE_KEY);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<UserAvatar>>getArgument(0).doInTransaction(null));
+        UserAvatar previous = new UserAvatar(USER_ID, "avatars/7/previous.png", "image/png", 1024L, "old.png");
+        previous.setVariantFormat("png");
+        previous.setVariantSizes("64");
+        when(userAvatarRepository.findByUserIdAndIsActiveTrue(USER_ID))
+                .thenReturn(Optional.of(previous), Optional.of(saved));
+
+        // When
+        AvatarResponse response = avatarService.confirmUpload(USER_ID, confirmRequest());
+
+        // Then
+        assertEquals(11L, response.getId());
+        assertEquals(3, response.getVersion());
+        verify(storageService, times(1)).findFileMetadata(STORAGE_KEY);
+        verify(storageService, never()).fileExists(anyString());
+        verify(storageService, never()).getFileMetadata(anyString());
+        verify(userAvatarRepository, never()).getMaxVersionByUserId(anyLong());
+        InOrder order = inOrder(storageService, transactionTemplate, userAvatarRepository);
+        order.verify(storageService).findFileMetadata(STORAGE_KEY);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(userAvatarRepository).deactivateAllByUserId(USER_ID);
+        order.verify(userAvatarRepository).insertNextVersion(eq(USER_ID), eq(STORAGE_KEY), eq("image/png"),
+                eq(2048L), eq("avatar.png"), eq("http://cdn/" + STORAGE_KEY), any());
+        verify(presignedUrlCache).invalidate("avatars/7/previous.png");
+        verify(presignedUrlCache).invalidate(previous.getVariantKeys().get(64));
+        verify(presignedUrlCache, never()).invalidate(STORAGE_KEY);
+        verify(activeAvatarCache).invalidate(USER_ID);
+        verify(avatarProcessingService).submit(saved);
+    }
+
+    @Test
+    void testConfirmUploadFailsWhenFileIsMissing() {
+        // Given
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(storageService.findFileMetadata(STORAGE_KEY)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> avatarService.confirmUpload(USER_ID, confirmRequest()));
+        assertTrue(error.getMessage().contains("File not found in storage"));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testConfirmUploadPropagatesStorageErrors() {
+        // Given
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(storageService.findFileMetadata(STORAGE_KEY))
+                .thenThrow(new RuntimeException("Failed to get file metadata"));
+
+        // When & Then
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> avatarService.confirmUpload(USER_ID, confirmRequest()));
+        assertEquals("Failed to get file metadata", error.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testConfirmUploadFailsForUnknownUser() {
+        // Given
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+        lenient().when(storageService.findFileMetadata(STORAGE_KEY)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> avatarService.confirmUpload(USER_ID, confirmRequest()));
+        assertEquals("User not found: " + USER_ID, error.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testGenerateDownloadUrlUsesCache() {
+        // Given
+        UserAvatar avatar = new UserAvatar(USER_ID, STORAGE_KEY, "image/png", 2048L, "avatar.png");
+        when(userAvatarRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(Optional.of(avatar));
+        when(presignedUrlCache.getDownloadUrl(STORAGE_KEY)).thenReturn("http://minio/signed");
+
+        // When
+        String url = avatarService.generateDownloadUrl(USER_ID);
+
+        // Then
+        assertEquals("http://minio/signed", url);
+        verify(storageService, never()).generatePresignedDownloadUrl(anyString(), any());
+    }
+
+    @Test
+    void testDeleteAvatarRemovesVariantsAndInvalidatesCachedUrl() {
+        // Given
+        UserAvatar avatar = new UserAvatar(USER_ID, STORAGE_KEY, "image/png", 2048L, "avatar.png");
+        avatar.setVariantFormat("png");
+        avatar.setVariantSizes("32,64");
+        when(userAvatarRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(Optional.of(avatar));
+
+        // When
+        avatarService.deleteAvatar(USER_ID);
+
+        // Then
+        verify(storageService).deleteFile(STORAGE_KEY);
+        verify(storageService).deleteFile("avatars/7/0b6f4c1e_32.png");
+        verify(storageService).deleteFile("avatars/7/0b6f4c1e_64.png");
+        verify(presignedUrlCache).invalidate(STORAGE_KEY);
+        verify(activeAvatarCache).invalidate(USER_ID);
+        verify(userAvatarRepository).delete(avatar);
+    }
+
+    @Test
+    void testResolveActiveAvatarsPrefersCdnUrl() {
+        // Given
+        when(storageConfig.hasCdnBaseUrl()).thenReturn(true);
+        when(activeAvatarCache.getAll(Set.of(USER_ID, 8L))).thenReturn(Map.of(
+                USER_ID, new ActiveAvatarCache.ActiveAvatar(11L, STORAGE_KEY, "https://cdn/" + STORAGE_KEY, 2, "image/png",
+                        Map.of(64, "avatars/7/0b6f4c1e_64.webp"))));
+        when(storageConfig.getObjectUrl("avatars/7/0b6f4c1e_64.webp")).thenReturn("https://cdn/avatars/7/0b6f4c1e_64.webp");
+
+        // When
+        List<AvatarUrlResponse> avatars = avatarService.resolveActiveAvatars(Set.of(USER_ID, 8L));
+
+        // Then
+        assertEquals(1, avatars.size());
+        assertEquals(USER_ID, avatars.get(0).getUserId());
+        assertEquals("https://cdn/" + STORAGE_KEY, avatars.get(0).getUrl());
+        assertEquals(Map.of(64, "https://cdn/avatars/7/0b6f4c1e_64.webp"), avatars.get(0).getVariantUrls());
+        verifyNoInteractions(presignedUrlCache);
+    }
+
+    @Test
+    void testResolveActiveAvatarsFallsBackToPresignedUrl() {
+        // Given
+        when(storageConfig.hasCdnBaseUrl()).thenReturn(false);
+        when(activeAvatarCache.getAll(Set.of(USER_ID))).thenReturn(Map.of(
+                USER_ID, new ActiveAvatarCache.ActiveAvatar(11L, STORAGE_KEY, null, 2, "image/png", Map.of())));
+        when(presignedUrlCache.getDownloadUrl(STORAGE_KEY)).thenReturn("http://minio/signed");
+
+        // When
+        List<AvatarUrlResponse> avatars = avatarService.resolveActiveAvatars(Set.of(USER_ID));
+
+        // Then
+        assertEquals("http://minio/signed", avatars.get(0).getUrl());
+        assertEquals(2, avatars.get(0).getVersion());
+    }
+
+    private static AvatarConfirmRequest confirmRequest() {
+        AvatarConfirmRequest request = new AvatarConfirmRequest();
+        request.setStorageKey(STORAGE_KEY);
+        return request;
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bounded Password Encoder
+ * Tests hashing on the pool, cost detection for rehashing, load shedding and cost calibration
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatchOnPool() {
+        // Given
+        encoder = new BoundedPasswordEncoder(2, 8, 5000, 250, 4, 4, 6, meterRegistry);
+
+        // When
+        String hash = encoder.encode("secret-password");
+
+        // Then
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret-password", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hash.time").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testOnlyHashesWithLowerCostNeedUpgrade() {
+        // Given
+        encoder = new BoundedPasswordEncoder(1, 8, 5000, 250, 5, 4, 6, meterRegistry);
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret-password");
+        String strongerHash = new BCryptPasswordEncoder(6).encode("secret-password");
+
+        // Then
+        assertEquals(4, BoundedPasswordEncoder.costOf(oldHash));
+        assertTrue(encoder.upgradeEncoding(oldHash));
+        assertFalse(encoder.upgradeEncoding(strongerHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret-password")));
+        assertFalse(encoder.upgradeEncoding("{noop}plain"));
+    }
+
+    @Test
+    void testSaturatedPoolShedsRequests() {
+        // Given: one thread, one queue slot, cost high enough to keep the thread busy
+        encoder = new BoundedPasswordEncoder(1, 1, 10_000, 250, 12, 4, 12, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        // When
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> encoder.encode("secret-password"), callers));
+        }
+
+        // Then
+        long shed = calls.stream()
+            .filter(call -> call.handle((hash, error) -> error != null
+                && error.getCause() instanceof PasswordHashingOverloadedException).join())
+            .count();
+        assertTrue(shed >= 1);
+        assertTrue(meterRegistry.get("auth.password.hash.rejected").counter().count() >= 1);
+        callers.shutdown();
+    }
+
+    @Test
+    void testCalibrationNeverLowersCost() {
+        // Given: a 0ms target that every hash exceeds
+        encoder = new BoundedPasswordEncoder(1, 64, 5000, 0, 5, 4, 6, meterRegistry);
+        hashSamples(32);
+
+        // When
+        encoder.calibrate();
+
+        // Then
+        assertEquals(5, encoder.getStrength());
+    }
+
+    @Test
+    void testCalibrationRaisesCostOnlyAfterConsecutiveConfirmations() {
+        // Given: a target far above any cost-4 hash
+        encoder = new BoundedPasswordEncoder(1, 64, 5000, 60_000, 4, 4, 6, meterRegistry);
+        hashSamples(32);
+
+        // When
+        for (int i = 1; i < BoundedPasswordEncoder.RAISE_CONFIRMATIONS; i++) {
+            encoder.calibrate();
+            assertEquals(4, encoder.getStrength());
+        }
+        encoder.calibrate();
+
+        // Then
+        assertEquals(5, encoder.getStrength());
+    }
+
+    private void hashSamples(int count) {
+        String hash = encoder.encode("secret-password");
+        for (int i = 1; i < count; i++) {
+            encoder.matches("secret-password", hash);
+        }
+    }
+}
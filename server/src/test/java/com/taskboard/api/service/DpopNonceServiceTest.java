@@ -0,0 +1,49 @@
+package com.taskboard.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DPoP Nonce Service
+ * Tests issuance and stateless validation of rolling server nonces
+ */
+class DpopNonceServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-dpop-nonce-service-testing-purposes-only";
+
+    @Test
+    void testCurrentNonceIsAcceptedAndStableWithinWindow() {
+        // Given
+        DpopNonceService nonceService = new DpopNonceService(SECRET, 3600);
+
+        // When
+        String nonce = nonceService.currentNonce();
+
+        // Then
+        assertEquals(nonce, nonceService.currentNonce());
+        assertEquals(DpopNonceService.NonceStatus.CURRENT, nonceService.check(nonce));
+    }
+
+    @Test
+    void testNonceIsValidatedAcrossInstancesSharingSecret() {
+        // Given
+        String nonce = new DpopNonceService(SECRET, 3600).currentNonce();
+
+        // When & Then
+        assertEquals(DpopNonceService.NonceStatus.CURRENT, new DpopNonceService(SECRET, 3600).check(nonce));
+        assertEquals(DpopNonceService.NonceStatus.INVALID,
+            new DpopNonceService("another-secret-key-for-dpop-nonce-service-tests", 3600).check(nonce));
+    }
+
+    @Test
+    void testMalformedOrMissingNonceIsInvalid() {
+        // Given
+        DpopNonceService nonceService = new DpopNonceService(SECRET, 3600);
+
+        // When & Then
+        assertEquals(DpopNonceService.NonceStatus.INVALID, nonceService.check(null));
+        assertEquals(DpopNonceService.NonceStatus.INVALID, nonceService.check("not a nonce!"));
+        assertEquals(DpopNonceService.NonceStatus.INVALID, nonceService.check("c2hvcnQ"));
+    }
+}
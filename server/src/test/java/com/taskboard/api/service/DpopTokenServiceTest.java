@@ -1,13 +1,21 @@
 package com.taskboard.api.service;
 
+import com.taskboard.api.exception.DpopReplayStoreFullException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for DPoP Token Service
@@ -16,6 +24,15 @@ import static org.junit.jupiter.api.Assertions.*;
 @ExtendWith(MockitoExtension.class)
 class DpopTokenServiceTest {
 
+    @Mock
+    private DpopReplayStore replayStore;
+
+    @Mock
+    private DpopNonceService nonceService;
+
+    @Mock
+    private SecurityMetricsService securityMetricsService;
+
     @InjectMocks
     private DpopTokenService dpopTokenService;
 
@@ -26,6 +43,8 @@ class DpopTokenServiceTest {
     void setUp() {
         ReflectionTestUtils.setField(dpopTokenService, "secret", testSecret);
         ReflectionTestUtils.setField(dpopTokenService, "expiration", testExpiration);
+        ReflectionTestUtils.setField(dpopTokenService, "proofMaxAgeSeconds", 300L);
+        dpopTokenService.initKeyRing();
     }
 
     @Test
@@ -165,4 +184,114 @@ class DpopTokenServiceTest {
         // Then
         assertFalse(isValid);
     }
+
+    @Test
+    void testVerifyDpopProofRejectsReplay() {
+        // Given
+        String accessToken = "test-access-token";
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof(accessToken, httpMethod, httpUrl, null);
+        when(replayStore.markIfFirstUse(anyString(), anyLong())).thenReturn(true, false);
+
+        // When
+        DpopValidationResult first = dpopTokenService.verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl);
+        DpopValidationResult second = dpopTokenService.verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl);
+
+        // Then
+        assertEquals(DpopValidationResult.VALID, first);
+        assertEquals(DpopValidationResult.REPLAYED, second);
+        verify(securityMetricsService).recordDpopReplayRejected();
+    }
+
+    @Test
+    void testVerifyDpopProofIsRefusedWhenReplayStoreIsFull() {
+        // Given
+        String accessToken = "test-access-token";
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof(accessToken, httpMethod, httpUrl, null);
+        when(replayStore.markIfFirstUse(anyString(), anyLong()))
+            .thenThrow(new DpopReplayStoreFullException("DPoP replay store is full"));
+
+        // When
+        DpopValidationResult result = dpopTokenService.verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl);
+
+        // Then
+        assertEquals(DpopValidationResult.UNAVAILABLE, result);
+    }
+
+    @Test
+    void testVerifyDpopProofRequestsFreshNonce() {
+        // Given
+        ReflectionTestUtils.setField(dpopTokenService, "nonceRequired", true);
+        String accessToken = "test-access-token";
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof(accessToken, httpMethod, httpUrl, null);
+        when(nonceService.check(null)).thenReturn(DpopNonceService.NonceStatus.INVALID);
+
+        // When
+        DpopValidationResult result = dpopTokenService.verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl);
+
+        // Then
+        assertEquals(DpopValidationResult.USE_NONCE, result);
+        verify(securityMetricsService).recordDpopNonceRefreshed();
+        verifyNoInteractions(replayStore);
+    }
+
+    @Test
+    void testVerifyDpopProofRecordsValidationMetrics() {
+        // Given
+        String accessToken = "test-access-token";
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof(accessToken, httpMethod, httpUrl, null);
+        when(replayStore.markIfFirstUse(anyString(), anyLong())).thenReturn(true);
+
+        // When
+        DpopValidationResult valid = dpopTokenService.verifyDpopProof(dpopProof, accessToken, httpMethod, httpUrl::equals);
+        DpopValidationResult invalid = dpopTokenService.verifyDpopProof("invalid.jwt.token", accessToken, httpMethod, httpUrl::equals);
+
+        // Then
+        assertEquals(DpopValidationResult.VALID, valid);
+        assertEquals(DpopValidationResult.INVALID, invalid);
+        verify(securityMetricsService).recordDpopProofValidated(eq(true), anyLong());
+        verify(securityMetricsService).recordDpopProofValidated(eq(false), anyLong());
+    }
+
+    @Test
+    void testProofSignedWithPreviousSecretIsAcceptedAfterRotation() {
+        // Given
+        String accessToken = "test-access-token";
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof(accessToken, httpMethod, httpUrl, "test-nonce");
+        DpopTokenService rotated = new DpopTokenService();
+        ReflectionTestUtils.setField(rotated, "secret", "rotated-secret-key-for-dpop-token-service-testing-purposes");
+        ReflectionTestUtils.setField(rotated, "previousSecrets", List.of(testSecret));
+        ReflectionTestUtils.setField(rotated, "expiration", testExpiration);
+        ReflectionTestUtils.setField(rotated, "proofMaxAgeSeconds", 300L);
+        rotated.initKeyRing();
+
+        // When & Then
+        assertTrue(rotated.validateDpopProof(dpopProof, accessToken, httpMethod, httpUrl, "test-nonce"));
+        String rotatedProof = rotated.createDpopProof(accessToken, httpMethod, httpUrl, "test-nonce");
+        assertFalse(dpopTokenService.validateDpopProof(rotatedProof, accessToken, httpMethod, httpUrl, "test-nonce"));
+    }
+
+    @Test
+    void testVerifyDpopProofRejectsForeignAccessToken() {
+        // Given
+        String httpMethod = "GET";
+        String httpUrl = "https://api.example.com/resource";
+        String dpopProof = dpopTokenService.createDpopProof("test-access-token", httpMethod, httpUrl, null);
+
+        // When
+        DpopValidationResult result = dpopTokenService.verifyDpopProof(dpopProof, "other-access-token", httpMethod, httpUrl);
+
+        // Then
+        assertEquals(DpopValidationResult.INVALID, result);
+        verifyNoInteractions(replayStore);
+    }
 }
@@ -0,0 +1,149 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.repository.OneTimeTokenRepository;
+import com.taskboard.api.repository.WebAuthnChallengeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Expiry Sweeper
+ * Tests chunked deletion, adaptive chunk size, run budget and purge metrics
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpirySweeperTest {
+
+    @Mock
+    private OneTimeTokenRepository tokenRepository;
+
+    @Mock
+    private WebAuthnChallengeRepository challengeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void testFastChunksGrowUntilTableIsEmpty() {
+        // Given
+        ExpirySweeper sweeper = sweeper(2, 8, 60_000, 60_000);
+        AtomicInteger remaining = new AtomicInteger(9);
+        when(tokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> ids(remaining, invocation.getArgument(1)));
+
+        // When
+        int deleted = sweeper.sweepOneTimeTokens(LocalDateTime.now());
+
+        // Then
+        assertEquals(9, deleted);
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(tokenRepository, times(3)).findExpiredIds(any(LocalDateTime.class), pages.capture());
+        assertEquals(List.of(2, 4, 8), pages.getAllValues().stream().map(Pageable::getPageSize).toList());
+        verify(tokenRepository, times(3)).deleteAllByIdInBatch(anyList());
+        assertEquals(9.0, meterRegistry.get("expiry.sweeper.rows").tag("table", "one_time_tokens").counter().count());
+    }
+
+    @Test
+    void testSlowChunksShrinkToMinimum() {
+        // Given
+        ExpirySweeper sweeper = sweeper(2, 8, 0, 60_000);
+        AtomicInteger remaining = new AtomicInteger(5);
+        when(challengeRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> ids(remaining, invocation.getArgument(1)));
+
+        // When
+        int deleted = sweeper.sweepWebAuthnChallenges(LocalDateTime.now());
+
+        // Then
+        assertEquals(5, deleted);
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(challengeRepository, times(3)).findExpiredIds(any(LocalDateTime.class), pages.capture());
+        assertEquals(List.of(2, 2, 2), pages.getAllValues().stream().map(Pageable::getPageSize).toList());
+    }
+
+    @Test
+    void testScheduledRunStopsAtBudget() {
+        // Given
+        ExpirySweeper sweeper = sweeper(2, 8, 60_000, 0);
+        AtomicInteger tokens = new AtomicInteger(100);
+        AtomicInteger challenges = new AtomicInteger(100);
+        when(tokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> ids(tokens, invocation.getArgument(1)));
+        when(challengeRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> ids(challenges, invocation.getArgument(1)));
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        assertEquals(98, tokens.get());
+        assertEquals(98, challenges.get());
+    }
+
+    @Test
+    void testManualSweepStopsAtManualBudget() {
+        // Given
+        ExpirySweeper sweeper = new ExpirySweeper(tokenRepository, challengeRepository, transactionManager,
+            2, 8, 60_000, 0, 60_000, 0, meterRegistry);
+        AtomicInteger remaining = new AtomicInteger(100);
+        when(tokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenAnswer(invocation -> ids(remaining, invocation.getArgument(1)));
+
+        // When
+        int deleted = sweeper.sweepOneTimeTokens(LocalDateTime.now());
+
+        // Then
+        assertEquals(2, deleted);
+        assertEquals(98, remaining.get());
+    }
+
+    @Test
+    void testEmptyTableIsOneQuery() {
+        // Given
+        ExpirySweeper sweeper = sweeper(2, 8, 60_000, 60_000);
+        when(tokenRepository.findExpiredIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        int deleted = sweeper.sweepOneTimeTokens(LocalDateTime.now());
+
+        // Then
+        assertEquals(0, deleted);
+        verify(tokenRepository, times(1)).findExpiredIds(any(LocalDateTime.class), any(Pageable.class));
+        verify(tokenRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    private ExpirySweeper sweeper(int minBatch, int maxBatch, long targetChunkMs, long runBudgetMs) {
+        return new ExpirySweeper(tokenRepository, challengeRepository, transactionManager,
+            minBatch, maxBatch, targetChunkMs, 0, runBudgetMs, 60_000, meterRegistry);
+    }
+
+    private static List<UUID> ids(AtomicInteger remaining, Pageable page) {
+        int count = Math.min(remaining.get(), page.getPageSize());
+        remaining.addAndGet(-count);
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+}
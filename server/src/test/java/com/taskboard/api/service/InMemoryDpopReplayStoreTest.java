@@ -0,0 +1,67 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.taskboard.api.exception.DpopReplayStoreFullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for In-Memory DPoP Replay Store
+ * Tests single use of proof identifiers, expiry and capacity bounds
+ */
+class InMemoryDpopReplayStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testSecondUseOfSameJtiIsRejected() {
+        // Given
+        InMemoryDpopReplayStore store = new InMemoryDpopReplayStore(1000, 4, meterRegistry);
+        long expiresAt = Instant.now().getEpochSecond() + 60;
+
+        // When & Then
+        assertTrue(store.markIfFirstUse("jti-1", expiresAt));
+        assertFalse(store.markIfFirstUse("jti-1", expiresAt));
+        assertTrue(store.markIfFirstUse("jti-2", expiresAt));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testAlreadyExpiredProofIsNotStored() {
+        // Given
+        InMemoryDpopReplayStore store = new InMemoryDpopReplayStore(1000, 4, meterRegistry);
+
+        // When
+        store.markIfFirstUse("jti-1", Instant.now().getEpochSecond() - 1);
+
+        // Then
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testFullStoreRefusesNewProofsWithoutForgettingLiveOnes() {
+        // Given
+        InMemoryDpopReplayStore store = new InMemoryDpopReplayStore(10, 1, meterRegistry);
+        long now = Instant.now().getEpochSecond();
+        store.markIfFirstUse("early", now + 30);
+        for (int i = 0; i < 9; i++) {
+            store.markIfFirstUse("late-" + i, now + 300);
+        }
+
+        // When & Then
+        assertThrows(DpopReplayStoreFullException.class, () -> store.markIfFirstUse("newest", now + 300));
+        assertEquals(10, store.size());
+        assertEquals(1.0, meterRegistry.get("dpop.replay.store.rejected").counter().count());
+        assertFalse(store.markIfFirstUse("early", now + 30));
+        assertFalse(store.markIfFirstUse("late-0", now + 300));
+    }
+}
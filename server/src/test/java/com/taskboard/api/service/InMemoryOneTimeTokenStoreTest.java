@@ -0,0 +1,233 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.model.OneTimeToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for In-Memory One-Time Token Store
+ * Tests atomic single-use consumption, per-user queries, bulk issuance limits, expiry and capacity bounds
+ */
+class InMemoryOneTimeTokenStoreTest {
+
+    private InMemoryOneTimeTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOneTimeTokenStore(1000, 4, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testTokenCanBeConsumedOnce() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+
+        // When & Then
+        assertTrue(store.consume("hash-1", OneTimeToken.TokenPurpose.LOGIN, now).isPresent());
+        assertTrue(store.consume("hash-1", OneTimeToken.TokenPurpose.LOGIN, now).isEmpty());
+        assertTrue(store.findActive("hash-1", now).isEmpty());
+    }
+
+    @Test
+    void testConsumeRejectsWrongPurposeAndExpiredToken() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        store.save(token("hash-2", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.minusSeconds(1)));
+
+        // When & Then
+        assertTrue(store.consume("hash-1", OneTimeToken.TokenPurpose.PASSWORD_RESET, now).isEmpty());
+        assertTrue(store.consume("hash-2", OneTimeToken.TokenPurpose.LOGIN, now).isEmpty());
+        assertTrue(store.findActive("hash-1", now).isPresent());
+    }
+
+    @Test
+    void testConcurrentConsumptionSucceedsOnce() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.consume("hash-1", OneTimeToken.TokenPurpose.LOGIN, now).isPresent();
+                }));
+            }
+            start.countDown();
+
+            int successes = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    successes++;
+                }
+            }
+
+            // Then
+            assertEquals(1, successes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPerUserQueriesAndRevocation() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        store.save(token("hash-2", "user-1", OneTimeToken.TokenPurpose.PASSWORD_RESET, now.plusMinutes(5)));
+        store.save(token("hash-3", "user-2", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+
+        // When & Then
+        assertEquals(2, store.findActiveByUser("user-1", null, now).size());
+        assertEquals(1, store.countActiveByUser("user-1", OneTimeToken.TokenPurpose.LOGIN, now));
+        assertEquals(1, store.revokeActiveByUser("user-1", OneTimeToken.TokenPurpose.LOGIN, now));
+        assertEquals(1, store.findActiveByUser("user-1", null, now).size());
+        assertEquals(1, store.revokeActiveByUser("user-1", null, now));
+        assertEquals(1, store.countActiveByUser("user-2", OneTimeToken.TokenPurpose.LOGIN, now));
+    }
+
+    @Test
+    void testReturnedTokensDoNotChangeStoredState() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        OneTimeToken saved = store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+
+        // When
+        saved.markAsUsed();
+
+        // Then
+        assertNotNull(saved.getId());
+        assertTrue(store.findActive("hash-1", now).isPresent());
+    }
+
+    @Test
+    void testExpiredAndUsedTokensAreDeleted() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("used", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        store.save(token("active", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        store.consume("used", OneTimeToken.TokenPurpose.LOGIN, now.minusMinutes(1));
+        // Saved last: every save first purges expired buckets of its stripe
+        store.save(token("expired", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.minusMinutes(5)));
+
+        // When
+        int expired = store.deleteExpired(now);
+        int used = store.deleteUsedBefore(now);
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(1, used);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testFullStoreRejectsNewTokens() {
+        // Given
+        InMemoryOneTimeTokenStore small = new InMemoryOneTimeTokenStore(2, 1, new SimpleMeterRegistry());
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+        small.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, expiresAt));
+        small.save(token("hash-2", "user-1", OneTimeToken.TokenPurpose.LOGIN, expiresAt));
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> small.save(token("hash-3", "user-1", OneTimeToken.TokenPurpose.LOGIN, expiresAt)));
+        assertThrows(IllegalStateException.class,
+            () -> small.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, expiresAt)));
+    }
+
+    @Test
+    void testBulkIssuanceStopsAtPerUserLimit() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        store.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+
+        // When
+        List<OneTimeToken> stored = store.saveAllWithinLimit(List.of(
+            token("hash-2", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)),
+            token("hash-3", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)),
+            token("hash-4", "user-2", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5))), 2, now);
+
+        // Then
+        assertEquals(List.of("hash-2", "hash-4"), stored.stream().map(OneTimeToken::getTokenHash).toList());
+        assertNotNull(stored.get(0).getId());
+        assertEquals(2, store.countActiveByUser("user-1", OneTimeToken.TokenPurpose.LOGIN, now));
+        assertTrue(store.findActive("hash-3", now).isEmpty());
+    }
+
+    @Test
+    void testConcurrentBulkIssuanceDoesNotExceedLimit() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                String hash = "hash-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.saveAllWithinLimit(
+                        List.of(token(hash, "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5))), 3, now).size();
+                }));
+            }
+            start.countDown();
+
+            int stored = 0;
+            for (Future<Integer> result : results) {
+                stored += result.get();
+            }
+
+            // Then
+            assertEquals(3, stored);
+            assertEquals(3, store.countActiveByUser("user-1", OneTimeToken.TokenPurpose.LOGIN, now));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBulkIssuanceIsAllOrNothing() {
+        // Given
+        InMemoryOneTimeTokenStore small = new InMemoryOneTimeTokenStore(2, 1, new SimpleMeterRegistry());
+        LocalDateTime now = LocalDateTime.now();
+        small.save(token("hash-1", "user-1", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+        List<OneTimeToken> batch = List.of(
+            token("hash-2", "user-2", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)),
+            token("hash-3", "user-3", OneTimeToken.TokenPurpose.LOGIN, now.plusMinutes(5)));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> small.saveAllWithinLimit(batch, 5, now));
+        assertEquals(1, small.size());
+        assertTrue(small.findActive("hash-2", now).isEmpty());
+    }
+
+    private static OneTimeToken token(String hash, String userId, OneTimeToken.TokenPurpose purpose, LocalDateTime expiresAt) {
+        return OneTimeToken.builder()
+            .tokenHash(hash)
+            .userId(userId)
+            .purpose(purpose)
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Initials Avatar Service
+ * Tests initials extraction, deterministic colours, content-addressed URLs, rendering, caching and key bounds
+ */
+class InitialsAvatarServiceTest {
+
+    private static final String[] COLORS = {"#3B82F6", "#10B981", "#F59E0B"};
+
+    private InitialsAvatarService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InitialsAvatarService(COLORS, 128, 100, 1, 200, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testInitialsOfDisplayName() {
+        assertEquals("JD", InitialsAvatarService.initialsOf("john doe"));
+        assertEquals("JD", InitialsAvatarService.initialsOf("john.doe"));
+        assertEquals("AL", InitialsAvatarService.initialsOf("alice"));
+        assertEquals("ИП", InitialsAvatarService.initialsOf("иван петров"));
+        assertEquals("?", InitialsAvatarService.initialsOf("  ***  "));
+        assertEquals("?", InitialsAvatarService.initialsOf(null));
+    }
+
+    @Test
+    void testAvatarUrlIsDeterministic() {
+        // When
+        String first = service.avatarUrl("john doe", "johndoe");
+        String second = service.avatarUrl("john doe", "johndoe");
+
+        // Then
+        assertEquals(first, second);
+        assertTrue(first.startsWith(InitialsAvatarService.PATH + "JD?color="));
+        assertTrue(first.endsWith("&size=128"));
+    }
+
+    @Test
+    void testColorComesFromConfiguredPalette() {
+        for (String seed : new String[]{"a", "b", "c", "d", "e", "f"}) {
+            String color = service.colorFor(seed);
+            assertTrue(color.equals("3B82F6") || color.equals("10B981") || color.equals("F59E0B"), color);
+        }
+    }
+
+    @Test
+    void testRenderSvg() {
+        // When
+        InitialsAvatarService.RenderedAvatar avatar = service.render("jd", "#10B981", 64, "svg");
+
+        // Then
+        String svg = new String(avatar.body(), StandardCharsets.UTF_8);
+        assertEquals("image/svg+xml", avatar.contentType());
+        assertTrue(svg.contains("fill=\"#10B981\""));
+        assertTrue(svg.contains(">JD</text>"));
+        assertTrue(svg.contains("width=\"64\""));
+        assertTrue(avatar.etag().startsWith("\"") && avatar.etag().endsWith("\""));
+    }
+
+    @Test
+    void testRenderPng() {
+        // When
+        InitialsAvatarService.RenderedAvatar avatar = service.render("JD", "3B82F6", 32, "png");
+
+        // Then
+        assertEquals("image/png", avatar.contentType());
+        assertEquals((byte) 0x89, avatar.body()[0]);
+        assertEquals('P', avatar.body()[1]);
+    }
+
+    @Test
+    void testRenderIsCached() {
+        // When
+        InitialsAvatarService.RenderedAvatar first = service.render("JD", "3B82F6", 64, "svg");
+        InitialsAvatarService.RenderedAvatar second = service.render("jd", "#3b82f6", 64, "SVG");
+        InitialsAvatarService.RenderedAvatar fullWidth = service.render("ＪＤ", "3B82F6", 64, "svg");
+        InitialsAvatarService.RenderedAvatar otherSize = service.render("JD", "3B82F6", 256, "svg");
+
+        // Then
+        assertSame(first, second);
+        assertSame(first, fullWidth);
+        assertNotEquals(first.etag(), otherSize.etag());
+    }
+
+    @Test
+    void testDefaultsWhenParametersMissing() {
+        // When
+        InitialsAvatarService.RenderedAvatar avatar = service.render("JD", null, null, null);
+
+        // Then
+        String svg = new String(avatar.body(), StandardCharsets.UTF_8);
+        assertEquals("image/svg+xml", avatar.contentType());
+        assertTrue(svg.contains("fill=\"#3B82F6\""));
+        assertTrue(svg.contains("width=\"128\""));
+    }
+
+    @Test
+    void testDefaultSizeSnapsToAllowedSize() {
+        // Given
+        InitialsAvatarService odd = new InitialsAvatarService(COLORS, 100, 100, 1, 200, new SimpleMeterRegistry());
+
+        // When & Then
+        assertTrue(odd.avatarUrl("john doe", "johndoe").endsWith("&size=128"));
+    }
+
+    @Test
+    void testInvalidParametersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.render("JD", "FFFFFF", 64, "svg"));
+        assertThrows(IllegalArgumentException.class, () -> service.render("JD", "3B82F6", 8, "svg"));
+        assertThrows(IllegalArgumentException.class, () -> service.render("JD", "3B82F6", 100, "svg"));
+        assertThrows(IllegalArgumentException.class, () -> service.render("JD", "3B82F6", 64, "gif"));
+        assertThrows(IllegalArgumentException.class, () -> service.render("ABC", "3B82F6", 64, "svg"));
+        assertThrows(IllegalArgumentException.class, () -> service.render("<a", "3B82F6", 64, "svg"));
+    }
+}
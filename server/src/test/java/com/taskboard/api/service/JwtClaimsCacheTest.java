@@ -0,0 +1,108 @@
+package com.taskboard.api.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JWT claims cache
+ * Tests that tokens are verified once and that failures and expired tokens are never cached
+ */
+class JwtClaimsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtClaimsCache claimsCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        claimsCache = new JwtClaimsCache(100, meterRegistry);
+    }
+
+    @Test
+    void testClaimsAreParsedOncePerToken() {
+        // Given
+        AtomicInteger parseCount = new AtomicInteger();
+        Function<String, Claims> parser = token -> {
+            parseCount.incrementAndGet();
+            return claimsExpiringIn(60_000);
+        };
+
+        // When
+        Claims first = claimsCache.get("token-a", parser);
+        Claims second = claimsCache.get("token-a", parser);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, parseCount.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testParserFailureIsNotCached() {
+        // Given
+        AtomicInteger parseCount = new AtomicInteger();
+        Function<String, Claims> failingParser = token -> {
+            parseCount.incrementAndGet();
+            throw new MalformedJwtException("bad token");
+        };
+
+        // When / Then
+        assertThrows(MalformedJwtException.class, () -> claimsCache.get("bad-token", failingParser));
+        assertThrows(MalformedJwtException.class, () -> claimsCache.get("bad-token", failingParser));
+        assertEquals(2, parseCount.get());
+        assertEquals(0, claimsCache.estimatedSize());
+    }
+
+    @Test
+    void testExpiredClaimsAreNotServedFromCache() {
+        // Given
+        AtomicInteger parseCount = new AtomicInteger();
+        Function<String, Claims> parser = token -> {
+            parseCount.incrementAndGet();
+            return claimsExpiringIn(-1_000);
+        };
+
+        // When
+        claimsCache.get("expired-token", parser);
+        claimsCache.get("expired-token", parser);
+
+        // Then
+        assertEquals(2, parseCount.get());
+    }
+
+    @Test
+    void testInvalidateRemovesToken() {
+        // Given
+        AtomicInteger parseCount = new AtomicInteger();
+        Function<String, Claims> parser = token -> {
+            parseCount.incrementAndGet();
+            return claimsExpiringIn(60_000);
+        };
+        claimsCache.get("token-b", parser);
+
+        // When
+        claimsCache.invalidate("token-b");
+        claimsCache.get("token-b", parser);
+
+        // Then
+        assertEquals(2, parseCount.get());
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        return Jwts.claims()
+                .subject("user@example.com")
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
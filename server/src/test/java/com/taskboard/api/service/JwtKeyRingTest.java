@@ -0,0 +1,66 @@
+package com.taskboard.api.service;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JWT Key Ring
+ * Tests kid-based key selection during secret rotation
+ */
+class JwtKeyRingTest {
+
+    private static final String OLD_SECRET = "old-secret-key-for-jwt-key-ring-testing-purposes-only";
+    private static final String NEW_SECRET = "new-secret-key-for-jwt-key-ring-testing-purposes-only";
+
+    @Test
+    void testTokenCarriesActiveKeyId() {
+        // Given
+        JwtKeyRing ring = JwtKeyRing.of(NEW_SECRET);
+
+        // When
+        String token = ring.builder().subject("alice").compact();
+
+        // Then
+        assertEquals(ring.getActiveKeyId(), ring.parser().parseSignedClaims(token).getHeader().getKeyId());
+        assertEquals("alice", ring.parser().parseSignedClaims(token).getPayload().getSubject());
+    }
+
+    @Test
+    void testTokenSignedWithPreviousKeyIsAcceptedAfterRotation() {
+        // Given
+        String token = JwtKeyRing.of(OLD_SECRET).builder().subject("alice").compact();
+        JwtKeyRing rotated = JwtKeyRing.of(NEW_SECRET, OLD_SECRET);
+
+        // When & Then
+        assertEquals(2, rotated.size());
+        assertEquals("alice", rotated.parser().parseSignedClaims(token).getPayload().getSubject());
+    }
+
+    @Test
+    void testTokenSignedWithRetiredKeyIsRejected() {
+        // Given
+        String token = JwtKeyRing.of(OLD_SECRET).builder().subject("alice").compact();
+        JwtKeyRing ring = JwtKeyRing.of(NEW_SECRET);
+
+        // When & Then
+        assertThrows(JwtException.class, () -> ring.parser().parseSignedClaims(token));
+    }
+
+    @Test
+    void testLegacyTokenWithoutKeyIdIsVerifiedWithActiveKey() {
+        // Given
+        String token = Jwts.builder()
+                .subject("alice")
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // When & Then
+        assertEquals("alice", JwtKeyRing.of(NEW_SECRET).parser().parseSignedClaims(token).getPayload().getSubject());
+    }
+}
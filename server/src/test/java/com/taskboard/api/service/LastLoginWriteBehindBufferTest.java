@@ -0,0 +1,148 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Last Login Write Behind Buffer
+ * Tests per-user coalescing, batched flushes, requeue on failure, retry and size bounds and the queue depth gauge
+ */
+@ExtendWith(MockitoExtension.class)
+class LastLoginWriteBehindBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 8, 9, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LastLoginWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new LastLoginWriteBehindBuffer(jdbcTemplate, 100, 1000, 3, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoginsAreCoalescedPerUserKeepingTheLatest() {
+        // Given
+        buffer.record(1L, T0.plusMinutes(1));
+        buffer.record(1L, T0);
+        buffer.record("uuid-2", T0);
+
+        // When
+        int written = buffer.flush();
+
+        // Then
+        ArgumentCaptor<Collection<Map.Entry<LastLoginWriteBehindBuffer.UserKey, LastLoginWriteBehindBuffer.Pending>>> batch =
+            ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(eq(LastLoginWriteBehindBuffer.UPDATE_SQL), batch.capture(), eq(2),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, written);
+        assertTrue(batch.getValue().contains(Map.entry(new LastLoginWriteBehindBuffer.UserKey(1L, null),
+            new LastLoginWriteBehindBuffer.Pending(T0.plusMinutes(1), 0))));
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void testGaugeReportsQueueDepth() {
+        // When
+        buffer.record(1L, T0);
+        buffer.record(2L, T0);
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("auth.last_login.pending").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedBatchIsRequeued() {
+        // Given
+        buffer.record(1L, T0);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        int written = buffer.flush();
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(1, buffer.pendingCount());
+        assertEquals(1.0, meterRegistry.get("auth.last_login.failed").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEntryIsDroppedAfterMaxAttempts() {
+        // Given
+        buffer.record(1L, T0);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("bad row"));
+
+        // When
+        buffer.flush();
+        buffer.record(1L, T0.plusMinutes(1));
+        buffer.flush();
+        buffer.flush();
+
+        // Then
+        assertEquals(0, buffer.pendingCount());
+        assertEquals(3.0, meterRegistry.get("auth.last_login.failed").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.last_login.dropped").counter().count());
+    }
+
+    @Test
+    void testFullBufferDropsNewUsersButKeepsUpdatingPendingOnes() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LastLoginWriteBehindBuffer small = new LastLoginWriteBehindBuffer(jdbcTemplate, 10, 2, 3, registry);
+        small.record(1L, T0);
+        small.record("uuid-2", T0);
+
+        // When
+        small.record(3L, T0);
+        small.record(1L, T0.plusMinutes(1));
+
+        // Then
+        assertEquals(2, small.pendingCount());
+        assertEquals(1.0, registry.get("auth.last_login.dropped").counter().count());
+    }
+
+    @Test
+    void testFlushWithNothingPendingDoesNotTouchDatabase() {
+        assertEquals(0, buffer.flush());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testShutdownFlushesPendingLogins() {
+        // Given
+        buffer.record(1L, T0);
+
+        // When
+        buffer.shutdown();
+
+        // Then
+        assertEquals(0, buffer.pendingCount());
+    }
+}
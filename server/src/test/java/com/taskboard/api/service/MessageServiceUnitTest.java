@@ -154,4 +154,16 @@ public class MessageServiceUnitTest {
             }, "Key " + key + " should exist in Russian messages");
         }
     }
+
+    @Test
+    public void testFormatCacheReusesCompiledPattern() {
+        // Повторное форматирование того же шаблона берёт скомпилированный MessageFormat из кэша
+        String first = messageService.getMessage("info.test.auth", new Object[]{"john.doe"}, Locale.ENGLISH);
+        String second = messageService.getMessage("info.test.auth", new Object[]{"jane.roe"}, Locale.ENGLISH);
+
+        assertEquals("Authenticated as: john.doe", first);
+        assertEquals("Authenticated as: jane.roe", second);
+        assertEquals(1, messageService.formatCacheStats().missCount());
+        assertEquals(1, messageService.formatCacheStats().hitCount());
+    }
 }
@@ -0,0 +1,77 @@
+package com.taskboard.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for One-Time Token Generator
+ * Tests hex and base64url encoding, entropy sources and buffer reuse between tokens
+ */
+class OneTimeTokenGeneratorTest {
+
+    @Test
+    void testHexEncodingMatchesReference() {
+        // Given
+        byte[] fixed = new byte[32];
+        for (int i = 0; i < fixed.length; i++) {
+            fixed[i] = (byte) (i * 37 - 128);
+        }
+        OneTimeTokenGenerator generator = new OneTimeTokenGenerator(32, OneTimeTokenGenerator.Encoding.HEX,
+            bytes -> System.arraycopy(fixed, 0, bytes, 0, bytes.length));
+
+        // When
+        String token = generator.generate();
+
+        // Then
+        assertEquals(HexFormat.of().formatHex(fixed), token);
+    }
+
+    @Test
+    void testBase64UrlEncodingMatchesReference() {
+        // Given
+        byte[] fixed = new byte[32];
+        for (int i = 0; i < fixed.length; i++) {
+            fixed[i] = (byte) (255 - i * 7);
+        }
+        OneTimeTokenGenerator generator = new OneTimeTokenGenerator(32, OneTimeTokenGenerator.Encoding.BASE64URL,
+            bytes -> System.arraycopy(fixed, 0, bytes, 0, bytes.length));
+
+        // When
+        String token = generator.generate();
+
+        // Then
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(fixed), token);
+        assertEquals(43, token.length());
+    }
+
+    @Test
+    void testTokensAreUniqueForEachEntropySource() {
+        for (String entropy : new String[]{"shared", "per-thread"}) {
+            // Given
+            OneTimeTokenGenerator generator = new OneTimeTokenGenerator(32, "hex", entropy);
+            Set<String> tokens = new HashSet<>();
+
+            // When
+            for (int i = 0; i < 1000; i++) {
+                tokens.add(generator.generate());
+            }
+
+            // Then
+            assertEquals(1000, tokens.size());
+            assertTrue(tokens.stream().allMatch(token -> token.matches("[0-9a-f]{64}")));
+        }
+    }
+
+    @Test
+    void testInvalidConfigurationIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OneTimeTokenGenerator(8, "hex", "shared"));
+        assertThrows(IllegalArgumentException.class, () -> new OneTimeTokenGenerator(32, "base32", "shared"));
+        assertThrows(IllegalArgumentException.class, () -> new OneTimeTokenGenerator(32, "hex", "urandom"));
+    }
+}
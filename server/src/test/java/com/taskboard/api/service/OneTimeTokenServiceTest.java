@@ -1,16 +1,20 @@
 package com.taskboard.api.service;
 
+import com.taskboard.api.dto.IssuedTokenResponse;
 import com.taskboard.api.model.OneTimeToken;
-import com.taskboard.api.repository.OneTimeTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,7 +31,11 @@ import static org.mockito.Mockito.*;
 class OneTimeTokenServiceTest {
 
     @Mock
-    private OneTimeTokenRepository tokenRepository;
+    private OneTimeTokenStore tokenStore;
+
+    @Spy
+    private OneTimeTokenGenerator tokenGenerator =
+        new OneTimeTokenGenerator(32, OneTimeTokenGenerator.Encoding.HEX, OneTimeTokenGenerator.EntropySource.shared());
 
     @InjectMocks
     private OneTimeTokenService oneTimeTokenService;
@@ -41,7 +49,7 @@ class OneTimeTokenServiceTest {
     void setUp() {
         ReflectionTestUtils.setField(oneTimeTokenService, "defaultExpirationMinutes", testExpirationMinutes);
         ReflectionTestUtils.setField(oneTimeTokenService, "maxActiveTokensPerUser", testMaxActiveTokens);
-        ReflectionTestUtils.setField(oneTimeTokenService, "tokenLength", testTokenLength);
+        ReflectionTestUtils.setField(oneTimeTokenService, "bulkBatchSize", 2);
     }
 
     @Test
@@ -54,9 +62,9 @@ class OneTimeTokenServiceTest {
             .expiresAt(LocalDateTime.now().plusMinutes(testExpirationMinutes))
             .build();
 
-        when(tokenRepository.countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class)))
+        when(tokenStore.countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class)))
             .thenReturn(0L);
-        when(tokenRepository.save(any(OneTimeToken.class)))
+        when(tokenStore.save(any(OneTimeToken.class)))
             .thenReturn(expectedToken);
 
         // When
@@ -70,8 +78,8 @@ class OneTimeTokenServiceTest {
         assertNotNull(result.getExpiresAt());
         assertTrue(result.getExpiresAt().isAfter(LocalDateTime.now()));
 
-        verify(tokenRepository).countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class));
-        verify(tokenRepository).save(any(OneTimeToken.class));
+        verify(tokenStore).countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class));
+        verify(tokenStore).save(any(OneTimeToken.class));
     }
 
     @Test
@@ -84,9 +92,9 @@ class OneTimeTokenServiceTest {
             .expiresAt(LocalDateTime.now().plusMinutes(testExpirationMinutes))
             .build();
 
-        when(tokenRepository.countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.PASSWORD_RESET), any(LocalDateTime.class)))
+        when(tokenStore.countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.PASSWORD_RESET), any(LocalDateTime.class)))
             .thenReturn(0L);
-        when(tokenRepository.save(any(OneTimeToken.class)))
+        when(tokenStore.save(any(OneTimeToken.class)))
             .thenReturn(expectedToken);
 
         // When
@@ -98,14 +106,14 @@ class OneTimeTokenServiceTest {
         assertEquals(OneTimeToken.TokenPurpose.PASSWORD_RESET, result.getPurpose());
         assertFalse(result.getIsUsed());
 
-        verify(tokenRepository).countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.PASSWORD_RESET), any(LocalDateTime.class));
-        verify(tokenRepository).save(any(OneTimeToken.class));
+        verify(tokenStore).countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.PASSWORD_RESET), any(LocalDateTime.class));
+        verify(tokenStore).save(any(OneTimeToken.class));
     }
 
     @Test
     void testCreateTokenExceedsMaxActiveTokens() {
         // Given
-        when(tokenRepository.countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class)))
+        when(tokenStore.countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class)))
             .thenReturn((long) testMaxActiveTokens);
 
         // When & Then
@@ -113,8 +121,92 @@ class OneTimeTokenServiceTest {
             oneTimeTokenService.createLoginToken(testUserId, testExpirationMinutes);
         });
 
-        verify(tokenRepository).countActiveByUserIdAndPurpose(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class));
-        verify(tokenRepository, never()).save(any(OneTimeToken.class));
+        verify(tokenStore).countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class));
+        verify(tokenStore, never()).save(any(OneTimeToken.class));
+    }
+
+    @Test
+    void testCreateTokenStoresOnlyHash() {
+        // Given
+        when(tokenStore.countActiveByUser(eq(testUserId), eq(OneTimeToken.TokenPurpose.LOGIN), any(LocalDateTime.class)))
+            .thenReturn(0L);
+        when(tokenStore.save(any(OneTimeToken.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OneTimeToken result = oneTimeTokenService.createLoginToken(testUserId, testExpirationMinutes);
+
+        // Then
+        ArgumentCaptor<OneTimeToken> stored = ArgumentCaptor.forClass(OneTimeToken.class);
+        verify(tokenStore).save(stored.capture());
+        assertNotNull(result.getToken());
+        assertEquals(testTokenLength * 2, result.getToken().length());
+        assertEquals(OneTimeTokenService.hashToken(result.getToken()), stored.getValue().getTokenHash());
+        assertNotEquals(result.getToken(), stored.getValue().getTokenHash());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIssueTokensInBatchesWithAtomicLimitCheck() {
+        // Given
+        when(tokenStore.saveAllWithinLimit(anyList(), eq(testMaxActiveTokens), any(LocalDateTime.class)))
+            .thenAnswer(invocation -> ((List<OneTimeToken>) invocation.getArgument(0)).stream()
+                .filter(token -> !token.getUserId().equals("user-2"))
+                .toList());
+        List<IssuedTokenResponse> results = new ArrayList<>();
+
+        // When
+        int issued = oneTimeTokenService.issueTokens(List.of("user-1", "user-2", "user-1", "user-3", " "),
+            OneTimeToken.TokenPurpose.EMAIL_VERIFICATION, 60, null, results::add);
+
+        // Then
+        assertEquals(2, issued);
+        assertEquals(List.of("user-1", "user-2", "user-3"), results.stream().map(IssuedTokenResponse::getUserId).toList());
+        assertEquals(IssuedTokenResponse.LIMIT_EXCEEDED, results.get(1).getStatus());
+        assertNull(results.get(1).getToken());
+        assertEquals(IssuedTokenResponse.ISSUED, results.get(2).getStatus());
+        assertEquals(testTokenLength * 2, results.get(2).getToken().length());
+
+        ArgumentCaptor<List<OneTimeToken>> batches = ArgumentCaptor.forClass(List.class);
+        verify(tokenStore, times(2)).saveAllWithinLimit(batches.capture(), eq(testMaxActiveTokens), any(LocalDateTime.class));
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(OneTimeTokenService.hashToken(results.get(0).getToken()),
+            batches.getAllValues().get(0).get(0).getTokenHash());
+        verify(tokenStore, never()).save(any(OneTimeToken.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIssueTokensRetriesBatchAfterSerializationConflict() {
+        // Given
+        when(tokenStore.saveAllWithinLimit(anyList(), anyInt(), any(LocalDateTime.class)))
+            .thenThrow(new ConcurrencyFailureException("could not serialize access"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        List<IssuedTokenResponse> results = new ArrayList<>();
+
+        // When
+        int issued = oneTimeTokenService.issueTokens(List.of("user-1"),
+            OneTimeToken.TokenPurpose.EMAIL_VERIFICATION, 60, null, results::add);
+
+        // Then
+        assertEquals(1, issued);
+        assertEquals(IssuedTokenResponse.ISSUED, results.get(0).getStatus());
+        verify(tokenStore, times(2)).saveAllWithinLimit(anyList(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testIssueTokensGivesUpAfterRepeatedConflicts() {
+        // Given
+        when(tokenStore.saveAllWithinLimit(anyList(), anyInt(), any(LocalDateTime.class)))
+            .thenThrow(new ConcurrencyFailureException("could not serialize access"));
+        List<IssuedTokenResponse> results = new ArrayList<>();
+
+        // When & Then
+        assertThrows(ConcurrencyFailureException.class, () -> oneTimeTokenService.issueTokens(List.of("user-1"),
+            OneTimeToken.TokenPurpose.EMAIL_VERIFICATION, 60, null, results::add));
+        assertTrue(results.isEmpty());
+        verify(tokenStore, times(OneTimeTokenService.BULK_MAX_ATTEMPTS))
+            .saveAllWithinLimit(anyList(), anyInt(), any(LocalDateTime.class));
     }
 
     @Test
@@ -124,14 +216,14 @@ class OneTimeTokenServiceTest {
         OneTimeToken.TokenPurpose purpose = OneTimeToken.TokenPurpose.LOGIN;
         
         OneTimeToken token = OneTimeToken.builder()
-            .token(tokenValue)
+            .tokenHash(OneTimeTokenService.hashToken(tokenValue))
             .userId(testUserId)
             .purpose(purpose)
             .expiresAt(LocalDateTime.now().plusMinutes(10))
-            .isUsed(false)
+            .isUsed(true)
             .build();
 
-        when(tokenRepository.findActiveByToken(eq(tokenValue), any(LocalDateTime.class)))
+        when(tokenStore.consume(eq(OneTimeTokenService.hashToken(tokenValue)), eq(purpose), any(LocalDateTime.class)))
             .thenReturn(Optional.of(token));
 
         // When
@@ -139,8 +231,7 @@ class OneTimeTokenServiceTest {
 
         // Then
         assertTrue(result);
-        verify(tokenRepository).findActiveByToken(eq(tokenValue), any(LocalDateTime.class));
-        verify(tokenRepository).markAsUsed(eq(tokenValue), any(LocalDateTime.class));
+        verify(tokenStore).consume(eq(OneTimeTokenService.hashToken(tokenValue)), eq(purpose), any(LocalDateTime.class));
     }
 
     @Test
@@ -149,7 +240,7 @@ class OneTimeTokenServiceTest {
         String tokenValue = "non-existent-token";
         OneTimeToken.TokenPurpose purpose = OneTimeToken.TokenPurpose.LOGIN;
 
-        when(tokenRepository.findActiveByToken(eq(tokenValue), any(LocalDateTime.class)))
+        when(tokenStore.consume(eq(OneTimeTokenService.hashToken(tokenValue)), eq(purpose), any(LocalDateTime.class)))
             .thenReturn(Optional.empty());
 
         // When
@@ -157,35 +248,23 @@ class OneTimeTokenServiceTest {
 
         // Then
         assertFalse(result);
-        verify(tokenRepository).findActiveByToken(eq(tokenValue), any(LocalDateTime.class));
-        verify(tokenRepository, never()).markAsUsed(anyString(), any(LocalDateTime.class));
+        verify(tokenStore).consume(eq(OneTimeTokenService.hashToken(tokenValue)), eq(purpose), any(LocalDateTime.class));
     }
 
     @Test
     void testValidateAndUseTokenWrongPurpose() {
         // Given
         String tokenValue = "valid-token";
-        OneTimeToken.TokenPurpose tokenPurpose = OneTimeToken.TokenPurpose.LOGIN;
         OneTimeToken.TokenPurpose expectedPurpose = OneTimeToken.TokenPurpose.PASSWORD_RESET;
-        
-        OneTimeToken token = OneTimeToken.builder()
-            .token(tokenValue)
-            .userId(testUserId)
-            .purpose(tokenPurpose)
-            .expiresAt(LocalDateTime.now().plusMinutes(10))
-            .isUsed(false)
-            .build();
 
-        when(tokenRepository.findActiveByToken(eq(tokenValue), any(LocalDateTime.class)))
-            .thenReturn(Optional.of(token));
+        when(tokenStore.consume(eq(OneTimeTokenService.hashToken(tokenValue)), eq(expectedPurpose), any(LocalDateTime.class)))
+            .thenReturn(Optional.empty());
 
         // When
         boolean result = oneTimeTokenService.validateAndUseToken(tokenValue, expectedPurpose);
 
         // Then
         assertFalse(result);
-        verify(tokenRepository).findActiveByToken(eq(tokenValue), any(LocalDateTime.class));
-        verify(tokenRepository, never()).markAsUsed(anyString(), any(LocalDateTime.class));
     }
 
     @Test
@@ -193,14 +272,14 @@ class OneTimeTokenServiceTest {
         // Given
         String tokenValue = "valid-token";
         OneTimeToken expectedToken = OneTimeToken.builder()
-            .token(tokenValue)
+            .tokenHash(OneTimeTokenService.hashToken(tokenValue))
             .userId(testUserId)
             .purpose(OneTimeToken.TokenPurpose.LOGIN)
             .expiresAt(LocalDateTime.now().plusMinutes(10))
             .isUsed(false)
             .build();
 
-        when(tokenRepository.findActiveByToken(eq(tokenValue), any(LocalDateTime.class)))
+        when(tokenStore.findActive(eq(OneTimeTokenService.hashToken(tokenValue)), any(LocalDateTime.class)))
             .thenReturn(Optional.of(expectedToken));
 
         // When
@@ -209,7 +288,7 @@ class OneTimeTokenServiceTest {
         // Then
         assertTrue(result.isPresent());
         assertEquals(expectedToken, result.get());
-        verify(tokenRepository).findActiveByToken(eq(tokenValue), any(LocalDateTime.class));
+        verify(tokenStore).findActive(eq(OneTimeTokenService.hashToken(tokenValue)), any(LocalDateTime.class));
     }
 
     @Test
@@ -217,14 +296,14 @@ class OneTimeTokenServiceTest {
         // Given
         List<OneTimeToken> expectedTokens = List.of(
             OneTimeToken.builder()
-                .token("token1")
+                .tokenHash("hash1")
                 .userId(testUserId)
                 .purpose(OneTimeToken.TokenPurpose.LOGIN)
                 .expiresAt(LocalDateTime.now().plusMinutes(10))
                 .isUsed(false)
                 .build(),
             OneTimeToken.builder()
-                .token("token2")
+                .tokenHash("hash2")
                 .userId(testUserId)
                 .purpose(OneTimeToken.TokenPurpose.PASSWORD_RESET)
                 .expiresAt(LocalDateTime.now().plusMinutes(5))
@@ -232,7 +311,7 @@ class OneTimeTokenServiceTest {
                 .build()
         );
 
-        when(tokenRepository.findByUserId(testUserId))
+        when(tokenStore.findActiveByUser(eq(testUserId), isNull(), any(LocalDateTime.class)))
             .thenReturn(expectedTokens);
 
         // When
@@ -241,6 +320,6 @@ class OneTimeTokenServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(tokenRepository).findByUserId(testUserId);
+        verify(tokenStore).findActiveByUser(eq(testUserId), isNull(), any(LocalDateTime.class));
     }
 }
@@ -0,0 +1,80 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Presigned URL Cache
+ * Tests URL reuse per storage key, signing for the full lifetime and invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+class PresignedUrlCacheTest {
+
+    @Mock
+    private StorageService storageService;
+
+    private PresignedUrlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PresignedUrlCache(storageService, 3600, 0.5, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testUrlIsReusedForSameKey() {
+        // Given
+        when(storageService.generatePresignedDownloadUrl(eq("avatars/1/a.png"), any()))
+                .thenReturn("signed-1", "signed-2");
+
+        // When
+        String first = cache.getDownloadUrl("avatars/1/a.png");
+        String second = cache.getDownloadUrl("avatars/1/a.png");
+
+        // Then
+        assertEquals("signed-1", first);
+        assertEquals(first, second);
+        verify(storageService, times(1)).generatePresignedDownloadUrl("avatars/1/a.png", Duration.ofHours(1));
+    }
+
+    @Test
+    void testInvalidateForcesNewSignature() {
+        // Given
+        when(storageService.generatePresignedDownloadUrl(eq("avatars/1/a.png"), any()))
+                .thenReturn("signed-1", "signed-2");
+        cache.getDownloadUrl("avatars/1/a.png");
+
+        // When
+        cache.invalidate("avatars/1/a.png");
+
+        // Then
+        assertEquals("signed-2", cache.getDownloadUrl("avatars/1/a.png"));
+    }
+
+    @Test
+    void testSigningFailureIsNotCached() {
+        // Given
+        when(storageService.generatePresignedDownloadUrl(eq("avatars/1/a.png"), any()))
+                .thenThrow(new RuntimeException("Failed to generate download URL"))
+                .thenReturn("signed-1");
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> cache.getDownloadUrl("avatars/1/a.png"));
+        assertEquals("signed-1", cache.getDownloadUrl("avatars/1/a.png"));
+    }
+
+    @Test
+    void testRejectsInvalidReuseFraction() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PresignedUrlCache(storageService, 3600, 1.0, 100, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.dto.CursorPage;
+import com.taskboard.api.dto.ProjectDto;
+import com.taskboard.api.entity.Project;
+import com.taskboard.api.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Project Service
+ * Tests keyset pagination, batched tag loading and chunked streaming of projects
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private ProjectService projectService;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private Project project(long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Project " + id);
+        project.setCreatedBy("alice");
+        project.setUpdatedAt(now.minusMinutes(100 - id));
+        return project;
+    }
+
+    private List<Project> projects(long fromId, int count) {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            projects.add(project(fromId - i));
+        }
+        return projects;
+    }
+
+    @Test
+    void testGetProjectsPageLoadsTagsInOneQuery() {
+        // Given
+        when(projectRepository.findPageByCreatedBy(eq("alice"), any(Pageable.class))).thenReturn(projects(50, 3));
+        when(projectRepository.findTagsByProjectIds(List.of(50L, 49L)))
+            .thenReturn(List.of(new Object[]{50L, "backend"}, new Object[]{50L, "urgent"}));
+
+        // When
+        CursorPage<ProjectDto> page = projectService.getProjectsPage("alice", null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertEquals(List.of("backend", "urgent"), page.getItems().get(0).getTags());
+        assertTrue(page.getItems().get(1).getTags().isEmpty());
+        assertTrue(page.isHasMore());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor(), "updated");
+        assertEquals(49L, cursor.id());
+        verify(projectRepository, times(1)).findTagsByProjectIds(anyCollection());
+    }
+
+    @Test
+    void testGetProjectsPageContinuesFromCursor() {
+        // Given
+        String cursor = new KeysetCursor("updated", now, 49L).encode();
+        when(projectRepository.findPageByCreatedByAfter(eq("alice"), eq(now), eq(49L), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // When
+        CursorPage<ProjectDto> page = projectService.getProjectsPage("alice", cursor, 2);
+
+        // Then
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(projectRepository, never()).findTagsByProjectIds(anyCollection());
+    }
+
+    @Test
+    void testStreamProjectsReadsInChunks() {
+        // Given
+        List<Project> firstChunk = projects(1000, ProjectService.STREAM_CHUNK_SIZE);
+        Project lastOfFirst = firstChunk.get(firstChunk.size() - 1);
+        when(projectRepository.findPageByCreatedBy(eq("alice"), any(Pageable.class))).thenReturn(firstChunk);
+        when(projectRepository.findPageByCreatedByAfter(eq("alice"), eq(lastOfFirst.getUpdatedAt()),
+                eq(lastOfFirst.getId()), any(Pageable.class)))
+            .thenReturn(projects(lastOfFirst.getId() - 1, 3));
+        when(projectRepository.findTagsByProjectIds(anyCollection())).thenReturn(List.of());
+        List<ProjectDto> streamed = new ArrayList<>();
+
+        // When
+        projectService.streamProjectsByUser("alice", streamed::add);
+
+        // Then
+        assertEquals(ProjectService.STREAM_CHUNK_SIZE + 3, streamed.size());
+        verify(projectRepository, times(2)).findTagsByProjectIds(anyCollection());
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Security Version Denylist
+ * Tests revocation checks for stateless principal tokens
+ */
+@ExtendWith(MockitoExtension.class)
+class SecurityVersionDenylistTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SecurityVersionDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new SecurityVersionDenylist(userRepository, true, 3_600_000L);
+    }
+
+    @Test
+    void testUnknownUserIsNotRevoked() {
+        assertFalse(denylist.isRevoked(1L, 0L));
+    }
+
+    @Test
+    void testOlderSecurityVersionIsRevokedAfterLocalChange() {
+        // When
+        denylist.recordChange(1L, 2L);
+
+        // Then
+        assertTrue(denylist.isRevoked(1L, 1L));
+        assertFalse(denylist.isRevoked(1L, 2L));
+    }
+
+    @Test
+    void testRefreshLoadsVersionsFromRepository() {
+        // Given
+        when(userRepository.findSecurityVersionsChangedSince(any(LocalDateTime.class)))
+            .thenReturn(List.of(view(7L, 3L)));
+
+        // When
+        denylist.refresh();
+
+        // Then
+        assertTrue(denylist.isRevoked(7L, 2L));
+        assertFalse(denylist.isRevoked(7L, 3L));
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void testRefreshKeepsRecentLocalChangesNotYetVisibleInDatabase() {
+        // Given
+        denylist.recordChange(5L, 4L);
+        when(userRepository.findSecurityVersionsChangedSince(any(LocalDateTime.class)))
+            .thenReturn(List.of());
+
+        // When
+        denylist.refresh();
+
+        // Then
+        assertTrue(denylist.isRevoked(5L, 3L));
+    }
+
+    @Test
+    void testLockedOrDisabledUsersAreRevokedWhateverTheirVersion() {
+        // Given
+        when(userRepository.findSecurityVersionsChangedSince(any(LocalDateTime.class)))
+            .thenReturn(List.of(view(8L, 0L, true, false), view(9L, 2L, false, true)));
+
+        // When
+        denylist.refresh();
+
+        // Then
+        assertTrue(denylist.isRevoked(8L, 0L));
+        assertTrue(denylist.isRevoked(9L, 2L));
+    }
+
+    @Test
+    void testSubjectRevocationCoversTokensIssuedBeforeIt() {
+        // Given
+        Date before = new Date(System.currentTimeMillis() - 60_000L);
+
+        // When
+        denylist.recordSubjectRevocation("alice");
+
+        // Then
+        assertTrue(denylist.isRevoked("alice", before));
+        assertFalse(denylist.isRevoked("alice", new Date(System.currentTimeMillis() + 60_000L)));
+        assertFalse(denylist.isRevoked("bob", before));
+    }
+
+    @Test
+    void testDisabledDenylistDoesNotQueryRepository() {
+        // Given
+        SecurityVersionDenylist disabled = new SecurityVersionDenylist(userRepository, false, 3_600_000L);
+
+        // When
+        disabled.refresh();
+        disabled.recordChange(1L, 2L);
+        disabled.recordSubjectRevocation("alice");
+
+        // Then
+        verifyNoInteractions(userRepository);
+        assertFalse(disabled.isRevoked(1L, 1L));
+        assertFalse(disabled.isRevoked("alice", new Date(0L)));
+    }
+
+    private UserRepository.SecurityVersionView view(Long id, long version) {
+        return view(id, version, true, true);
+    }
+
+    private UserRepository.SecurityVersionView view(Long id, long version, boolean enabled, boolean nonLocked) {
+        return new UserRepository.SecurityVersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getSecurityVersion() {
+                return version;
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            @Override
+            public boolean isAccountNonLocked() {
+                return nonLocked;
+            }
+        };
+    }
+}
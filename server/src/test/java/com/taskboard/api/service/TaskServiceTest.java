@@ -0,0 +1,168 @@
+package com.taskboard.api.service;
+
+import com.taskboard.api.dto.CreateTaskRequest;
+import com.taskboard.api.dto.CursorPage;
+import com.taskboard.api.dto.TaskDto;
+import com.taskboard.api.dto.TaskFilter;
+import com.taskboard.api.entity.Project;
+import com.taskboard.api.entity.Task;
+import com.taskboard.api.repository.ProjectRepository;
+import com.taskboard.api.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Task Service
+ * Tests keyset pagination of task lists and project ownership checks
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private Task task(long id, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCreatorId("alice");
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt);
+        return task;
+    }
+
+    @Test
+    void testGetTasksReturnsCursorWhenMoreRowsExist() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Task> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(task(10 - i, now.minusMinutes(i)));
+        }
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+        TaskFilter filter = new TaskFilter();
+        filter.setSize(2);
+
+        // When
+        CursorPage<TaskDto> page = taskService.getTasks(filter, "alice");
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor(), "created");
+        assertEquals(9L, cursor.id());
+        assertEquals(now.minusMinutes(1), cursor.timestamp());
+    }
+
+    @Test
+    void testGetTasksLastPageHasNoCursor() {
+        // Given
+        when(taskRepository.findBy(any(Specification.class), any()))
+            .thenReturn(List.of(task(1, LocalDateTime.now())));
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(List.of("all"));
+
+        // When
+        CursorPage<TaskDto> page = taskService.getTasks(filter, "alice");
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetTasksRejectsCursorOfAnotherSortOrder() {
+        // Given
+        TaskFilter filter = new TaskFilter();
+        filter.setSort("updated");
+        filter.setCursor(new KeysetCursor("created", LocalDateTime.now(), 1L).encode());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(filter, "alice"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testCreateTaskInForeignProjectIsDenied() {
+        // Given
+        Project project = new Project();
+        project.setId(5L);
+        project.setCreatedBy("bob");
+        when(projectRepository.findById(5L)).thenReturn(Optional.of(project));
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Task");
+        request.setProjectId(5L);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> taskService.createTask(request, "alice"));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateTaskNormalizesStatusAndPriority() {
+        // Given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Task");
+        request.setStatus("in-progress");
+        request.setPriority("high");
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // When
+        TaskDto task = taskService.createTask(request, "alice");
+
+        // Then
+        verify(taskRepository).save(argThat(saved ->
+            "IN_PROGRESS".equals(saved.getStatus()) && "HIGH".equals(saved.getPriority())));
+        assertEquals("in-progress", task.getStatus());
+        assertEquals("high", task.getPriority());
+        assertEquals("alice", task.getCreatorId());
+    }
+
+    @Test
+    void testStatusAndPriorityFiltersAreNormalized() {
+        assertEquals(List.of("IN_PROGRESS", "DONE"), TaskService.normalizeAll(List.of("in-progress", " Done ")));
+        assertEquals(List.of("BACKLOG", "BLOCKED"), TaskService.normalizeAll(List.of("backlog,blocked")));
+        assertEquals(List.of(), TaskService.normalizeAll(List.of("all", "")));
+    }
+
+    @Test
+    void testProjectFilterAcceptsClientParameter() {
+        // Given
+        TaskFilter byClientName = new TaskFilter();
+        byClientName.setProject("12");
+        TaskFilter all = new TaskFilter();
+        all.setProject("all");
+        TaskFilter invalid = new TaskFilter();
+        invalid.setProject("abc");
+
+        // When & Then
+        assertEquals(12L, TaskService.projectFilter(byClientName));
+        assertNull(TaskService.projectFilter(all));
+        assertThrows(IllegalArgumentException.class, () -> TaskService.projectFilter(invalid));
+    }
+}
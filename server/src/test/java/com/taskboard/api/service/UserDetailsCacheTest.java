@@ -0,0 +1,148 @@
+package com.taskboard.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.taskboard.api.service.UserDetailsCache.Namespace.ACCOUNT;
+import static com.taskboard.api.service.UserDetailsCache.Namespace.USER_MODULE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for User Details Cache
+ * Tests local hits, namespaces, remote fallback, eviction of all identifiers and metrics
+ */
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTest {
+
+    @Mock
+    private ObjectProvider<UserDetailsRemoteCache> remoteCacheProvider;
+
+    @Mock
+    private UserDetailsRemoteCache remoteCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testLoaderIsCalledOncePerIdentifier() {
+        // Given
+        UserDetailsCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = key -> {
+            loads.incrementAndGet();
+            return user(key);
+        };
+
+        // When
+        cache.get(ACCOUNT, "alice", loader);
+        UserDetails second = cache.get(ACCOUNT, "alice", loader);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals("alice", second.getUsername());
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").gauge().value(), 0.0001);
+    }
+
+    @Test
+    void testEvictDropsAllIdentifiers() {
+        // Given
+        UserDetailsCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = key -> {
+            loads.incrementAndGet();
+            return user("alice");
+        };
+        cache.get(ACCOUNT, "alice", loader);
+        cache.get(ACCOUNT, "alice@example.com", loader);
+
+        // When
+        cache.evict("alice", "alice@example.com", null);
+        cache.get(ACCOUNT, "alice", loader);
+        cache.get(ACCOUNT, "alice@example.com", loader);
+
+        // Then
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testNamespacesDoNotShareEntries() {
+        // Given
+        UserDetailsCache cache = localOnlyCache();
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetails> loader = key -> {
+            loads.incrementAndGet();
+            return user(key);
+        };
+
+        // When
+        UserDetails account = cache.get(ACCOUNT, "alice", loader);
+        UserDetails module = cache.get(USER_MODULE, "alice", loader);
+        cache.evict("alice");
+        cache.get(ACCOUNT, "alice", loader);
+        cache.get(USER_MODULE, "alice", loader);
+
+        // Then
+        assertNotSame(account, module);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testLoaderFailureIsNotCached() {
+        // Given
+        UserDetailsCache cache = localOnlyCache();
+        Function<String, UserDetails> failing = key -> {
+            throw new UsernameNotFoundException("missing");
+        };
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> cache.get(ACCOUNT, "ghost", failing));
+        assertEquals("ghost", cache.get(ACCOUNT, "ghost", this::user).getUsername());
+    }
+
+    @Test
+    void testRemoteHitSkipsLoaderAndMissPopulatesRemote() {
+        // Given
+        when(remoteCacheProvider.getIfAvailable()).thenReturn(remoteCache);
+        UserDetailsCache cache = new UserDetailsCache(100, 60, remoteCacheProvider, meterRegistry);
+        when(remoteCache.get("account:bob")).thenReturn(Optional.of(user("bob")));
+        when(remoteCache.get("account:carol")).thenReturn(Optional.empty());
+
+        // When
+        cache.get(ACCOUNT, "bob", key -> fail("loader must not be called on remote hit"));
+        cache.get(ACCOUNT, "carol", this::user);
+        cache.evict("bob");
+
+        // Then
+        verify(remoteCache).put(eq("account:carol"), any(UserDetails.class));
+        verify(remoteCache, never()).put(eq("account:bob"), any(UserDetails.class));
+        verify(remoteCache).evict("account:bob", "user-module:bob");
+        assertEquals(1.0, meterRegistry.get("cache.remote.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.remote.gets").tag("result", "miss").counter().count());
+    }
+
+    private UserDetailsCache localOnlyCache() {
+        when(remoteCacheProvider.getIfAvailable()).thenReturn(null);
+        return new UserDetailsCache(100, 60, remoteCacheProvider, meterRegistry);
+    }
+
+    private UserDetails user(String username) {
+        return User.withUsername(username).password("hash").authorities("ROLE_USER").build();
+    }
+}
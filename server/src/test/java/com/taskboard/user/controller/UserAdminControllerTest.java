@@ -0,0 +1,89 @@
+package com.taskboard.user.controller;
+
+import com.taskboard.user.dto.UserDto;
+import com.taskboard.user.dto.UserPageDto;
+import com.taskboard.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for User Admin Controller
+ * Tests the plain user list contract and the paged endpoint with its parameters
+ */
+@ExtendWith(MockitoExtension.class)
+class UserAdminControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserAdminController(userService)).build();
+        when(userService.getAllUsers(anyInt(), anyInt(), anyString(), anyString(), anyBoolean()))
+            .thenReturn(page(42L));
+    }
+
+    @Test
+    void testUserListKeepsPlainArrayResponse() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users").param("page", "1").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$[0].username").value("alice"));
+
+        verify(userService).getAllUsers(1, 10, "createdAt", "desc", false);
+    }
+
+    @Test
+    void testUserPageReturnsEnvelope() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users/page")
+                .param("size", "5")
+                .param("sort", "username")
+                .param("direction", "asc")
+                .param("includeTotal", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].username").value("alice"))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.totalElements").value(42));
+
+        verify(userService).getAllUsers(0, 5, "username", "asc", true);
+    }
+
+    @Test
+    void testUserPageSkipsCountByDefault() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users/page"))
+            .andExpect(status().isOk());
+
+        verify(userService).getAllUsers(0, 20, "createdAt", "desc", false);
+    }
+
+    private static UserPageDto page(Long total) {
+        UserDto alice = UserDto.builder().id("1").username("alice").email("alice@example.com").build();
+        return UserPageDto.builder()
+            .items(List.of(alice))
+            .page(0)
+            .size(20)
+            .hasNext(true)
+            .totalElements(total)
+            .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.taskboard.user.service;
+
+import com.taskboard.user.model.OutboundEmail;
+import com.taskboard.user.model.OutboundEmailStatus;
+import com.taskboard.user.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for Email Outbox Dispatcher
+ * Tests batched delivery, retry scheduling, giving up after the last attempt and per-domain throttling
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        lenient().when(outboundEmailRepository.lease(anyString(), any(Date.class), any(Date.class))).thenReturn(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDueEmailsAreSentInOneBatchAndMarkedSent() {
+        // Given
+        EmailOutboxDispatcher dispatcher = dispatcher(3, 60);
+        when(outboundEmailRepository.findDue(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(email("1", "a@example.com", 0), email("2", "b@example.org", 0)));
+
+        // When
+        int sent = dispatcher.dispatch();
+
+        // Then
+        assertEquals(2, sent);
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(outboundEmailRepository).markSent(ids.capture(), any(Date.class));
+        assertTrue(ids.getValue().containsAll(List.of("1", "2")));
+    }
+
+    @Test
+    void testFailedSendIsRescheduledWithBackoff() {
+        // Given
+        EmailOutboxDispatcher dispatcher = dispatcher(3, 60);
+        when(outboundEmailRepository.findDue(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(email("1", "a@example.com", 0)));
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        // When
+        long before = System.currentTimeMillis();
+        int sent = dispatcher.dispatch();
+
+        // Then
+        assertEquals(0, sent);
+        ArgumentCaptor<Date> nextAttempt = ArgumentCaptor.forClass(Date.class);
+        verify(outboundEmailRepository).recordFailure(eq("1"), eq(OutboundEmailStatus.PENDING),
+            nextAttempt.capture(), anyString());
+        assertTrue(nextAttempt.getValue().getTime() >= before + 30_000);
+        verify(outboundEmailRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void testLastAttemptMarksEmailFailed() {
+        // Given
+        EmailOutboxDispatcher dispatcher = dispatcher(3, 60);
+        when(outboundEmailRepository.findDue(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(email("1", "a@example.com", 2)));
+        doThrow(new MailSendException("mailbox unavailable")).when(mailSender).send(any(MimeMessage[].class));
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        verify(outboundEmailRepository).recordFailure(eq("1"), eq(OutboundEmailStatus.FAILED), any(Date.class), anyString());
+        assertEquals(1.0, meterRegistry.get("mail.outbox.messages").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void testDomainOverRateLimitIsPostponed() {
+        // Given
+        EmailOutboxDispatcher dispatcher = dispatcher(3, 1);
+        when(outboundEmailRepository.findDue(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(email("1", "a@example.com", 0), email("2", "b@example.com", 0)));
+
+        // When
+        int sent = dispatcher.dispatch();
+
+        // Then
+        assertEquals(1, sent);
+        verify(outboundEmailRepository).reschedule(eq("2"), any(Date.class));
+    }
+
+    @Test
+    void testEmailLeasedByAnotherNodeIsSkipped() {
+        // Given
+        EmailOutboxDispatcher dispatcher = dispatcher(3, 60);
+        when(outboundEmailRepository.findDue(any(Date.class), any(Pageable.class)))
+            .thenReturn(List.of(email("1", "a@example.com", 0)));
+        when(outboundEmailRepository.lease(eq("1"), any(Date.class), any(Date.class))).thenReturn(0);
+
+        // When
+        int sent = dispatcher.dispatch();
+
+        // Then
+        assertEquals(0, sent);
+        verifyNoInteractions(mailSender);
+    }
+
+    private EmailOutboxDispatcher dispatcher(int maxAttempts, int perDomainPerMinute) {
+        return new EmailOutboxDispatcher(outboundEmailRepository, mailSender, "noreply@taskboard.test",
+            50, maxAttempts, 120, 30, 3600, perDomainPerMinute, 7, meterRegistry);
+    }
+
+    private static OutboundEmail email(String id, String recipient, int attempts) {
+        return OutboundEmail.builder()
+            .id(id)
+            .recipient(recipient)
+            .recipientDomain(recipient.substring(recipient.indexOf('@') + 1))
+            .subject("Password Reset Request")
+            .body("Hello")
+            .attempts(attempts)
+            .nextAttemptAt(new Date(0))
+            .build();
+    }
+}
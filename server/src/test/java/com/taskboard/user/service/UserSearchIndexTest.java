@@ -0,0 +1,130 @@
+package com.taskboard.user.service;
+
+import com.taskboard.user.model.UserEntity;
+import com.taskboard.user.repository.UserRepository;
+import com.taskboard.user.repository.UserSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for User Search Index
+ * Tests n-gram and prefix lookups, ranking, limits and incremental updates
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(userRepository, 1000);
+        index.index(user("1", "alice", "alice@example.com", "Alice", "Smith"));
+        index.index(user("2", "malice", "m@example.com", null, null));
+        index.index(user("3", "bob", "bob@corp.io", "Robert", "Alicea"));
+    }
+
+    @Test
+    void testSubstringQueryIsRankedExactThenPrefixThenSubstring() {
+        // When
+        List<String> ids = index.search("Alice", 10);
+
+        // Then
+        assertEquals(List.of("1", "3", "2"), ids);
+    }
+
+    @Test
+    void testShortQueryMatchesWordPrefixesOnly() {
+        // When
+        List<String> ids = index.search("ro", 10);
+
+        // Then
+        assertEquals(List.of("3"), ids);
+    }
+
+    @Test
+    void testResultsAreLimited() {
+        // When
+        List<String> ids = index.search("example", 1);
+
+        // Then
+        assertEquals(1, ids.size());
+    }
+
+    @Test
+    void testUpdateReplacesOldKeysAndRemoveDropsUser() {
+        // When
+        index.index(user("2", "mallory", "m@example.com", null, null));
+        index.remove("3");
+
+        // Then
+        assertEquals(List.of("1"), index.search("alice", 10));
+        assertEquals(List.of("2"), index.search("mallory", 10));
+        assertTrue(index.search("corp", 10).isEmpty());
+    }
+
+    @Test
+    void testRebuildLoadsUsersFromRepositoryAndBecomesReady() {
+        // Given
+        when(userRepository.findSearchPage(any(Pageable.class)))
+            .thenReturn(List.of(new UserSearchView("9", "carol", "carol@example.com", null, null)));
+
+        // When
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        // Then
+        assertTrue(index.isReady());
+        assertEquals(1, index.size());
+        assertEquals(List.of("9"), index.search("car", 10));
+        verify(userRepository, never()).findSearchPageAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    void testRebuildPagesByKeysetUntilShortPage() {
+        // Given
+        index = new UserSearchIndex(userRepository, 2);
+        when(userRepository.findSearchPage(any(Pageable.class))).thenReturn(List.of(
+            new UserSearchView("a", "anna", "anna@example.com", null, null),
+            new UserSearchView("b", "annabel", "annabel@example.com", null, null)));
+        when(userRepository.findSearchPageAfter(eq("b"), any(Pageable.class))).thenReturn(List.of(
+            new UserSearchView("c", "hannah", "hannah@example.com", null, null)));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(List.of("a", "b", "c"), index.search("anna", 10));
+        verify(userRepository).findSearchPageAfter(eq("b"), any(Pageable.class));
+        verify(userRepository, never()).findSearchPageAfter(eq("c"), any(Pageable.class));
+    }
+
+    @Test
+    void testBlankQueryMatchesNobody() {
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    private static UserEntity user(String id, String username, String email, String firstName, String lastName) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
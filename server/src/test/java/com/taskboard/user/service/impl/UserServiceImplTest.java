@@ -0,0 +1,104 @@
+package com.taskboard.user.service.impl;
+
+import com.taskboard.user.dto.UserDto;
+import com.taskboard.user.dto.UserPageDto;
+import com.taskboard.user.mapper.UserMapper;
+import com.taskboard.user.model.UserRole;
+import com.taskboard.user.repository.UserRepository;
+import com.taskboard.user.repository.UserSummaryView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for User Service admin paging
+ * Tests page and size bounds, the sort whitelist and skipping the count query
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void testPageAndSizeAreClamped() {
+        // Given
+        stubSlice(false);
+
+        // When
+        UserPageDto tooLarge = userService.getAllUsers(-3, 1000, "createdAt", "desc", false);
+        UserPageDto tooSmall = userService.getAllUsers(0, 0, "createdAt", "desc", false);
+
+        // Then
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository, times(2)).findSummaries(pages.capture());
+        assertEquals(0, pages.getAllValues().get(0).getPageNumber());
+        assertEquals(100, pages.getAllValues().get(0).getPageSize());
+        assertEquals(1, pages.getAllValues().get(1).getPageSize());
+        assertEquals(100, tooLarge.getSize());
+        assertEquals(1, tooSmall.getSize());
+    }
+
+    @Test
+    void testSortFieldIsWhitelistedAndTieBrokenById() {
+        // Given
+        stubSlice(true);
+
+        // When
+        UserPageDto page = userService.getAllUsers(2, 10, "username", "asc", false);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findSummaries(pageable.capture());
+        Sort sort = pageable.getValue().getSort();
+        assertEquals(Sort.Direction.ASC, sort.getOrderFor("username").getDirection());
+        assertNotNull(sort.getOrderFor("id"));
+        assertTrue(page.isHasNext());
+        assertThrows(IllegalArgumentException.class,
+            () -> userService.getAllUsers(0, 10, "password", "asc", false));
+    }
+
+    @Test
+    void testTotalIsCountedOnlyWhenRequested() {
+        // Given
+        stubSlice(false);
+        when(userRepository.count()).thenReturn(7L);
+
+        // When
+        UserPageDto withoutTotal = userService.getAllUsers(0, 10, "createdAt", "desc", false);
+        UserPageDto withTotal = userService.getAllUsers(0, 10, "createdAt", "desc", true);
+
+        // Then
+        assertNull(withoutTotal.getTotalElements());
+        assertEquals(7L, withTotal.getTotalElements());
+        verify(userRepository, times(1)).count();
+    }
+
+    private void stubSlice(boolean hasNext) {
+        UserSummaryView view = new UserSummaryView("1", "alice@example.com", "alice", UserRole.USER,
+            null, new Date(), null, null);
+        when(userRepository.findSummaries(any(Pageable.class)))
+            .thenAnswer(invocation -> new SliceImpl<>(List.of(view), invocation.getArgument(0), hasNext));
+        when(userMapper.toDto(any(UserSummaryView.class)))
+            .thenReturn(UserDto.builder().id("1").username("alice").build());
+    }
+}